@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.chrono.ISOChronology;
+import org.joda.time.chrono.PersianChronology;
+import org.joda.time.chrono.PersianChronologyKhayyamBorkowski;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks converting a column of sorted instants to year, month and day,
+ * comparing one LocalDate per instant against the bulk chronology methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkChronology {
+
+    private static final int SIZE = 4096;
+    private static final long START = 1104537600000L;  // 2005-01-01T00:00Z
+    private static final long STEP = 3L * 60 * 60 * 1000 + 12345;
+
+    private final DateTimeZone iZone = DateTimeZone.forID("Asia/Tehran");
+    private final ISOChronology iISO = ISOChronology.getInstance(iZone);
+    private final PersianChronology iPersian = PersianChronologyKhayyamBorkowski.getInstance(iZone);
+    private long[] iInstants;
+    private int[] iYears;
+    private int[] iMonths;
+    private int[] iDays;
+
+    @Setup
+    public void setUp() {
+        iInstants = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            iInstants[i] = START + i * STEP;
+        }
+        iYears = new int[SIZE];
+        iMonths = new int[SIZE];
+        iDays = new int[SIZE];
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public int[] isoLocalDate() {
+        for (int i = 0; i < SIZE; i++) {
+            LocalDate date = new LocalDate(iInstants[i], iISO);
+            iYears[i] = date.getYear();
+            iMonths[i] = date.getMonthOfYear();
+            iDays[i] = date.getDayOfMonth();
+        }
+        return iDays;
+    }
+
+    @Benchmark
+    public int[] isoBulk() {
+        iISO.getYearMonthDay(iInstants, iYears, iMonths, iDays);
+        return iDays;
+    }
+
+    @Benchmark
+    public int[] persianLocalDate() {
+        for (int i = 0; i < SIZE; i++) {
+            LocalDate date = new LocalDate(iInstants[i], iPersian);
+            iYears[i] = date.getYear();
+            iMonths[i] = date.getMonthOfYear();
+            iDays[i] = date.getDayOfMonth();
+        }
+        return iDays;
+    }
+
+    @Benchmark
+    public int[] persianBulk() {
+        iPersian.getYearMonthDay(iInstants, iYears, iMonths, iDays);
+        return iDays;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.chrono.ISOChronology;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks construction and field access of DateTime.
+ * <p>
+ * Replaces the hand-rolled loops previously in DateTimePerformance.
+ * Results are returned from each method so that the JIT cannot eliminate the work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkDateTime {
+
+    private static final DateTimeZone LONDON = DateTimeZone.forID("Europe/London");
+
+    private Chronology iChronoUTC;
+    private Chronology iChronoLondon;
+    private long iMillis;
+    private DateTime iDateTime;
+
+    @Setup
+    public void setUp() {
+        iChronoUTC = ISOChronology.getInstanceUTC();
+        iChronoLondon = ISOChronology.getInstance(LONDON);
+        iMillis = 1340186123456L;  // 2012-06-20T09:55:23.456Z
+        iDateTime = new DateTime(iMillis, iChronoLondon);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public DateTime constructFromMillis() {
+        return new DateTime(iMillis, iChronoLondon);
+    }
+
+    @Benchmark
+    public DateTime constructFromFieldsUTC() {
+        return new DateTime(2012, 6, 20, 9, 55, 23, 456, iChronoUTC);
+    }
+
+    @Benchmark
+    public DateTime constructFromFieldsZoned() {
+        return new DateTime(2012, 6, 20, 9, 55, 23, 456, iChronoLondon);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public int getYear() {
+        return iDateTime.getYear();
+    }
+
+    @Benchmark
+    public int getMonthOfYear() {
+        return iDateTime.getMonthOfYear();
+    }
+
+    @Benchmark
+    public int getDayOfMonth() {
+        return iDateTime.getDayOfMonth();
+    }
+
+    @Benchmark
+    public int getHourOfDay() {
+        return iDateTime.getHourOfDay();
+    }
+
+    @Benchmark
+    public int getAllDateFields() {
+        DateTime dt = iDateTime;
+        return dt.getYear() + dt.getMonthOfYear() + dt.getDayOfMonth() + dt.getDayOfWeek() + dt.getDayOfYear();
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public DateTime plusDays() {
+        return iDateTime.plusDays(3);
+    }
+
+    @Benchmark
+    public DateTime plusMonths() {
+        return iDateTime.plusMonths(7);
+    }
+
+    @Benchmark
+    public DateTime plusHours() {
+        return iDateTime.plusHours(5);
+    }
+
+    @Benchmark
+    public DateTime withDayOfMonth() {
+        return iDateTime.withDayOfMonth(12);
+    }
+
+    @Benchmark
+    public DateTime withYear() {
+        return iDateTime.withYear(2016);
+    }
+
+    @Benchmark
+    public DateTime withTimeAtStartOfDay() {
+        return iDateTime.withTimeAtStartOfDay();
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.text.ParsePosition;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.DateTimeFormatterBuilder;
+import org.joda.time.format.DateTimeParserBucket;
+import org.joda.time.format.ISODateTimeFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks printing and parsing using DateTimeFormatter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkDateTimeFormatter {
+
+    private DateTimeFormatter iISO;
+    private DateTimeFormatter iISOParser;
+    private DateTimeFormatter iGeneric;
+    private DateTimeFormatter iGenericParser;
+    private DateTimeFormatter iPattern;
+    private DateTime iDateTime;
+    private String iISOText;
+    private String iPatternText;
+    private String iInvalidText;
+    private ParsePosition iPosition = new ParsePosition(0);
+    private DateTimeParserBucket iBucket = new DateTimeParserBucket(0L, null, null);
+
+    @Setup
+    public void setUp() {
+        DateTimeZone zone = DateTimeZone.forID("Europe/Paris");
+        iISO = ISODateTimeFormat.dateTime().withZone(zone);
+        iISOParser = ISODateTimeFormat.dateTimeParser().withOffsetParsed();
+        // the same layouts built element by element, which skips the ISO fast path
+        iGeneric = new DateTimeFormatterBuilder()
+            .append(ISODateTimeFormat.date())
+            .append(ISODateTimeFormat.tTime())
+            .toFormatter().withZone(zone);
+        iGenericParser = new DateTimeFormatterBuilder()
+            .append(ISODateTimeFormat.date().getParser())
+            .appendOptional(ISODateTimeFormat.timeParser().getParser())
+            .toFormatter().withOffsetParsed();
+        iPattern = DateTimeFormat.forPattern("dd MMM yyyy HH:mm:ss").withZone(zone);
+        iDateTime = new DateTime(2012, 6, 20, 9, 55, 23, 456, zone);
+        iISOText = iISO.print(iDateTime);
+        iPatternText = iPattern.print(iDateTime);
+        iInvalidText = "2012-13-20T09:55:23.456+02:00";
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public String printISO() {
+        return iISO.print(iDateTime);
+    }
+
+    @Benchmark
+    public String printISOGeneric() {
+        return iGeneric.print(iDateTime);
+    }
+
+    @Benchmark
+    public String printPattern() {
+        return iPattern.print(iDateTime);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public long parseMillisISO() {
+        return iISO.parseMillis(iISOText);
+    }
+
+    @Benchmark
+    public long parseMillisISOGeneric() {
+        return iGeneric.parseMillis(iISOText);
+    }
+
+    @Benchmark
+    public DateTime parseDateTimeISOParser() {
+        return iISOParser.parseDateTime(iISOText);
+    }
+
+    @Benchmark
+    public DateTime parseDateTimeISOGenericParser() {
+        return iGenericParser.parseDateTime(iISOText);
+    }
+
+    @Benchmark
+    public long parseMillisPattern() {
+        return iPattern.parseMillis(iPatternText);
+    }
+
+    @Benchmark
+    public long parseMillisISOGenericBucket() {
+        return iGeneric.parseMillis(iISOText, iBucket);
+    }
+
+    @Benchmark
+    public long parseMillisPatternBucket() {
+        return iPattern.parseMillis(iPatternText, iBucket);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public long parseMillisInvalid() {
+        try {
+            return iISO.parseMillis(iInvalidText);
+        } catch (IllegalArgumentException ex) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public long tryParseMillisInvalid() {
+        iPosition.setIndex(0);
+        iPosition.setErrorIndex(-1);
+        iISO.tryParseMillis(iInvalidText, iPosition);
+        return iPosition.getErrorIndex();
+    }
+
+}
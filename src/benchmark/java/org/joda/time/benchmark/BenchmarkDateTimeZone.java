@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.tz.CachedDateTimeZone;
+import org.joda.time.tz.ZoneTransition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks offset lookup in DateTimeZone.
+ * <p>
+ * The instants are spread over several years so that the zone caches are
+ * exercised rather than a single cached period.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkDateTimeZone {
+
+    private static final int SIZE = 1024;
+    private static final long START = 1104537600000L;  // 2005-01-01T00:00Z
+    private static final long STEP = 7L * 24 * 60 * 60 * 1000 + 3 * 60 * 60 * 1000 + 12345;
+    private static final long END = 4260211200000L;  // 2105-01-01T00:00Z
+
+    @Param({"UTC", "Europe/London", "America/New_York", "Asia/Kolkata"})
+    public String zoneId;
+
+    private DateTimeZone iZone;
+    private DateTimeZone iUncached;
+    private long[] iInstants;
+    private int[] iOffsets;
+    private int iIndex;
+
+    @Setup
+    public void setUp() {
+        iZone = DateTimeZone.forID(zoneId);
+        iUncached = iZone;
+        if (iZone instanceof CachedDateTimeZone) {
+            iUncached = ((CachedDateTimeZone) iZone).getUncachedZone();
+        }
+        iInstants = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            iInstants[i] = START + i * STEP;
+        }
+        iOffsets = new int[SIZE];
+    }
+
+    private long nextInstant() {
+        int index = iIndex;
+        iIndex = (index + 1) & (SIZE - 1);
+        return iInstants[index];
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public int getOffset() {
+        return iZone.getOffset(nextInstant());
+    }
+
+    /** Looks up the zone without its cache, which is mostly the recurring rules after 2005. */
+    @Benchmark
+    public int getOffsetUncached() {
+        return iUncached.getOffset(nextInstant());
+    }
+
+    @Benchmark
+    public long nextTransitionUncached() {
+        return iUncached.nextTransition(nextInstant());
+    }
+
+    @Benchmark
+    public int getStandardOffset() {
+        return iZone.getStandardOffset(nextInstant());
+    }
+
+    @Benchmark
+    public int getOffsetFromLocal() {
+        return iZone.getOffsetFromLocal(nextInstant());
+    }
+
+    @Benchmark
+    public long nextTransition() {
+        return iZone.nextTransition(nextInstant());
+    }
+
+    /** Looks up the offset of each instant in turn, for comparison with getOffsets. */
+    @Benchmark
+    public int[] getOffsetLoop() {
+        for (int i = 0; i < SIZE; i++) {
+            iOffsets[i] = iZone.getOffset(iInstants[i]);
+        }
+        return iOffsets;
+    }
+
+    @Benchmark
+    public int[] getOffsets() {
+        iZone.getOffsets(iInstants, iOffsets);
+        return iOffsets;
+    }
+
+    /** Walks a century of transitions with nextTransition, for comparison with transitionIterator. */
+    @Benchmark
+    public long nextTransitionLoop() {
+        long total = 0;
+        long instant = START;
+        while (true) {
+            long next = iZone.nextTransition(instant);
+            if (next == instant || next >= END) {
+                return total;
+            }
+            total += iZone.getOffset(next - 1) + iZone.getOffset(next);
+            instant = next;
+        }
+    }
+
+    @Benchmark
+    public long transitionIterator() {
+        long total = 0;
+        Iterator<ZoneTransition> it = iZone.transitionIterator(START, END);
+        while (it.hasNext()) {
+            ZoneTransition transition = it.next();
+            total += transition.getOffsetBefore() + transition.getOffsetAfter();
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks resolving zones by id and offset from 64 threads at once,
+ * measuring contention in the static DateTimeZone factories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Thread)
+public class BenchmarkForID {
+
+    private static final String[] OFFSET_IDS = {
+        "+05:30", "-08:00", "+01:00", "+09:45", "-03:30", "+12:00", "-00:30", "+02:00",
+    };
+
+    private int iIndex;
+
+    private int nextIndex() {
+        int index = iIndex;
+        iIndex = (index + 1) & (OFFSET_IDS.length - 1);
+        return index;
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public DateTimeZone forIDRegion() {
+        return DateTimeZone.forID("Europe/London");
+    }
+
+    @Benchmark
+    public DateTimeZone forIDOffset() {
+        return DateTimeZone.forID(OFFSET_IDS[nextIndex()]);
+    }
+
+    @Benchmark
+    public DateTimeZone forOffsetMillis() {
+        return DateTimeZone.forOffsetMillis((nextIndex() + 1) * 45 * 60 * 1000);
+    }
+
+}
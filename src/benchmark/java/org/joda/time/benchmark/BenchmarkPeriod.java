@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import org.joda.time.PeriodType;
+import org.joda.time.chrono.ISOChronology;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks creation of Period instances.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkPeriod {
+
+    private DateTime iStart;
+    private DateTime iEnd;
+    private long iDuration;
+
+    @Setup
+    public void setUp() {
+        iStart = new DateTime(2010, 3, 14, 1, 30, 0, 0, ISOChronology.getInstanceUTC());
+        iEnd = new DateTime(2012, 11, 4, 17, 45, 12, 345, ISOChronology.getInstanceUTC());
+        iDuration = iEnd.getMillis() - iStart.getMillis();
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public Period fromFields() {
+        return new Period(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Benchmark
+    public Period fromDuration() {
+        return new Period(iDuration);
+    }
+
+    @Benchmark
+    public Period betweenInstants() {
+        return new Period(iStart, iEnd);
+    }
+
+    @Benchmark
+    public Period betweenInstantsDayTime() {
+        return new Period(iStart, iEnd, PeriodType.dayTime());
+    }
+
+    @Benchmark
+    public Period normalizedStandard() {
+        return new Period(0, 0, 0, 0, 100, 200, 300, 4000).normalizedStandard();
+    }
+
+}
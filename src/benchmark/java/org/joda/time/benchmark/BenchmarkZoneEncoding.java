@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.tz.DateTimeZoneBuilder;
+import org.joda.time.tz.ZoneInfoCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks decoding the European and North American zones from the
+ * original and the compact zone file formats.
+ * <p>
+ * Run from the project directory, as the zones are compiled from the sources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkZoneEncoding {
+
+    private static final String SOURCE_DIR = "src/main/java/org/joda/time/tz/src";
+
+    private String[] iIds;
+    private byte[][] iOriginal;
+    private byte[][] iCompact;
+
+    @Setup
+    public void setUp() throws IOException {
+        File[] sources = {new File(SOURCE_DIR, "europe"), new File(SOURCE_DIR, "northamerica")};
+        File originalDir = compile(sources, false);
+        File compactDir = compile(sources, true);
+        List<String> ids = new ArrayList<String>();
+        List<byte[]> original = new ArrayList<byte[]>();
+        List<byte[]> compact = new ArrayList<byte[]>();
+        for (String id : new ZoneInfoCompiler().compile(null, sources).keySet()) {
+            File file = new File(originalDir, id);
+            if (file.isFile()) {
+                ids.add(id);
+                original.add(read(file));
+                compact.add(read(new File(compactDir, id)));
+            }
+        }
+        iIds = ids.toArray(new String[ids.size()]);
+        iOriginal = original.toArray(new byte[ids.size()][]);
+        iCompact = compact.toArray(new byte[ids.size()][]);
+        long originalSize = 0;
+        long compactSize = 0;
+        for (int i = 0; i < iIds.length; i++) {
+            originalSize += iOriginal[i].length;
+            compactSize += iCompact[i].length;
+        }
+        System.out.println(iIds.length + " zones, original " + originalSize + " bytes, compact " + compactSize + " bytes");
+    }
+
+    private static File compile(File[] sources, boolean compact) throws IOException {
+        File dir = File.createTempFile("joda-zones", "");
+        dir.delete();
+        dir.mkdirs();
+        ZoneInfoCompiler compiler = new ZoneInfoCompiler();
+        compiler.setCompact(compact);
+        compiler.compile(dir, sources);
+        return dir;
+    }
+
+    private static byte[] read(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        DataInputStream in = new DataInputStream(new FileInputStream(file));
+        try {
+            in.readFully(bytes);
+        } finally {
+            in.close();
+        }
+        return bytes;
+    }
+
+    private DateTimeZone decodeAll(byte[][] data) throws IOException {
+        DateTimeZone last = null;
+        for (int i = 0; i < data.length; i++) {
+            last = DateTimeZoneBuilder.readFrom(new ByteArrayInputStream(data[i]), iIds[i]);
+        }
+        return last;
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public DateTimeZone decodeOriginal() throws IOException {
+        return decodeAll(iOriginal);
+    }
+
+    @Benchmark
+    public DateTimeZone decodeCompact() throws IOException {
+        return decodeAll(iCompact);
+    }
+
+}
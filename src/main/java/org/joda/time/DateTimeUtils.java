@@ -39,9 +39,14 @@ public class DateTimeUtils {
     private static final SystemMillisProvider SYSTEM_MILLIS_PROVIDER = new SystemMillisProvider();
     /** The millisecond provider currently in use. */
     private static volatile MillisProvider cMillisProvider = SYSTEM_MILLIS_PROVIDER;
-    /** The millisecond provider currently in use. */
-    private static volatile Map<String, DateTimeZone> cZoneNames;
-    static {
+
+    /**
+     * Creates the initial map of time zone names.
+     * The map is held by {@link DateTimeZone} with the zone provider.
+     * 
+     * @return the modifiable map of abbreviations to zones, not null
+     */
+    static Map<String, DateTimeZone> createDefaultTimeZoneNames() {
         // names from RFC-822 / JDK
         // this is all very US-centric and dubious, but perhaps it will help some
         Map<String, DateTimeZone> map = new LinkedHashMap<String, DateTimeZone>();
@@ -56,7 +61,7 @@ public class DateTimeUtils {
         put(map, "MDT", "America/Denver");
         put(map, "PST", "America/Los_Angeles");
         put(map, "PDT", "America/Los_Angeles");
-        cZoneNames = Collections.unmodifiableMap(map);
+        return map;
     }
     private static void put(Map<String, DateTimeZone> map, String name, String id) {
         try {
@@ -409,7 +414,7 @@ public class DateTimeUtils {
      * @since 2.2
      */
     public static final Map<String, DateTimeZone> getDefaultTimeZoneNames() {
-        return cZoneNames;
+        return DateTimeZone.getDefaultTimeZoneNames();
     }
 
     /**
@@ -421,7 +426,8 @@ public class DateTimeUtils {
      * @since 2.2
      */
     public static final void setDefaultTimeZoneNames(Map<String, DateTimeZone> names) {
-        cZoneNames = Collections.unmodifiableMap(new HashMap<String, DateTimeZone>(names));
+        DateTimeZone.setDefaultTimeZoneNames(
+            Collections.unmodifiableMap(new HashMap<String, DateTimeZone>(names)));
     }
 
     //-------------------------------------------------------------------------
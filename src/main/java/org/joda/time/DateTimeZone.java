@@ -15,18 +15,30 @@
  */
 package org.joda.time;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
-import java.lang.ref.Reference;
-import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.joda.convert.FromString;
 import org.joda.convert.ToString;
@@ -41,7 +53,9 @@ import org.joda.time.tz.FixedDateTimeZone;
 import org.joda.time.tz.NameProvider;
 import org.joda.time.tz.Provider;
 import org.joda.time.tz.UTCProvider;
+import org.joda.time.tz.ZoneInfoBundleProvider;
 import org.joda.time.tz.ZoneInfoProvider;
+import org.joda.time.tz.ZoneTransition;
 
 /**
  * DateTimeZone represents a time zone.
@@ -94,22 +108,32 @@ public abstract class DateTimeZone implements Serializable {
     /** The time zone for Universal Coordinated Time */
     public static final DateTimeZone UTC = new FixedDateTimeZone("UTC", "UTC", 0, 0);
 
-    /** The instance that is providing time zones. */
-    private static Provider cProvider;
+    /** The maximum number of fixed offset zones to cache. */
+    private static final int FIXED_OFFSET_CACHE_SIZE = 1024;
+
+    /** The instance that is providing time zones, with its ids, version, default zone and zone names. */
+    private static volatile ProviderState cProviderState;
     /** The instance that is providing time zone names. */
     private static NameProvider cNameProvider;
-    /** The set of ID strings. */
-    private static Set<String> cAvailableIDs;
-    /** The default time zone. */
-    private static volatile DateTimeZone cDefault;
     /** A formatter for printing and parsing zones. */
-    private static DateTimeFormatter cOffsetFormatter;
+    private static volatile DateTimeFormatter cOffsetFormatter;
 
-    /** Cache that maps fixed offset strings to softly referenced DateTimeZones */
-    private static Map<String, SoftReference<DateTimeZone>> iFixedOffsetCache;
+    /** Cache that maps fixed offsets in millis to DateTimeZones, bounded in size */
+    private static final ConcurrentMap<Integer, DateTimeZone> cFixedOffsetCache =
+        new ConcurrentHashMap<Integer, DateTimeZone>();
 
     /** Cache of old zone IDs to new zone IDs */
-    private static Map<String, String> cZoneIdConversion;
+    private static volatile Map<String, String> cZoneIdConversion;
+    /** Runs reloads of the provider one at a time, in the order requested. */
+    private static final ExecutorService cReloadExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "joda-time-zone-reload");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    /** The nanoseconds taken to load each zone preloaded at startup, empty until done. */
+    private static volatile Map<String, Long> cPreloadTimings = Collections.emptyMap();
 
     static {
         setProvider0(null);
@@ -130,10 +154,10 @@ public abstract class DateTimeZone implements Serializable {
      * @return the default datetime zone object
      */
     public static DateTimeZone getDefault() {
-        DateTimeZone zone = cDefault;
+        DateTimeZone zone = cProviderState.iDefault;
         if (zone == null) {
             synchronized(DateTimeZone.class) {
-                zone = cDefault;
+                zone = cProviderState.iDefault;
                 if (zone == null) {
                     DateTimeZone temp = null;
                     try {
@@ -154,7 +178,8 @@ public abstract class DateTimeZone implements Serializable {
                     if (temp == null) {
                         temp = UTC;
                     }
-                    cDefault = zone = temp;
+                    cProviderState = cProviderState.withDefault(temp);
+                    zone = temp;
                 }
             }
         }
@@ -179,7 +204,7 @@ public abstract class DateTimeZone implements Serializable {
             throw new IllegalArgumentException("The datetime zone must not be null");
         }
         synchronized(DateTimeZone.class) {
-            cDefault = zone;
+            cProviderState = cProviderState.withDefault(zone);
         }
     }
 
@@ -207,7 +232,7 @@ public abstract class DateTimeZone implements Serializable {
         if (id.equals("UTC")) {
             return DateTimeZone.UTC;
         }
-        DateTimeZone zone = cProvider.getZone(id);
+        DateTimeZone zone = cProviderState.iProvider.getZone(id);
         if (zone != null) {
             return zone;
         }
@@ -216,8 +241,7 @@ public abstract class DateTimeZone implements Serializable {
             if (offset == 0L) {
                 return DateTimeZone.UTC;
             } else {
-                id = printOffset(offset);
-                return fixedOffsetZone(id, offset);
+                return fixedOffsetZone(offset);
             }
         }
         throw new IllegalArgumentException("The datetime zone id '" + id + "' is not recognised");
@@ -279,8 +303,7 @@ public abstract class DateTimeZone implements Serializable {
      * @return the DateTimeZone object for the offset
      */
     public static DateTimeZone forOffsetMillis(int millisOffset) {
-        String id = printOffset(millisOffset);
-        return fixedOffsetZone(id, millisOffset);
+        return fixedOffsetZone(millisOffset);
     }
 
     /**
@@ -308,13 +331,14 @@ public abstract class DateTimeZone implements Serializable {
         }
 
         // Convert from old alias before consulting provider since they may differ.
+        Provider provider = cProviderState.iProvider;
         DateTimeZone dtz = null;
         String convId = getConvertedId(id);
         if (convId != null) {
-            dtz = cProvider.getZone(convId);
+            dtz = provider.getZone(convId);
         }
         if (dtz == null) {
-            dtz = cProvider.getZone(id);
+            dtz = provider.getZone(id);
         }
         if (dtz != null) {
             return dtz;
@@ -329,8 +353,7 @@ public abstract class DateTimeZone implements Serializable {
                 if (offset == 0L) {
                     return DateTimeZone.UTC;
                 } else {
-                    convId = printOffset(offset);
-                    return fixedOffsetZone(convId, offset);
+                    return fixedOffsetZone(offset);
                 }
             }
         }
@@ -340,28 +363,29 @@ public abstract class DateTimeZone implements Serializable {
     //-----------------------------------------------------------------------
     /**
      * Gets the zone using a fixed offset amount.
+     * <p>
+     * The zones are interned without locking. Once the cache is full, zones
+     * for further offsets are created each time, and are still equal.
      * 
-     * @param id  the zone id
      * @param offset  the offset in millis
      * @return the zone
      */
-    private static synchronized DateTimeZone fixedOffsetZone(String id, int offset) {
+    private static DateTimeZone fixedOffsetZone(int offset) {
         if (offset == 0) {
             return DateTimeZone.UTC;
         }
-        if (iFixedOffsetCache == null) {
-            iFixedOffsetCache = new HashMap<String, SoftReference<DateTimeZone>>();
+        Integer key = Integer.valueOf(offset);
+        DateTimeZone zone = cFixedOffsetCache.get(key);
+        if (zone != null) {
+            return zone;
         }
-        DateTimeZone zone;
-        Reference<DateTimeZone> ref = iFixedOffsetCache.get(id);
-        if (ref != null) {
-            zone = ref.get();
-            if (zone != null) {
-                return zone;
+        zone = new FixedDateTimeZone(printOffset(offset), null, offset, offset);
+        if (cFixedOffsetCache.size() < FIXED_OFFSET_CACHE_SIZE) {
+            DateTimeZone existing = cFixedOffsetCache.putIfAbsent(key, zone);
+            if (existing != null) {
+                return existing;
             }
         }
-        zone = new FixedDateTimeZone(id, null, offset, offset);
-        iFixedOffsetCache.put(id, new SoftReference<DateTimeZone>(zone));
         return zone;
     }
 
@@ -371,7 +395,7 @@ public abstract class DateTimeZone implements Serializable {
      * @return an unmodifiable Set of String IDs
      */
     public static Set<String> getAvailableIDs() {
-        return cAvailableIDs;
+        return cProviderState.iAvailableIDs;
     }
 
     //-----------------------------------------------------------------------
@@ -384,7 +408,23 @@ public abstract class DateTimeZone implements Serializable {
      * @return the provider
      */
     public static Provider getProvider() {
-        return cProvider;
+        return cProviderState.iProvider;
+    }
+
+    /**
+     * Gets the version of the zone provider, which is incremented each time
+     * the provider is set.
+     * <p>
+     * The provider, its available ids and the version are replaced together,
+     * so if two calls to this method return the same value then all the zones
+     * obtained between them came from the same provider.
+     * 
+     * @return the provider version
+     * @since 2.2
+     */
+    public static int getProviderVersion() {
+        ProviderState state = cProviderState;
+        return (state == null ? 0 : state.iVersion);
     }
 
     /**
@@ -392,6 +432,14 @@ public abstract class DateTimeZone implements Serializable {
      * <p>
      * The zone provider is a pluggable instance factory that supplies the
      * actual instances of DateTimeZone.
+     * <p>
+     * The new provider is published atomically, without blocking threads that
+     * are looking up zones. The default zone and the default time zone names
+     * of {@link DateTimeUtils} are switched to the zones of the new provider
+     * in the same step, so they are always consistent with the provider.
+     * Zones already obtained from the old provider keep their rules. Chronologies
+     * are cached by zone equality, so a zone whose rules have changed gets a new
+     * chronology, while an unchanged zone continues to get the same one.
      * 
      * @param provider  provider to use, or null for default
      * @throws SecurityException if you do not have the permission DateTimeZone.setProvider
@@ -426,16 +474,138 @@ public abstract class DateTimeZone implements Serializable {
         if (!UTC.equals(provider.getZone("UTC"))) {
             throw new IllegalArgumentException("Invalid UTC zone provided");
         }
-        cProvider = provider;
-        cAvailableIDs = ids;
+        synchronized (DateTimeZone.class) {
+            ProviderState old = cProviderState;
+            if (old == null) {
+                cProviderState = new ProviderState(provider, ids, 1, null, null);
+                return;
+            }
+            // build the replacements before publishing them all in one write
+            DateTimeZone zone = old.iDefault;
+            if (zone != null) {
+                zone = replaceZone(zone, old.iProvider, provider);
+            }
+            Map<String, DateTimeZone> names = old.iZoneNames;
+            if (names != null) {
+                Map<String, DateTimeZone> replaced = new LinkedHashMap<String, DateTimeZone>(names);
+                for (Map.Entry<String, DateTimeZone> entry : replaced.entrySet()) {
+                    entry.setValue(replaceZone(entry.getValue(), old.iProvider, provider));
+                }
+                names = Collections.unmodifiableMap(replaced);
+            }
+            cProviderState = new ProviderState(provider, ids, old.iVersion + 1, zone, names);
+        }
+    }
+
+    /**
+     * Gets the default map of time zone names, creating it if necessary.
+     * 
+     * @return the unmodifiable map of abbreviations to zones, not null
+     */
+    static Map<String, DateTimeZone> getDefaultTimeZoneNames() {
+        Map<String, DateTimeZone> names = cProviderState.iZoneNames;
+        if (names == null) {
+            synchronized (DateTimeZone.class) {
+                names = cProviderState.iZoneNames;
+                if (names == null) {
+                    names = Collections.unmodifiableMap(DateTimeUtils.createDefaultTimeZoneNames());
+                    cProviderState = cProviderState.withZoneNames(names);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Sets the default map of time zone names.
+     * 
+     * @param names  the unmodifiable map of abbreviations to zones, not null
+     */
+    static void setDefaultTimeZoneNames(Map<String, DateTimeZone> names) {
+        synchronized (DateTimeZone.class) {
+            cProviderState = cProviderState.withZoneNames(names);
+        }
+    }
+
+    /**
+     * Finds the zone that replaces a zone from an old provider.
+     * 
+     * @param zone  the zone to replace, not null
+     * @param oldProvider  the provider being replaced, not null
+     * @param newProvider  the provider replacing it, not null
+     * @return the zone of the new provider with the same id, or the zone itself
+     *  if it was not obtained from the old provider or has no replacement
+     */
+    static DateTimeZone replaceZone(DateTimeZone zone, Provider oldProvider, Provider newProvider) {
+        String id = zone.getID();
+        if (zone.equals(oldProvider.getZone(id)) == false) {
+            return zone;
+        }
+        DateTimeZone replacement = newProvider.getZone(id);
+        return (replacement != null && replacement.getID().equals(id) ? replacement : zone);
+    }
+
+    /**
+     * Loads a compiled time zone database in a background thread, and then
+     * sets it as the zone provider.
+     * <p>
+     * This allows the time zone data to be updated without restarting.
+     * The database is either a directory written by {@link org.joda.time.tz.ZoneInfoCompiler}
+     * or a bundle file written with its <code>-bundle</code> option.
+     * Every zone is loaded before the provider is set, so a database that
+     * cannot be read fails the returned future and leaves the current
+     * provider in place. The zones are then held as the provider's cache
+     * policy allows.
+     * <p>
+     * Reloads run one at a time in the order they are requested, so the
+     * provider last requested is the one left in place.
+     * 
+     * @param file  the directory or bundle file to load, not null
+     * @return a future that completes with the new provider once it is set
+     * @throws SecurityException if you do not have the permission DateTimeZone.setProvider
+     * @throws IllegalArgumentException if the file is null
+     * @since 2.2
+     */
+    public static Future<Provider> reloadProvider(final File file) throws SecurityException {
+        SecurityManager sm = System.getSecurityManager();
+        if (sm != null) {
+            sm.checkPermission(new JodaTimePermission("DateTimeZone.setProvider"));
+        }
+        if (file == null) {
+            throw new IllegalArgumentException("The file must not be null");
+        }
+        return cReloadExecutor.submit(new Callable<Provider>() {
+            public Provider call() throws IOException {
+                Provider provider;
+                if (file.isDirectory()) {
+                    provider = new ZoneInfoProvider(file);
+                } else {
+                    provider = new ZoneInfoBundleProvider(file);
+                }
+                for (String id : provider.getAvailableIDs()) {
+                    if (provider.getZone(id) == null) {
+                        throw new IOException("Unable to load zone: " + id);
+                    }
+                }
+                setProvider0(provider);
+                return provider;
+            }
+        });
     }
 
     /**
      * Gets the default zone provider.
      * <p>
      * Tries the system property <code>org.joda.time.DateTimeZone.Provider</code>.
-     * Then tries a <code>ZoneInfoProvider</code> using the data in <code>org/joda/time/tz/data</code>.
+     * Then tries a <code>ZoneInfoProvider</code> using the data in <code>org/joda/time/tz/data</code>,
+     * preloading the zones named by the system property <code>org.joda.time.DateTimeZone.Preload</code>
+     * as a comma separated list, or all of them if it is <code>*</code>.
      * Then uses <code>UTCProvider</code>.
+     * <p>
+     * The zones are preloaded in a background thread, as this is called while
+     * this class is initialised, and decoding a zone in another thread waits
+     * for that initialisation to complete. Zones requested before the preload
+     * has finished are loaded as normal.
      * 
      * @return the default name provider
      */
@@ -459,7 +629,9 @@ public abstract class DateTimeZone implements Serializable {
 
         if (provider == null) {
             try {
-                provider = new ZoneInfoProvider("org/joda/time/tz/data");
+                ZoneInfoProvider zoneInfoProvider = new ZoneInfoProvider("org/joda/time/tz/data");
+                preload(zoneInfoProvider);
+                provider = zoneInfoProvider;
             } catch (Exception ex) {
                 Thread thread = Thread.currentThread();
                 thread.getThreadGroup().uncaughtException(thread, ex);
@@ -473,6 +645,71 @@ public abstract class DateTimeZone implements Serializable {
         return provider;
     }
 
+    /**
+     * Gets the time taken to load each zone preloaded into the default provider,
+     * as named by the system property <code>org.joda.time.DateTimeZone.Preload</code>.
+     * <p>
+     * The zones are preloaded in the background, so the map is empty until
+     * they have all loaded, and remains empty if none were named.
+     * It is cleared whenever the default provider is created again.
+     * 
+     * @return the unmodifiable map of nanoseconds by zone id, not null
+     * @since 2.2
+     */
+    public static Map<String, Long> getPreloadTimings() {
+        return cPreloadTimings;
+    }
+
+    /**
+     * Starts a daemon thread to preload the zones named by the system property
+     * <code>org.joda.time.DateTimeZone.Preload</code>, if set.
+     * <p>
+     * The caller does not wait for the zones to load, which would deadlock
+     * during class initialisation.
+     * 
+     * @param provider  the provider to preload
+     */
+    private static void preload(final ZoneInfoProvider provider) {
+        cPreloadTimings = Collections.emptyMap();
+        final String ids;
+        try {
+            ids = System.getProperty("org.joda.time.DateTimeZone.Preload");
+        } catch (SecurityException ex) {
+            return;
+        }
+        if (ids == null || ids.trim().length() == 0) {
+            return;
+        }
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                cPreloadTimings = Collections.unmodifiableMap(preload(provider, ids));
+            }
+        }, "joda-time-zone-preload");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Preloads the zones in a comma separated list, or all of them if it is
+     * <code>*</code>, using a thread per processor.
+     * 
+     * @param provider  the provider to preload
+     * @param ids  the comma separated zone ids, not null
+     * @return the nanoseconds taken to load each zone by id, excluding any that failed
+     */
+    static Map<String, Long> preload(ZoneInfoProvider provider, String ids) {
+        List<String> list = null;
+        if (!ids.trim().equals("*")) {
+            list = new ArrayList<String>();
+            for (String id : ids.split(",")) {
+                if (id.trim().length() > 0) {
+                    list.add(id.trim());
+                }
+            }
+        }
+        return provider.preload(list, Runtime.getRuntime().availableProcessors());
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Gets the name provider factory.
@@ -555,9 +792,10 @@ public abstract class DateTimeZone implements Serializable {
      * @param id  the old style id
      * @return the new style id, null if not found
      */
-    private static synchronized String getConvertedId(String id) {
+    private static String getConvertedId(String id) {
         Map<String, String> map = cZoneIdConversion;
         if (map == null) {
+            // Racing threads may each build the map, which is only read once published.
             // Backwards compatibility with TimeZone.
             map = new HashMap<String, String>();
             map.put("GMT", "UTC");
@@ -599,6 +837,15 @@ public abstract class DateTimeZone implements Serializable {
     }
 
     private static int parseOffset(String str) {
+        // Parse the common [+-]hh:mm form directly, without allocating.
+        if (str.length() == 6 && str.charAt(3) == ':') {
+            int hours = parseTwoDigits(str, 1);
+            int minutes = parseTwoDigits(str, 4);
+            if (hours >= 0 && hours < 24 && minutes >= 0 && minutes < 60) {
+                int offset = (hours * 60 + minutes) * DateTimeConstants.MILLIS_PER_MINUTE;
+                return (str.charAt(0) == '-' ? -offset : offset);
+            }
+        }
         // Can't use a real chronology if called during class
         // initialization. Offset parser doesn't need it anyhow.
         Chronology chrono = new BaseChronology() {
@@ -618,6 +865,15 @@ public abstract class DateTimeZone implements Serializable {
         return -(int) offsetFormatter().withChronology(chrono).parseMillis(str);
     }
 
+    private static int parseTwoDigits(String str, int index) {
+        int tens = str.charAt(index) - '0';
+        int units = str.charAt(index + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
+        }
+        return tens * 10 + units;
+    }
+
     /**
      * Formats a timezone offset string.
      * <p>
@@ -666,13 +922,16 @@ public abstract class DateTimeZone implements Serializable {
      * 
      * @return the formatter
      */
-    private static synchronized DateTimeFormatter offsetFormatter() {
-        if (cOffsetFormatter == null) {
-            cOffsetFormatter = new DateTimeFormatterBuilder()
+    private static DateTimeFormatter offsetFormatter() {
+        DateTimeFormatter formatter = cOffsetFormatter;
+        if (formatter == null) {
+            // Racing threads may each build an equivalent immutable formatter.
+            formatter = new DateTimeFormatterBuilder()
                 .appendTimeZoneOffset(null, true, 2, 4)
                 .toFormatter();
+            cOffsetFormatter = formatter;
         }
-        return cOffsetFormatter;
+        return formatter;
     }
 
     // Instance fields and methods
@@ -803,6 +1062,42 @@ public abstract class DateTimeZone implements Serializable {
      */
     public abstract int getOffset(long instant);
 
+    /**
+     * Gets the millisecond offsets to add to UTC to get local time for many
+     * instants at once.
+     * <p>
+     * This is equivalent to calling {@link #getOffset(long)} for each instant.
+     * When the instants are sorted, or mostly sorted, the offset of each run
+     * of instants between two transitions is only looked up once.
+     *
+     * @param instants  milliseconds from 1970-01-01T00:00:00Z to get the offsets for, not null
+     * @param offsets  the array to fill with the offsets, not null
+     * @throws IllegalArgumentException if the offsets array is shorter than the instants
+     * @since 2.2
+     */
+    public void getOffsets(long[] instants, int[] offsets) {
+        if (offsets.length < instants.length) {
+            throw new IllegalArgumentException("Offsets array is shorter than instants array");
+        }
+        // The offset is constant from periodStart until before periodEnd.
+        long periodStart = Long.MAX_VALUE;
+        long periodEnd = Long.MIN_VALUE;
+        int offset = 0;
+        for (int i = 0; i < instants.length; i++) {
+            long instant = instants[i];
+            if (instant < periodStart || instant >= periodEnd) {
+                offset = getOffset(instant);
+                periodStart = instant;
+                periodEnd = nextTransition(instant);
+                if (periodEnd <= instant) {
+                    // No more transitions, which only a fixed zone can rely on.
+                    periodEnd = (isFixed() ? Long.MAX_VALUE : instant);
+                }
+            }
+            offsets[i] = offset;
+        }
+    }
+
     /**
      * Gets the millisecond offset to add to UTC to get local time.
      * 
@@ -892,7 +1187,14 @@ public abstract class DateTimeZone implements Serializable {
                 // back before the transition, whereas it should be
                 // on or after the transition
                 long nextLocal = nextTransition(instantAdjusted);
+                if (nextLocal == instantAdjusted) {
+                    // no more transitions
+                    nextLocal = Long.MAX_VALUE;
+                }
                 long nextAdjusted = nextTransition(instantLocal - offsetAdjusted);
+                if (nextAdjusted == instantLocal - offsetAdjusted) {
+                    nextAdjusted = Long.MAX_VALUE;
+                }
                 if (nextLocal != nextAdjusted) {
                     return offsetLocal;
                 }
@@ -930,6 +1232,37 @@ public abstract class DateTimeZone implements Serializable {
         return instantLocal;
     }
 
+    /**
+     * Converts many standard UTC instants to local instants with the same
+     * local time.
+     * <p>
+     * This is equivalent to calling {@link #convertUTCToLocal(long)} for each
+     * instant, but looks up the offsets using {@link #getOffsets(long[], int[])}.
+     *
+     * @param instantsUTC  the UTC instants to convert to local, not null
+     * @param instantsLocal  the array to fill with the local instants, may be the input array, not null
+     * @throws IllegalArgumentException if the output array is shorter than the input
+     * @throws ArithmeticException if a result overflows a long
+     * @since 2.2
+     */
+    public void convertUTCToLocal(long[] instantsUTC, long[] instantsLocal) {
+        if (instantsLocal.length < instantsUTC.length) {
+            throw new IllegalArgumentException("Local array is shorter than UTC array");
+        }
+        int[] offsets = new int[instantsUTC.length];
+        getOffsets(instantsUTC, offsets);
+        for (int i = 0; i < offsets.length; i++) {
+            long instantUTC = instantsUTC[i];
+            int offset = offsets[i];
+            long instantLocal = instantUTC + offset;
+            // If there is a sign change, but the two values have the same sign...
+            if ((instantUTC ^ instantLocal) < 0 && (instantUTC ^ offset) >= 0) {
+                throw new ArithmeticException("Adding time zone offset caused overflow");
+            }
+            instantsLocal[i] = instantLocal;
+        }
+    }
+
     /**
      * Converts a local instant to a standard UTC instant with the same
      * local time attempting to use the same offset as the original.
@@ -1221,6 +1554,26 @@ public abstract class DateTimeZone implements Serializable {
      */
     public abstract long previousTransition(long instant);
 
+    /**
+     * Gets an iterator over the transitions from the start instant inclusive
+     * to the end instant exclusive.
+     * <p>
+     * The transitions are calculated lazily as the iterator advances, so a
+     * long range may be walked without holding all the transitions at once.
+     * This is equivalent to calling {@link #nextTransition(long)} repeatedly,
+     * but the zones held in the compiled database avoid recalculating their
+     * rules for each transition.
+     * The iterator does not support removal.
+     *
+     * @param startInstant  the start instant, inclusive, in milliseconds from 1970-01-01T00:00:00Z
+     * @param endInstant  the end instant, exclusive, in milliseconds from 1970-01-01T00:00:00Z
+     * @return the iterator of transitions in increasing order, not null
+     * @since 2.2
+     */
+    public Iterator<ZoneTransition> transitionIterator(long startInstant, long endInstant) {
+        return new TransitionIterator(this, startInstant, endInstant);
+    }
+
     // Basic methods
     //--------------------------------------------------------------------
 
@@ -1268,6 +1621,83 @@ public abstract class DateTimeZone implements Serializable {
         return new Stub(iID);
     }
 
+    /**
+     * Iterates over transitions using nextTransition.
+     */
+    private static final class TransitionIterator implements Iterator<ZoneTransition> {
+        private final DateTimeZone iZone;
+        private final long iEndInstant;
+        // The next transition, not yet returned, or the end instant if none.
+        private long iNext;
+
+        TransitionIterator(DateTimeZone zone, long startInstant, long endInstant) {
+            iZone = zone;
+            iEndInstant = endInstant;
+            iNext = endInstant;
+            if (startInstant < endInstant) {
+                if (startInstant == Long.MIN_VALUE) {
+                    startInstant++;
+                }
+                advance(startInstant - 1);
+            }
+        }
+
+        private void advance(long instant) {
+            long next = iZone.nextTransition(instant);
+            iNext = (next <= instant || next >= iEndInstant ? iEndInstant : next);
+        }
+
+        public boolean hasNext() {
+            return iNext < iEndInstant;
+        }
+
+        public ZoneTransition next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long millis = iNext;
+            ZoneTransition transition = new ZoneTransition(
+                millis, iZone.getOffset(millis - 1), iZone.getOffset(millis), iZone.getNameKey(millis));
+            advance(millis);
+            return transition;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * The zone provider with its ids, version, default zone and zone names,
+     * replaced as a whole so that readers see a consistent snapshot.
+     */
+    private static final class ProviderState {
+        final Provider iProvider;
+        final Set<String> iAvailableIDs;
+        final int iVersion;
+        /** The default zone, null until first requested. */
+        final DateTimeZone iDefault;
+        /** The default time zone names, null until first requested. */
+        final Map<String, DateTimeZone> iZoneNames;
+
+        ProviderState(Provider provider, Set<String> ids, int version,
+                DateTimeZone defaultZone, Map<String, DateTimeZone> zoneNames) {
+            iProvider = provider;
+            iAvailableIDs = ids;
+            iVersion = version;
+            iDefault = defaultZone;
+            iZoneNames = zoneNames;
+        }
+
+        ProviderState withDefault(DateTimeZone defaultZone) {
+            return new ProviderState(iProvider, iAvailableIDs, iVersion, defaultZone, iZoneNames);
+        }
+
+        ProviderState withZoneNames(Map<String, DateTimeZone> zoneNames) {
+            return new ProviderState(iProvider, iAvailableIDs, iVersion, iDefault, zoneNames);
+        }
+    }
+
     /**
      * Used to serialize DateTimeZones by id.
      */
@@ -15,7 +15,9 @@
  */
 package org.joda.time.chrono;
 
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTimeConstants;
@@ -120,10 +122,62 @@ abstract class BasicChronology extends AssembledChronology {
         cHalfdayOfDayField = new HalfdayField();
     }
 
-    private static final int CACHE_SIZE = 1 << 10;
-    private static final int CACHE_MASK = CACHE_SIZE - 1;
+    /**
+     * The year info cache is two-way set associative, so each year can be
+     * held in either of the two entries of its set.
+     */
+    private static final int cCacheSize;
+    /** The largest cache size accepted from the system property. */
+    private static final int MAX_CACHE_SIZE = 1 << 16;
+    private static final int cCacheSetMask;
+    /** Whether to count year info cache hits and misses. */
+    private static final boolean cCacheStatistics;
+
+    static {
+        Integer i;
+        boolean statistics;
+        try {
+            i = Integer.getInteger("org.joda.time.chrono.BasicChronology.size");
+            statistics = Boolean.getBoolean("org.joda.time.chrono.BasicChronology.statistics");
+        } catch (SecurityException e) {
+            i = null;
+            statistics = false;
+        }
 
-    private transient final YearInfo[] iYearInfoCache = new YearInfo[CACHE_SIZE];
+        cCacheSize = yearInfoCacheSize(i);
+        cCacheSetMask = (cCacheSize >> 1) - 1;
+        cCacheStatistics = statistics;
+    }
+
+    /**
+     * Calculates the size of the year info cache from the configured size.
+     * 
+     * @param size  the size from the system property, null for the default
+     * @return the size, a power of two from 2 to 65536
+     */
+    static int yearInfoCacheSize(Integer size) {
+        if (size == null) {
+            // With a cache size of 1024, dates that lie within any 1024 year
+            // period have no cache collisions.
+            return 1024; // (1 << 10)
+        }
+        // Limit the size, which also prevents overflow when rounding up.
+        int cacheSize = Math.min(size.intValue(), MAX_CACHE_SIZE);
+        // Ensure cache size is even power of 2, holding at least one set.
+        cacheSize--;
+        int shift = 1;
+        while (cacheSize > 1) {
+            shift++;
+            cacheSize >>= 1;
+        }
+        return 1 << shift;
+    }
+
+    private transient final YearInfo[] iYearInfoCache = new YearInfo[cCacheSize];
+    /** The count of cache hits, null unless counting. */
+    private transient AtomicLong iYearInfoCacheHits = (cCacheStatistics ? new AtomicLong() : null);
+    /** The count of cache misses, null unless counting. */
+    private transient AtomicLong iYearInfoCacheMisses = (cCacheStatistics ? new AtomicLong() : null);
 
     private final int iMinDaysInFirstWeek;
 
@@ -185,6 +239,122 @@ abstract class BasicChronology extends AssembledChronology {
         return iMinDaysInFirstWeek;
     }
 
+    /**
+     * Gets the number of times the start of a year was found in the cache of
+     * this chronology.
+     * <p>
+     * Counting is disabled by default, as it adds contention between threads.
+     * It is enabled by setting the system property
+     * <code>org.joda.time.chrono.BasicChronology.statistics</code> to true.
+     * The size of the cache is set by the system property
+     * <code>org.joda.time.chrono.BasicChronology.size</code>, 1024 by default
+     * and at most 65536.
+     * Note that chronologies in a time zone other than UTC perform their field
+     * calculations using the UTC instance, and hence its cache. The exception
+     * is {@link #getYearMonthDay(long[], int[], int[], int[])}, which uses the
+     * cache of the chronology it is called on.
+     *
+     * @return the number of cache hits, zero if counting is disabled
+     * @since 2.2
+     */
+    public long getYearInfoCacheHits() {
+        AtomicLong hits = iYearInfoCacheHits;
+        return (hits != null ? hits.get() : 0);
+    }
+
+    /**
+     * Gets the number of times the start of a year had to be calculated as it
+     * was not in the cache of this chronology.
+     * <p>
+     * See {@link #getYearInfoCacheHits()} for how to enable counting.
+     *
+     * @return the number of cache misses, zero if counting is disabled
+     * @since 2.2
+     */
+    public long getYearInfoCacheMisses() {
+        AtomicLong misses = iYearInfoCacheMisses;
+        return (misses != null ? misses.get() : 0);
+    }
+
+    /**
+     * Empties the year info cache and restarts counting hits and misses,
+     * whatever the system property says. This is intended for testing,
+     * and must not be called while other threads use this chronology.
+     * 
+     * @param statistics  true to count hits and misses from zero, false to stop counting
+     */
+    void resetYearInfoCache(boolean statistics) {
+        Arrays.fill(iYearInfoCache, null);
+        iYearInfoCacheHits = (statistics ? new AtomicLong() : null);
+        iYearInfoCacheMisses = (statistics ? new AtomicLong() : null);
+    }
+
+    /**
+     * Gets the year, month of year and day of month of many instants at once,
+     * in the time zone of this chronology.
+     * <p>
+     * This is equivalent to querying the year, monthOfYear and dayOfMonth
+     * fields for each instant, but avoids the field lookups per value.
+     * As with the year field itself, the limits of this chronology are not
+     * checked. Where
+     * neighbouring instants fall in the same month, as they do in sorted or
+     * clustered input, the month boundaries are reused rather than
+     * recalculated.
+     *
+     * @param instants  the millis from 1970-01-01T00:00:00Z to convert, not null
+     * @param years  the array to fill with the years, not null
+     * @param months  the array to fill with the months of year, not null
+     * @param days  the array to fill with the days of month, not null
+     * @throws IllegalArgumentException if an output array is shorter than the input
+     * @since 2.2
+     */
+    public void getYearMonthDay(long[] instants, int[] years, int[] months, int[] days) {
+        getYearMonthDay(getZone(), instants, years, months, days);
+    }
+
+    /**
+     * Gets the year, month of year and day of month of many instants at once.
+     * This chronology is used for the calendar calculations only, the instants
+     * being converted to local time using the specified zone.
+     *
+     * @param zone  the zone to convert the instants in, null means UTC
+     * @param instants  the millis from 1970-01-01T00:00:00Z to convert, not null
+     * @param years  the array to fill with the years, not null
+     * @param months  the array to fill with the months of year, not null
+     * @param days  the array to fill with the days of month, not null
+     */
+    void getYearMonthDay(DateTimeZone zone, long[] instants, int[] years, int[] months, int[] days) {
+        int length = instants.length;
+        if (years.length < length || months.length < length || days.length < length) {
+            throw new IllegalArgumentException("Output arrays must be at least as long as the instants");
+        }
+        long[] locals = instants;
+        if (zone != null && zone != DateTimeZone.UTC) {
+            locals = new long[length];
+            zone.convertUTCToLocal(instants, locals);
+        }
+        int year = 0;
+        int month = 0;
+        // the current month is empty until the first instant is converted
+        long monthStart = 0;
+        long monthEnd = 0;
+        for (int i = 0; i < length; i++) {
+            long local = locals[i];
+            if (local < monthStart || local >= monthEnd) {
+                year = getYear(local);
+                YearInfo info = getYearMonthInfo(year);
+                int[] monthStartDays = info.iMonthStartDays;
+                int index = info.getMonthIndex((int) ((local - info.iFirstDayMillis) / DateTimeConstants.MILLIS_PER_DAY));
+                month = index + 1;
+                monthStart = info.iFirstDayMillis + monthStartDays[index] * (long) DateTimeConstants.MILLIS_PER_DAY;
+                monthEnd = info.iFirstDayMillis + monthStartDays[index + 1] * (long) DateTimeConstants.MILLIS_PER_DAY;
+            }
+            years[i] = year;
+            months[i] = month;
+            days[i] = (int) ((local - monthStart) / DateTimeConstants.MILLIS_PER_DAY) + 1;
+        }
+    }
+
     /**
      * Checks if this chronology instance equals another.
      * 
@@ -445,9 +615,7 @@ abstract class BasicChronology extends AssembledChronology {
      * @param millis from 1970-01-01T00:00:00Z
      */
     int getDayOfMonth(long millis) {
-        int year = getYear(millis);
-        int month = getMonthOfYear(millis, year);
-        return getDayOfMonth(millis, year, month);
+        return getDayOfMonth(millis, getYear(millis));
     }
 
     /**
@@ -455,8 +623,9 @@ abstract class BasicChronology extends AssembledChronology {
      * @param year precalculated year of millis
      */
     int getDayOfMonth(long millis, int year) {
-        int month = getMonthOfYear(millis, year);
-        return getDayOfMonth(millis, year, month);
+        YearInfo info = getYearMonthInfo(year);
+        int dayOfYear = (int) ((millis - info.iFirstDayMillis) / DateTimeConstants.MILLIS_PER_DAY);
+        return dayOfYear - info.iMonthStartDays[info.getMonthIndex(dayOfYear)] + 1;
     }
 
     /**
@@ -465,9 +634,9 @@ abstract class BasicChronology extends AssembledChronology {
      * @param month precalculated month of millis
      */
     int getDayOfMonth(long millis, int year, int month) {
-        long dateMillis = getYearMillis(year);
-        dateMillis += getTotalMillisByYearMonth(year, month);
-        return (int) ((millis - dateMillis) / DateTimeConstants.MILLIS_PER_DAY) + 1;
+        YearInfo info = getYearMonthInfo(year);
+        int dayOfYear = (int) ((millis - info.iFirstDayMillis) / DateTimeConstants.MILLIS_PER_DAY);
+        return dayOfYear - info.iMonthStartDays[month - 1] + 1;
     }
 
     /**
@@ -572,9 +741,10 @@ abstract class BasicChronology extends AssembledChronology {
      * @return the maximum number of days in the month
      */
     int getDaysInMonthMax(long instant) {
-        int thisYear = getYear(instant);
-        int thisMonth = getMonthOfYear(instant, thisYear);
-        return getDaysInYearMonth(thisYear, thisMonth);
+        YearInfo info = getYearMonthInfo(getYear(instant));
+        int[] monthStartDays = info.iMonthStartDays;
+        int index = info.getMonthIndex((int) ((instant - info.iFirstDayMillis) / DateTimeConstants.MILLIS_PER_DAY));
+        return monthStartDays[index + 1] - monthStartDays[index];
     }
 
     /**
@@ -735,10 +905,53 @@ abstract class BasicChronology extends AssembledChronology {
     //-----------------------------------------------------------------------
     // Although accessed by multiple threads, this method doesn't need to be synchronized.
     private YearInfo getYearInfo(int year) {
-        YearInfo info = iYearInfoCache[year & CACHE_MASK];
+        YearInfo[] cache = iYearInfoCache;
+        int index = (year & cCacheSetMask) << 1;
+        YearInfo info = cache[index];
         if (info == null || info.iYear != year) {
+            YearInfo other = cache[index + 1];
+            if (other != null && other.iYear == year) {
+                count(iYearInfoCacheHits);
+                return other;
+            }
+            count(iYearInfoCacheMisses);
+            // The new year takes the first entry, the previous one the second.
+            cache[index + 1] = info;
             info = new YearInfo(year, calculateFirstDayOfYearMillis(year));
-            iYearInfoCache[year & CACHE_MASK] = info;
+            cache[index] = info;
+        } else {
+            count(iYearInfoCacheHits);
+        }
+        return info;
+    }
+
+    private static void count(AtomicLong counter) {
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    // Although accessed by multiple threads, this method doesn't need to be synchronized.
+    // The month table is added separately, as some chronologies need the start of
+    // the year, via getYearInfo, to calculate whether it is a leap year.
+    private YearInfo getYearMonthInfo(int year) {
+        YearInfo info = getYearInfo(year);
+        if (info.iMonthStartDays == null) {
+            int maxMonth = getMaxMonth(year);
+            int[] monthStartDays = new int[maxMonth + 1];
+            for (int month = 1; month <= maxMonth; month++) {
+                monthStartDays[month - 1] = (int) (getTotalMillisByYearMonth(year, month) / DateTimeConstants.MILLIS_PER_DAY);
+            }
+            monthStartDays[maxMonth] = getDaysInYear(year);
+            info = new YearInfo(year, info.iFirstDayMillis, monthStartDays);
+            // Replace the entry that holds the year.
+            YearInfo[] cache = iYearInfoCache;
+            int index = (year & cCacheSetMask) << 1;
+            YearInfo other = cache[index + 1];
+            if (other != null && other.iYear == year) {
+                index++;
+            }
+            cache[index] = info;
         }
         return info;
     }
@@ -766,10 +979,36 @@ abstract class BasicChronology extends AssembledChronology {
     private static class YearInfo {
         public final int iYear;
         public final long iFirstDayMillis;
+        /**
+         * The zero based day of year that each month starts on, followed by
+         * the number of days in the year, null if not yet calculated.
+         */
+        public final int[] iMonthStartDays;
 
         YearInfo(int year, long firstDayMillis) {
+            this(year, firstDayMillis, null);
+        }
+
+        YearInfo(int year, long firstDayMillis, int[] monthStartDays) {
             iYear = year;
             iFirstDayMillis = firstDayMillis;
+            iMonthStartDays = monthStartDays;
+        }
+
+        /**
+         * Gets the zero based month index of a zero based day of year.
+         */
+        int getMonthIndex(int dayOfYear) {
+            int[] monthStartDays = iMonthStartDays;
+            // start from an estimate assuming months of 32 days, then adjust
+            int index = Math.min(dayOfYear >> 5, monthStartDays.length - 2);
+            while (index > 0 && monthStartDays[index] > dayOfYear) {
+                index--;
+            }
+            while (monthStartDays[index + 1] <= dayOfYear) {
+                index++;
+            }
+            return index;
         }
     }
 
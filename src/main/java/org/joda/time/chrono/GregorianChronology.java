@@ -197,6 +197,64 @@ public final class GregorianChronology extends BasicGJChronology {
         return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0);
     }
 
+    // The date fields of instants in the years of the day table, if enabled,
+    // are looked up, those outside are calculated.
+    //-----------------------------------------------------------------------
+    int getYear(long instant) {
+        GregorianDayTable table = GregorianDayTable.getInstance();
+        if (table != null) {
+            int date = table.getDate(instant);
+            if (date != 0) {
+                return table.getYear(date);
+            }
+        }
+        return super.getYear(instant);
+    }
+
+    int getMonthOfYear(long millis) {
+        GregorianDayTable table = GregorianDayTable.getInstance();
+        if (table != null) {
+            int date = table.getDate(millis);
+            if (date != 0) {
+                return GregorianDayTable.getMonthOfYear(date);
+            }
+        }
+        return super.getMonthOfYear(millis);
+    }
+
+    int getDayOfMonth(long millis) {
+        GregorianDayTable table = GregorianDayTable.getInstance();
+        if (table != null) {
+            int date = table.getDate(millis);
+            if (date != 0) {
+                return GregorianDayTable.getDayOfMonth(date);
+            }
+        }
+        return super.getDayOfMonth(millis);
+    }
+
+    int getDayOfYear(long instant) {
+        GregorianDayTable table = GregorianDayTable.getInstance();
+        if (table != null) {
+            int date = table.getDate(instant);
+            if (date != 0) {
+                return GregorianDayTable.getDayOfYear(date);
+            }
+        }
+        return super.getDayOfYear(instant);
+    }
+
+    int getDayOfWeek(long instant) {
+        GregorianDayTable table = GregorianDayTable.getInstance();
+        if (table != null) {
+            int date = table.getDate(instant);
+            if (date != 0) {
+                return GregorianDayTable.getDayOfWeek(date);
+            }
+        }
+        return super.getDayOfWeek(instant);
+    }
+
     long calculateFirstDayOfYearMillis(int year) {
         // Initial value is just temporary.
         int leapYears = year / 100;
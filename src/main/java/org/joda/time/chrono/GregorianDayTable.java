@@ -0,0 +1,181 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.chrono;
+
+import org.joda.time.DateTimeConstants;
+
+/**
+ * Precomputed table of the Gregorian dates in a window of years, used by
+ * {@link GregorianChronology} to decompose an instant without arithmetic.
+ * <p>
+ * Each day in the window is packed into an int holding the year, month of
+ * year, day of month, day of year and day of week. Instants outside the
+ * window are not in the table, and are calculated as normal.
+ * <p>
+ * The table is disabled by default, as it costs four bytes of heap per day,
+ * about 290kb for the default window of 1900 to 2100 inclusive. It is enabled
+ * by setting the system property
+ * <code>org.joda.time.chrono.GregorianChronology.table</code> to true, and is
+ * then built when the date fields are first used. The window can be changed by
+ * the system properties
+ * <code>org.joda.time.chrono.GregorianChronology.tableMinYear</code> and
+ * <code>org.joda.time.chrono.GregorianChronology.tableMaxYear</code>, to at most
+ * 2048 years.
+ * <p>
+ * GregorianDayTable is thread-safe and immutable.
+ *
+ * @since 2.2
+ */
+final class GregorianDayTable {
+
+    private static final int DOW_BITS = 3;
+    private static final int DOY_SHIFT = DOW_BITS;
+    private static final int DOY_BITS = 9;
+    private static final int DAY_SHIFT = DOY_SHIFT + DOY_BITS;
+    private static final int DAY_BITS = 5;
+    private static final int MONTH_SHIFT = DAY_SHIFT + DAY_BITS;
+    private static final int MONTH_BITS = 4;
+    private static final int YEAR_SHIFT = MONTH_SHIFT + MONTH_BITS;
+    /** The maximum number of years in the window, limited by the bits left. */
+    private static final int MAX_YEARS = 1 << (32 - YEAR_SHIFT);
+
+    private static final int[] MIN_DAYS_PER_MONTH_ARRAY = {
+        31,28,31,30,31,30,31,31,30,31,30,31
+    };
+
+    /** The shared table, null unless enabled by the system property. */
+    private static final GregorianDayTable cInstance;
+
+    static {
+        boolean enabled;
+        int minYear;
+        int maxYear;
+        try {
+            enabled = Boolean.getBoolean("org.joda.time.chrono.GregorianChronology.table");
+            minYear = Integer.getInteger("org.joda.time.chrono.GregorianChronology.tableMinYear", 1900).intValue();
+            maxYear = Integer.getInteger("org.joda.time.chrono.GregorianChronology.tableMaxYear", 2100).intValue();
+        } catch (SecurityException e) {
+            enabled = false;
+            minYear = 1900;
+            maxYear = 2100;
+        }
+        cInstance = (enabled && maxYear >= minYear ? new GregorianDayTable(minYear, maxYear) : null);
+    }
+
+    /**
+     * Gets the shared table, if enabled.
+     *
+     * @return the table, null if disabled
+     */
+    static GregorianDayTable getInstance() {
+        return cInstance;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0);
+    }
+
+    private static long getEpochDayOfYearStart(int year) {
+        // days from 0001-01-01 to the start of the year, less those to 1970-01-01
+        long y = year - 1L;
+        return 365 * y + floorDiv(y, 4) - floorDiv(y, 100) + floorDiv(y, 400) - 719162;
+    }
+
+    private static long floorDiv(long value, long divisor) {
+        return (value >= 0 ? value / divisor : (value - divisor + 1) / divisor);
+    }
+
+    //-----------------------------------------------------------------------
+    /** The first year in the table. */
+    private final int iMinYear;
+    /** The millis of the first day in the table. */
+    private final long iStartMillis;
+    /** The millis from the start to the end of the table. */
+    private final long iLengthMillis;
+    /** The packed dates, indexed by day from the start. */
+    private final int[] iDates;
+
+    /**
+     * Builds a table of the years from the minimum to the maximum inclusive,
+     * which is cut short if it would exceed the maximum window.
+     *
+     * @param minYear  the first year in the table
+     * @param maxYear  the last year in the table, not less than the first
+     */
+    GregorianDayTable(int minYear, int maxYear) {
+        if (maxYear - minYear >= MAX_YEARS) {
+            maxYear = minYear + MAX_YEARS - 1;
+        }
+        iMinYear = minYear;
+        long startDay = getEpochDayOfYearStart(minYear);
+        iStartMillis = startDay * DateTimeConstants.MILLIS_PER_DAY;
+        int[] dates = new int[(int) (getEpochDayOfYearStart(maxYear + 1) - startDay)];
+        int index = 0;
+        // 1970-01-01 is day of week 4, Thursday.
+        int dayOfWeek = (int) (((startDay + 3) % 7 + 7) % 7) + 1;
+        for (int year = minYear; year <= maxYear; year++) {
+            int dayOfYear = 1;
+            for (int month = 1; month <= 12; month++) {
+                int days = MIN_DAYS_PER_MONTH_ARRAY[month - 1];
+                if (month == 2 && isLeapYear(year)) {
+                    days++;
+                }
+                for (int day = 1; day <= days; day++) {
+                    dates[index++] = ((year - minYear) << YEAR_SHIFT) | (month << MONTH_SHIFT)
+                        | (day << DAY_SHIFT) | (dayOfYear++ << DOY_SHIFT) | dayOfWeek;
+                    dayOfWeek = (dayOfWeek == 7 ? 1 : dayOfWeek + 1);
+                }
+            }
+        }
+        iDates = dates;
+        iLengthMillis = dates.length * (long) DateTimeConstants.MILLIS_PER_DAY;
+    }
+
+    /**
+     * Gets the packed date of an instant.
+     *
+     * @param instant  millis from 1970-01-01T00:00:00Z
+     * @return the packed date, zero if the instant is outside the table
+     */
+    int getDate(long instant) {
+        long offset = instant - iStartMillis;
+        if (offset >= 0 && offset < iLengthMillis) {
+            return iDates[(int) (offset / DateTimeConstants.MILLIS_PER_DAY)];
+        }
+        return 0;
+    }
+
+    int getYear(int date) {
+        return iMinYear + (date >>> YEAR_SHIFT);
+    }
+
+    static int getMonthOfYear(int date) {
+        return (date >>> MONTH_SHIFT) & ((1 << MONTH_BITS) - 1);
+    }
+
+    static int getDayOfMonth(int date) {
+        return (date >>> DAY_SHIFT) & ((1 << DAY_BITS) - 1);
+    }
+
+    static int getDayOfYear(int date) {
+        return (date >>> DOY_SHIFT) & ((1 << DOY_BITS) - 1);
+    }
+
+    static int getDayOfWeek(int date) {
+        return date & ((1 << DOW_BITS) - 1);
+    }
+
+}
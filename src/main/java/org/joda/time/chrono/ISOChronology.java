@@ -149,6 +149,26 @@ public final class ISOChronology extends AssembledChronology {
         return getInstance(zone);
     }
 
+    /**
+     * Gets the year, month of year and day of month of many instants at once,
+     * in the time zone of this chronology.
+     * <p>
+     * This is equivalent to querying the year, monthOfYear and dayOfMonth
+     * fields for each instant, but avoids the field lookups per value.
+     * As with the year field itself, the limits of this chronology are not
+     * checked.
+     *
+     * @param instants  the millis from 1970-01-01T00:00:00Z to convert, not null
+     * @param years  the array to fill with the years, not null
+     * @param months  the array to fill with the months of year, not null
+     * @param days  the array to fill with the days of month, not null
+     * @throws IllegalArgumentException if an output array is shorter than the input
+     * @since 2.2
+     */
+    public void getYearMonthDay(long[] instants, int[] years, int[] months, int[] days) {
+        GregorianChronology.getInstanceUTC().getYearMonthDay(getZone(), instants, years, months, days);
+    }
+
     // Output
     //-----------------------------------------------------------------------
     /**
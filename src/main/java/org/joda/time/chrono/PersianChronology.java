@@ -13,9 +13,8 @@
  */
 package org.joda.time.chrono;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
@@ -82,9 +81,8 @@ public abstract class PersianChronology extends BasicChronology {
      */
     public static final int AP = DateTimeConstants.CE;
 
-    /** Cache of zone chronology arrays */
-    private static final Map<String, PersianChronology> cCache = Collections
-            .synchronizedMap(new HashMap<String, PersianChronology>());
+    /** Cache of zone chronologies, one per implementation key */
+    private static final ConcurrentMap<String, ZoneCache> cCache = new ConcurrentHashMap<String, ZoneCache>();
 
     private static final DateTimeField ERA_FIELD = new BasicSingleEraDateTimeField("AP");
 
@@ -133,26 +131,28 @@ public abstract class PersianChronology extends BasicChronology {
      *         intercalation method implementation
      */
     protected static PersianChronology getInstance(DateTimeZone zone, PersianChronology persianChronologyImpl) {
-        if (zone == null) {
-            zone = DateTimeZone.getDefault();
-        }
+        return getZoneCache(persianChronologyImpl).getInstance(zone);
+    }
 
-        PersianChronology chrono = cCache.get(zone + persianChronologyImpl.getKey());
-        if (chrono == null) {
-            if (zone == DateTimeZone.UTC) {
-                // First create without a lower limit.
-                chrono = persianChronologyImpl;
-                // Impose lower limit and make another PersianChronology.
-                DateTime lowerLimit = new DateTime(chrono.getMinYear(), 1, 1, 0, 0, 0, 0, chrono);
-                LimitChronology limitChronology = LimitChronology.getInstance(chrono, lowerLimit, null);
-                chrono = persianChronologyImpl.newInstance(limitChronology, lowerLimit);
-            } else {
-                chrono = getInstance(DateTimeZone.UTC, persianChronologyImpl);
-                chrono = persianChronologyImpl.newInstance(ZonedChronology.getInstance(chrono, zone), null);
+    /**
+     * Gets the cache of zone chronologies for the implementation, creating it
+     * on first use.
+     * 
+     * @param persianChronologyImpl
+     *            the implementation instance, used to create the chronologies
+     * @return the cache shared by all implementations with the same key
+     */
+    static ZoneCache getZoneCache(PersianChronology persianChronologyImpl) {
+        String key = persianChronologyImpl.getKey();
+        ZoneCache cache = cCache.get(key);
+        if (cache == null) {
+            cache = new ZoneCache(persianChronologyImpl);
+            ZoneCache existing = cCache.putIfAbsent(key, cache);
+            if (existing != null) {
+                cache = existing;
             }
-            cCache.put(zone + persianChronologyImpl.getKey(), chrono);
         }
-        return chrono;
+        return cache;
     }
 
     /**
@@ -213,7 +213,7 @@ public abstract class PersianChronology extends BasicChronology {
         return (1348L * getAverageMillisPerYear()) / 2;
     }
 
-    protected abstract Double getAverageDaysPerYear();
+    protected abstract double getAverageDaysPerYear();
 
     @Override
     long getAverageMillisPerMonth() {
@@ -230,6 +230,26 @@ public abstract class PersianChronology extends BasicChronology {
         return getAverageMillisPerYear() / 2;
     }
 
+    /**
+     * Gets the millis at the start of a day in March of a proleptic ISO year.
+     * This uses pure arithmetic, without allocation or range checks, so the
+     * day of month may run past the end of March.
+     * 
+     * @param isoYear
+     *            the ISO year
+     * @param dayOfMarch
+     *            the day of March, one-based
+     * @return millis from 1970-01-01T00:00:00Z
+     */
+    static long getISOMarchDayMillis(int isoYear, int dayOfMarch) {
+        // count days from 0000-03-01 in whole 400 year Gregorian cycles
+        long cycle = (isoYear >= 0 ? isoYear : isoYear - 399L) / 400;
+        long yearOfCycle = isoYear - cycle * 400;
+        long days = cycle * 146097 + yearOfCycle * 365 + yearOfCycle / 4 - yearOfCycle / 100 + dayOfMarch - 1;
+        // 719468 is the number of days from 0000-03-01 to 1970-01-01
+        return (days - 719468) * DateTimeConstants.MILLIS_PER_DAY;
+    }
+
     @Override
     int getDayOfWeek(long instant) {
         return WEEKDAYS_IN_GREG_ORDER[super.getDayOfWeek(instant) - 1].getWeekDay();
@@ -349,4 +369,68 @@ public abstract class PersianChronology extends BasicChronology {
         return getInstance(zone, this);
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Lock-free cache of the chronologies of a single implementation by zone.
+     * <p>
+     * Lookups first check a small array indexed by the identity hash of the
+     * zone, as done by {@link ISOChronology}, falling back to a concurrent map.
+     * Neither path allocates or locks once the chronology has been created.
+     */
+    static final class ZoneCache {
+        /** Fast cache of zone to chronology, size must be a power of two */
+        private static final int FAST_CACHE_SIZE = 64;
+
+        /** The implementation used to create the chronologies */
+        private final PersianChronology iImpl;
+        /** Fast cache of zone to chronology */
+        private final PersianChronology[] iFastCache = new PersianChronology[FAST_CACHE_SIZE];
+        /** Cache of zone to chronology */
+        private final ConcurrentMap<DateTimeZone, PersianChronology> iCache = new ConcurrentHashMap<DateTimeZone, PersianChronology>();
+
+        ZoneCache(PersianChronology impl) {
+            iImpl = impl;
+        }
+
+        /**
+         * Gets the chronology in the given time zone.
+         * 
+         * @param zone
+         *            the time zone, null is default
+         * @return the shared chronology, never null
+         */
+        PersianChronology getInstance(DateTimeZone zone) {
+            if (zone == null) {
+                zone = DateTimeZone.getDefault();
+            }
+            int index = System.identityHashCode(zone) & (FAST_CACHE_SIZE - 1);
+            PersianChronology chrono = iFastCache[index];
+            if (chrono != null && chrono.getZone() == zone) {
+                return chrono;
+            }
+            chrono = iCache.get(zone);
+            if (chrono == null) {
+                chrono = create(zone);
+                PersianChronology existing = iCache.putIfAbsent(zone, chrono);
+                if (existing != null) {
+                    chrono = existing;
+                }
+            }
+            iFastCache[index] = chrono;
+            return chrono;
+        }
+
+        private PersianChronology create(DateTimeZone zone) {
+            if (zone == DateTimeZone.UTC) {
+                // First create without a lower limit.
+                PersianChronology chrono = iImpl;
+                // Impose lower limit and make another PersianChronology.
+                DateTime lowerLimit = new DateTime(chrono.getMinYear(), 1, 1, 0, 0, 0, 0, chrono);
+                LimitChronology limitChronology = LimitChronology.getInstance(chrono, lowerLimit, null);
+                return iImpl.newInstance(limitChronology, lowerLimit);
+            }
+            return iImpl.newInstance(ZonedChronology.getInstance(getInstance(DateTimeZone.UTC), zone), null);
+        }
+    }
+
 }
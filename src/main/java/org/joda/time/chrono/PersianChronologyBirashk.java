@@ -14,7 +14,7 @@
 package org.joda.time.chrono;
 
 import org.joda.time.Chronology;
-import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeZone;
 
 /**
@@ -60,8 +60,17 @@ public class PersianChronologyBirashk extends PersianChronology {
 
     private static final double PERSIAN_EPOCH = 1948320.5;
 
+    /*
+     * whole days from the day before the Persian epoch to 1970-01-01, the
+     * Julian day of 1970-01-01 being 2440587.5
+     */
+    private static final long DAYS_FROM_EPOCH_EVE_TO_1970 = (long) (2440587.5 - (PERSIAN_EPOCH - 1));
+
     private static final long serialVersionUID = -5690829091404517045L;
 
+    /** Cache of this implementation's chronologies by zone */
+    private static final ZoneCache cZoneCache = getZoneCache(new PersianChronologyBirashk());
+
     /**
      * 
      * Method Description: Returns an instance of a PersianChronologyBirashk in
@@ -70,7 +79,7 @@ public class PersianChronologyBirashk extends PersianChronology {
      * @return - PersianChronologyBirashk instance
      */
     public static PersianChronology getInstance() {
-        return getInstance(DateTimeZone.getDefault(), new PersianChronologyBirashk());
+        return cZoneCache.getInstance(DateTimeZone.getDefault());
     }
 
     /**
@@ -81,7 +90,7 @@ public class PersianChronologyBirashk extends PersianChronology {
      * @return - PersianChronologyBirashk instance
      */
     public static PersianChronology getInstance(DateTimeZone zone) {
-        return getInstance(zone, new PersianChronologyBirashk());
+        return cZoneCache.getInstance(zone);
     }
 
     /**
@@ -92,7 +101,7 @@ public class PersianChronologyBirashk extends PersianChronology {
      * @return - PersianChronologyBirashk instance
      */
     public static PersianChronology getInstanceUTC() {
-        return getInstance(DateTimeZone.UTC, new PersianChronologyBirashk());
+        return cZoneCache.getInstance(DateTimeZone.UTC);
     }
 
     PersianChronologyBirashk() {
@@ -105,22 +114,19 @@ public class PersianChronologyBirashk extends PersianChronology {
 
     @Override
     long calculateFirstDayOfYearMillis(int persianYear) {
-        double julianDay = convertPersianDateToJulianDay(persianYear);
-        return DateTimeUtils.fromJulianDay(julianDay);
+        long days = getDaysFromEpochEve(persianYear) - DAYS_FROM_EPOCH_EVE_TO_1970;
+        return days * DateTimeConstants.MILLIS_PER_DAY;
     }
 
-    private double convertPersianDateToJulianDay(int year) {
-        int month = 1, day = 1;
-
-        int epbase = year - ((year >= 0) ? 474 : 473);
-        int epyear = 474 + mod(epbase, 2820);
+    private long getDaysFromEpochEve(int year) {
+        long epbase = year - ((year >= 0) ? 474 : 473);
+        long epyear = 474 + mod(epbase, 2820);
 
-        return day + ((month <= 7) ? ((month - 1) * 31) : (((month - 1) * 30) + 6)) + (((epyear * 682) - 110) / 2816)
-                + (epyear - 1) * 365 + (epbase / 2820) * 1029983 + (PERSIAN_EPOCH - 1);
+        return 1 + (((epyear * 682) - 110) / 2816) + (epyear - 1) * 365 + (epbase / 2820) * 1029983;
     }
 
     @Override
-    protected Double getAverageDaysPerYear() {
+    protected double getAverageDaysPerYear() {
         return AVERAGE_DAYS_PER_YEAR;
     }
 
@@ -145,7 +151,7 @@ public class PersianChronologyBirashk extends PersianChronology {
         return ((((((persianYear - ((persianYear > 0) ? 474 : 473)) % 2820) + 474) + 38) * 682) % 2816) < 682;
     }
 
-    private int mod(int a, int b) {
+    private long mod(long a, long b) {
         return a % b;
     }
 
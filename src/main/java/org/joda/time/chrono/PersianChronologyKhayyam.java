@@ -58,8 +58,18 @@ public class PersianChronologyKhayyam extends PersianChronology {
 
     private static final long REFERENCE_YEAR_MILLIS = -6115219200000L;
 
+    /*
+     * the first day of year zero, the reference year being 1155 years of 365
+     * days plus the 280 leap years in its 35 preceding cycles
+     */
+    private static final long YEAR_ZERO_MILLIS = REFERENCE_YEAR_MILLIS - (REFERENCE_YEAR * 365L + 280L)
+            * DateTimeConstants.MILLIS_PER_DAY;
+
     private static final long serialVersionUID = -5619654259691027165L;
 
+    /** Cache of this implementation's chronologies by zone */
+    private static final ZoneCache cZoneCache = getZoneCache(new PersianChronologyKhayyam());
+
     /**
      * 
      * Method Description: Returns an instance of a PersianChronologyKhayyam in
@@ -68,7 +78,7 @@ public class PersianChronologyKhayyam extends PersianChronology {
      * @return - PersianChronologyKhayyam instance
      */
     public static PersianChronology getInstance() {
-        return getInstance(DateTimeZone.getDefault(), new PersianChronologyKhayyam());
+        return cZoneCache.getInstance(DateTimeZone.getDefault());
     }
 
     /**
@@ -79,7 +89,7 @@ public class PersianChronologyKhayyam extends PersianChronology {
      * @return - PersianChronologyKhayyam instance
      */
     public static PersianChronology getInstance(DateTimeZone zone) {
-        return getInstance(zone, new PersianChronologyKhayyam());
+        return cZoneCache.getInstance(zone);
     }
 
     /**
@@ -90,7 +100,7 @@ public class PersianChronologyKhayyam extends PersianChronology {
      * @return - PersianChronologyKhayyam instance
      */
     public static PersianChronology getInstanceUTC() {
-        return getInstance(DateTimeZone.UTC, new PersianChronologyKhayyam());
+        return cZoneCache.getInstance(DateTimeZone.UTC);
     }
 
     PersianChronologyKhayyam() {
@@ -103,45 +113,21 @@ public class PersianChronologyKhayyam extends PersianChronology {
 
     @Override
     long calculateFirstDayOfYearMillis(int persianYear) {
-        if (persianYear > REFERENCE_YEAR) {
-            return calculateFirstDayOfYearMillisIfAfterReferenceYear(persianYear);
-        } else if (persianYear < REFERENCE_YEAR) {
-            return calculateFirstDayOfYearMillisIfBeforeReferenceYear(persianYear);
+        long days;
+        if (persianYear >= 0) {
+            // (8y + 21) / 33 is the number of years in [0, y) with a remainder
+            // of (8y + 29) % 33 less than 8, i.e. the leap years passed by
+            days = 365L * persianYear + (8L * persianYear + 21L) / 33L;
         } else {
-            return REFERENCE_YEAR_MILLIS;
-        }
-    }
-
-    private long calculateFirstDayOfYearMillisIfAfterReferenceYear(int persianYear) {
-        int yearDifferenceToReferenceYear = persianYear - REFERENCE_YEAR;
-        int current33YearCycleStart = persianYear - (persianYear % 33);
-        int leapYears = ((current33YearCycleStart - REFERENCE_YEAR) / 33) * 8;
-        for (int i = current33YearCycleStart; i < persianYear; i++) {
-            if (isLeapYear(i)) {
-                leapYears = leapYears + 1;
-            }
-        }
-        long numberOfDays = (yearDifferenceToReferenceYear * 365) + leapYears;
-        long millis = numberOfDays * DateTimeConstants.MILLIS_PER_DAY;
-        return REFERENCE_YEAR_MILLIS + millis;
-    }
-
-    private long calculateFirstDayOfYearMillisIfBeforeReferenceYear(int persianYear) {
-        int yearDifferenceToReferenceYear = REFERENCE_YEAR - persianYear;
-        int current33YearCycleStart = persianYear - (persianYear % 33);
-        int leapYears = ((REFERENCE_YEAR - current33YearCycleStart) / 33) * 8;
-        for (int i = current33YearCycleStart; i < persianYear; i++) {
-            if (isLeapYear(i)) {
-                leapYears = leapYears - 1;
-            }
+            // before year zero only whole cycles, counted towards zero, are
+            // subtracted
+            days = 365L * persianYear - 8L * (-persianYear / 33);
         }
-        long numberOfDays = (yearDifferenceToReferenceYear * 365) + leapYears;
-        long millis = numberOfDays * DateTimeConstants.MILLIS_PER_DAY;
-        return REFERENCE_YEAR_MILLIS - millis;
+        return YEAR_ZERO_MILLIS + days * DateTimeConstants.MILLIS_PER_DAY;
     }
 
     @Override
-    protected Double getAverageDaysPerYear() {
+    protected double getAverageDaysPerYear() {
         return AVERAGE_DAYS_PER_YEAR;
     }
 
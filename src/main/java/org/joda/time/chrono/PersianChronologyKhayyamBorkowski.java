@@ -14,7 +14,6 @@
 package org.joda.time.chrono;
 
 import org.joda.time.Chronology;
-import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 
 /**
@@ -69,10 +68,29 @@ public class PersianChronologyKhayyamBorkowski extends PersianChronology {
     private static final int[] BREAK_YEARS = { -61, 9, 38, 199, 426, 686, 756, 818, 1111, 1181, 1210, 1635, 2060, 2097, 2192,
             2262, 2324, 2394, 2456, 3178 };
 
+    /*
+     * the number of Jalaali leap years passed by at each break year
+     */
+    private static final int[] BREAK_YEAR_LEAPS;
+
     private static final String KEY = "KB";
 
     private static final long serialVersionUID = -5110915276696182916L;
 
+    static {
+        BREAK_YEAR_LEAPS = new int[BREAK_YEARS.length];
+        int jalaaliLeaps = -14;
+        BREAK_YEAR_LEAPS[0] = jalaaliLeaps;
+        for (int breakYearIndex = 1; breakYearIndex < BREAK_YEARS.length; breakYearIndex++) {
+            int jump = BREAK_YEARS[breakYearIndex] - BREAK_YEARS[breakYearIndex - 1];
+            jalaaliLeaps = jalaaliLeaps + jump / 33 * 8 + mod(jump, 33) / 4;
+            BREAK_YEAR_LEAPS[breakYearIndex] = jalaaliLeaps;
+        }
+    }
+
+    /** Cache of this implementation's chronologies by zone */
+    private static final ZoneCache cZoneCache = getZoneCache(new PersianChronologyKhayyamBorkowski());
+
     /**
      * 
      * Method Description: Returns an instance of a
@@ -81,7 +99,7 @@ public class PersianChronologyKhayyamBorkowski extends PersianChronology {
      * @return - PersianChronologyKhayyamBorkowski instance
      */
     public static PersianChronology getInstance() {
-        return getInstance(DateTimeZone.getDefault(), new PersianChronologyKhayyamBorkowski());
+        return cZoneCache.getInstance(DateTimeZone.getDefault());
     }
 
     /**
@@ -92,7 +110,7 @@ public class PersianChronologyKhayyamBorkowski extends PersianChronology {
      * @return - PersianChronologyKhayyamBorkowski instance
      */
     public static PersianChronology getInstance(DateTimeZone zone) {
-        return getInstance(zone, new PersianChronologyKhayyamBorkowski());
+        return cZoneCache.getInstance(zone);
     }
 
     /**
@@ -103,7 +121,7 @@ public class PersianChronologyKhayyamBorkowski extends PersianChronology {
      * @return - PersianChronologyKhayyamBorkowski instance
      */
     public static PersianChronology getInstanceUTC() {
-        return getInstance(DateTimeZone.UTC, new PersianChronologyKhayyamBorkowski());
+        return cZoneCache.getInstance(DateTimeZone.UTC);
     }
 
     PersianChronologyKhayyamBorkowski() {
@@ -114,35 +132,36 @@ public class PersianChronologyKhayyamBorkowski extends PersianChronology {
         super(base, param);
     }
 
-    private int[] breakYearCalculations(int persianYear, boolean calcJalaaliLeaps) {
-        int jalaaliLeaps = -14;
-        int jump = 0;
-        int differenceToNextBreakYear = 0;
-        int breakYear = BREAK_YEARS[0];
+    /**
+     * Gets the index of the last break year not after the given year, or zero
+     * if the year is before the first break year.
+     */
+    private static int getBreakYearIndex(int persianYear) {
+        int breakYearIndex = 0;
+        while (breakYearIndex < BREAK_YEARS.length - 1 && !(persianYear < BREAK_YEARS[breakYearIndex + 1])) {
+            breakYearIndex++;
+        }
+        return breakYearIndex;
+    }
 
-        for (int breakYearIndex = 1; breakYearIndex < BREAK_YEARS.length; breakYearIndex++) {
-            int nextBreakYear = BREAK_YEARS[breakYearIndex];
-            jump = nextBreakYear - breakYear;
-            if (!(persianYear < nextBreakYear)) {
-                if (calcJalaaliLeaps) {
-                    jalaaliLeaps = jalaaliLeaps + jump / 33 * 8 + mod(jump, 33) / 4;
-                }
-                breakYear = nextBreakYear;
-            } else {
-                break;
-            }
+    /**
+     * Gets the length of the period starting at the break year, the last break
+     * year continuing the length of the period before it.
+     */
+    private static int getJump(int breakYearIndex) {
+        if (breakYearIndex == BREAK_YEARS.length - 1) {
+            breakYearIndex--;
         }
-        differenceToNextBreakYear = persianYear - breakYear;
-        return new int[] { jump, differenceToNextBreakYear, jalaaliLeaps };
+        return BREAK_YEARS[breakYearIndex + 1] - BREAK_YEARS[breakYearIndex];
     }
 
     @Override
     long calculateFirstDayOfYearMillis(int persianYear) {
-
-        int[] calResult = breakYearCalculations(persianYear, true);
-        int jump = calResult[0];
-        int differenceToNextBreakYear = calResult[1];
-        int leapJ = calResult[2] + differenceToNextBreakYear / 33 * 8 + (mod(differenceToNextBreakYear, 33) + 3) / 4;
+        int breakYearIndex = getBreakYearIndex(persianYear);
+        int jump = getJump(breakYearIndex);
+        int differenceToNextBreakYear = persianYear - BREAK_YEARS[breakYearIndex];
+        int leapJ = BREAK_YEAR_LEAPS[breakYearIndex] + differenceToNextBreakYear / 33 * 8
+                + (mod(differenceToNextBreakYear, 33) + 3) / 4;
         if (mod(jump, 33) == 4 && jump - differenceToNextBreakYear == 4) {
             leapJ = leapJ + 1;
         }
@@ -150,11 +169,11 @@ public class PersianChronologyKhayyamBorkowski extends PersianChronology {
         int isoYear = persianYear + 621;
         int gregorianLeaps = isoYear / 4 - (isoYear / 100 + 1) * 3 / 4 - 150;
         int dayInISOMarch = 20 + leapJ - gregorianLeaps;
-        return new DateTime(isoYear, 3, dayInISOMarch, 0, 0, 0, 0, ISOChronology.getInstanceUTC()).getMillis();
+        return getISOMarchDayMillis(isoYear, dayInISOMarch);
     }
 
     @Override
-    protected Double getAverageDaysPerYear() {
+    protected double getAverageDaysPerYear() {
         return AVERAGE_DAYS_PER_YEAR;
     }
 
@@ -175,9 +194,9 @@ public class PersianChronologyKhayyamBorkowski extends PersianChronology {
 
     @Override
     protected boolean isLeapYear(int persianYear) {
-        int[] calResult = breakYearCalculations(persianYear, false);
-        int jump = calResult[0];
-        int differenceToNextBreakYear = calResult[1];
+        int breakYearIndex = getBreakYearIndex(persianYear);
+        int jump = getJump(breakYearIndex);
+        int differenceToNextBreakYear = persianYear - BREAK_YEARS[breakYearIndex];
 
         if (jump - differenceToNextBreakYear < 6) {
             differenceToNextBreakYear = differenceToNextBreakYear - jump + (jump + 4) / 33 * 33;
@@ -190,7 +209,7 @@ public class PersianChronologyKhayyamBorkowski extends PersianChronology {
         }
     }
 
-    private int mod(int a, int b) {
+    private static int mod(int a, int b) {
         return a % b;
     }
 
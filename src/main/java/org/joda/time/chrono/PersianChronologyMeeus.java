@@ -15,9 +15,9 @@ package org.joda.time.chrono;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
-import org.joda.time.Days;
 
 /**
  * An implementation of the Persian calendar using Vernal equinox times
@@ -244,12 +244,24 @@ public class PersianChronologyMeeus extends PersianChronology {
 
     private static final String KEY = "AS";
 
+    /*
+     * the Iran Standard Time longitude, 51 degrees 30 minutes
+     */
+    private static final int DEFAULT_LONGITUDE_DEGREES = 51;
+
+    private static final int DEFAULT_LONGITUDE_MINUTES = 30;
+
+    private static final int DEFAULT_LONGITUDE_SECONDS = 0;
+
     private static final int PERSIAN_TO_ISO_YEAR_DIFFERENCE = 621;
 
     private static final Double piBy180 = Math.PI / 180.0;
 
     private static final long serialVersionUID = -952499136332981902L;
 
+    /** Cache of this implementation's chronologies by zone */
+    private static final ZoneCache cZoneCache = getZoneCache(new PersianChronologyMeeus());
+
     /**
      * 
      * Method Description: Returns an instance of a PersianChronologyMeeus in
@@ -259,7 +271,7 @@ public class PersianChronologyMeeus extends PersianChronology {
      * @return - PersianChronologyMeeus instance
      */
     public static PersianChronology getInstance() {
-        return getInstance(DateTimeZone.getDefault(), new PersianChronologyMeeus());
+        return cZoneCache.getInstance(DateTimeZone.getDefault());
     }
 
     /**
@@ -272,7 +284,7 @@ public class PersianChronologyMeeus extends PersianChronology {
      * @return - PersianChronologyMeeus instance
      */
     public static PersianChronology getInstance(DateTimeZone zone) {
-        return getInstance(zone, new PersianChronologyMeeus());
+        return cZoneCache.getInstance(zone);
     }
 
     /**
@@ -295,6 +307,10 @@ public class PersianChronologyMeeus extends PersianChronology {
      */
     public static PersianChronology getInstance(DateTimeZone zone, int calendarLongitudeDegrees, int calendarLongitudeMinutes,
             int calendarLongitudeSeconds) {
+        if (calendarLongitudeDegrees == DEFAULT_LONGITUDE_DEGREES && calendarLongitudeMinutes == DEFAULT_LONGITUDE_MINUTES
+                && calendarLongitudeSeconds == DEFAULT_LONGITUDE_SECONDS) {
+            return cZoneCache.getInstance(zone);
+        }
         return PersianChronology.getInstance(zone, new PersianChronologyMeeus(calendarLongitudeDegrees, calendarLongitudeMinutes,
                 calendarLongitudeSeconds));
     }
@@ -307,7 +323,7 @@ public class PersianChronologyMeeus extends PersianChronology {
      * @return - PersianChronologyMeeus instance
      */
     public static PersianChronology getInstanceUTC() {
-        return getInstance(DateTimeZone.UTC, new PersianChronologyMeeus());
+        return cZoneCache.getInstance(DateTimeZone.UTC);
     }
 
     private final int utcToJalaalihourOffset;
@@ -321,10 +337,10 @@ public class PersianChronologyMeeus extends PersianChronology {
     // restricted constructor
     PersianChronologyMeeus() {
         super(null, null);
-        this.utcToJalaaliLongitudeDegreeOffset = 51;
+        this.utcToJalaaliLongitudeDegreeOffset = DEFAULT_LONGITUDE_DEGREES;
         this.utcToJalaalihourOffset = 3;
-        this.utcToJalaaliLongitudeMinuteOffset = 30;
-        this.utcToJalaaliLongitudeSecondOffset = 0;
+        this.utcToJalaaliLongitudeMinuteOffset = DEFAULT_LONGITUDE_MINUTES;
+        this.utcToJalaaliLongitudeSecondOffset = DEFAULT_LONGITUDE_SECONDS;
     }
 
     // restricted constructor
@@ -351,29 +367,41 @@ public class PersianChronologyMeeus extends PersianChronology {
     long calculateFirstDayOfYearMillis(int persianYear) {
         int isoYear = persianYear + PERSIAN_TO_ISO_YEAR_DIFFERENCE;
         int yearStart = getFirstDayOfISOYearAtJalaaliLongitude(isoYear);
-        long millisUTC = new DateTime(isoYear, 3, yearStart, 0, 0, 0, 0, ISOChronology.getInstanceUTC()).getMillis();
-        return millisUTC;
+        return ISOChronology.getInstanceUTC().getDateTimeMillis(isoYear, 3, yearStart, 0);
     }
 
     @Override
-    protected Double getAverageDaysPerYear() {
+    protected double getAverageDaysPerYear() {
         return AVERAGE_DAYS_PER_YEAR;
     }
 
     private int getFirstDayOfISOYearAtJalaaliLongitude(int isoYear) {
+        // the precomputed table is only absent if the build step was skipped
+        PersianEquinoxTable table = PersianEquinoxTable.getInstance();
+        int equinoxSecond = (table == null ? -1 : table.getEquinoxSecondOfMarch(isoYear));
+        if (equinoxSecond >= 0) {
+            int secondOfDay = equinoxSecond % DateTimeConstants.SECONDS_PER_DAY;
+            return getFirstDayOfISOYearAtJalaaliLongitude(equinoxSecond / DateTimeConstants.SECONDS_PER_DAY + 1,
+                    secondOfDay / DateTimeConstants.SECONDS_PER_HOUR,
+                    (secondOfDay / DateTimeConstants.SECONDS_PER_MINUTE) % 60,
+                    secondOfDay % DateTimeConstants.SECONDS_PER_MINUTE);
+        }
         DateTime springEquinox = new Astronomical().getSpringVernalEquinoxInstantAtUTC(isoYear);
-        int day = springEquinox.getDayOfMonth();
-        int hour = springEquinox.getHourOfDay() + utcToJalaalihourOffset;
+        return getFirstDayOfISOYearAtJalaaliLongitude(springEquinox.getDayOfMonth(), springEquinox.getHourOfDay(),
+                springEquinox.getMinuteOfHour(), springEquinox.getSecondOfMinute());
+    }
+
+    private int getFirstDayOfISOYearAtJalaaliLongitude(int day, int hour, int minute, int second) {
+        hour = hour + utcToJalaalihourOffset;
 
         if (hour > 23) {
             hour = hour - 24;
             day++;
         }
 
-        int minute = springEquinox.getMinuteOfHour() + utcToJalaaliLongitudeMinuteOffset;
+        minute = minute + utcToJalaaliLongitudeMinuteOffset;
 
         // some correction to be done here but how
-        int second = springEquinox.getSecondOfMinute();
         if (second > 30) {
             // round up the minute
             minute++;
@@ -390,7 +418,14 @@ public class PersianChronologyMeeus extends PersianChronology {
 
     @Override
     protected String getKey() {
-        return KEY;
+        if (utcToJalaaliLongitudeDegreeOffset == DEFAULT_LONGITUDE_DEGREES
+                && utcToJalaaliLongitudeMinuteOffset == DEFAULT_LONGITUDE_MINUTES
+                && utcToJalaaliLongitudeSecondOffset == DEFAULT_LONGITUDE_SECONDS) {
+            return KEY;
+        }
+        // chronologies at other longitudes must not share the default cache
+        return KEY + utcToJalaaliLongitudeDegreeOffset + ':' + utcToJalaaliLongitudeMinuteOffset + ':'
+                + utcToJalaaliLongitudeSecondOffset;
     }
 
     @Override
@@ -405,11 +440,8 @@ public class PersianChronologyMeeus extends PersianChronology {
 
     @Override
     boolean isLeapYear(int persianYear) {
-        int isoYear = persianYear + PERSIAN_TO_ISO_YEAR_DIFFERENCE;
-        int thisYearStart = getFirstDayOfISOYearAtJalaaliLongitude(isoYear);
-        int nextYearStart = getFirstDayOfISOYearAtJalaaliLongitude(isoYear + 1);
-        return Days.daysBetween(new DateTime(isoYear, 3, thisYearStart, 0, 0), new DateTime(isoYear + 1, 3, nextYearStart, 0, 0))
-                .getDays() > 365;
+        long yearLength = getYearMillis(persianYear + 1) - getYearMillis(persianYear);
+        return yearLength > 365L * DateTimeConstants.MILLIS_PER_DAY;
     }
 
     @Override
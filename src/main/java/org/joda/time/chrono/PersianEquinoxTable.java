@@ -0,0 +1,204 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.chrono;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.joda.time.DateTimeConstants;
+
+/**
+ * Precomputed table of Vernal equinox instants used by
+ * {@link PersianChronologyMeeus}.
+ * <p>
+ * The table is generated at build time by running {@link #main} which
+ * evaluates {@link PersianChronologyMeeus.Astronomical} for every year in
+ * the range and writes the result to the <code>data/PersianEquinoxTable</code>
+ * resource alongside this class. Each entry is the equinox instant in UTC,
+ * truncated to the second, held as the number of seconds since the start of
+ * the 1st March of that ISO year. That is all the information the chronology
+ * needs to determine the first day of the Persian year at any longitude.
+ * <p>
+ * The file format is versioned. If the resource is missing, or was written
+ * by a different version of the astronomical model, the table is not used and
+ * the chronology falls back to the live calculation.
+ * <p>
+ * PersianEquinoxTable is thread-safe and immutable.
+ *
+ * @since 2.2
+ */
+final class PersianEquinoxTable {
+
+    /** The version of the file format and the astronomical model. */
+    static final int VERSION = 1;
+    /** The resource name, relative to this class. */
+    static final String RESOURCE = "data/PersianEquinoxTable";
+    /** The first ISO year in the generated table, 1000 BC (-1621 AP). */
+    static final int FIRST_ISO_YEAR = -1000;
+    /** The last ISO year in the generated table, 3621 CE (3000 AP). */
+    static final int LAST_ISO_YEAR = 3621;
+
+    /**
+     * Lazily loaded table, null if the resource is unavailable.
+     */
+    private static final class Holder {
+        static final PersianEquinoxTable INSTANCE = load();
+    }
+
+    /**
+     * Gets the shared table loaded from the classpath.
+     *
+     * @return the table, null if it could not be loaded
+     */
+    static PersianEquinoxTable getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static PersianEquinoxTable load() {
+        InputStream in = PersianEquinoxTable.class.getResourceAsStream(RESOURCE);
+        if (in == null) {
+            return null;
+        }
+        try {
+            return readFrom(in);
+        } catch (IOException ex) {
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ex) {
+            }
+        }
+    }
+
+    /**
+     * Reads a table in the format written by {@link #writeTo}.
+     *
+     * @param in  the input stream
+     * @return the table, null if the version does not match
+     * @throws IOException if an error occurs
+     */
+    static PersianEquinoxTable readFrom(InputStream in) throws IOException {
+        DataInputStream din = new DataInputStream(in);
+        if (din.readInt() != VERSION) {
+            return null;
+        }
+        int firstIsoYear = din.readInt();
+        int size = din.readInt();
+        if (size < 0) {
+            throw new IOException("Corrupt equinox table");
+        }
+        int[] seconds = new int[size];
+        for (int i = 0; i < size; i++) {
+            seconds[i] = din.readInt();
+        }
+        return new PersianEquinoxTable(firstIsoYear, seconds);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Generates the equinox table file.
+     *
+     * @param args  <code>-dst &lt;directory&gt;</code>
+     * @throws Exception if an error occurs
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2 || !"-dst".equals(args[0])) {
+            System.out.println("Usage: java org.joda.time.chrono.PersianEquinoxTable -dst <directory>");
+            return;
+        }
+        File file = new File(args[1], RESOURCE.substring(RESOURCE.indexOf('/') + 1));
+        file.getParentFile().mkdirs();
+        PersianEquinoxTable table = calculate(FIRST_ISO_YEAR, LAST_ISO_YEAR);
+        OutputStream out = new FileOutputStream(file);
+        try {
+            table.writeTo(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Calculates a table using the live astronomical model.
+     *
+     * @param firstIsoYear  the first ISO year, inclusive
+     * @param lastIsoYear  the last ISO year, inclusive
+     * @return the table
+     */
+    static PersianEquinoxTable calculate(int firstIsoYear, int lastIsoYear) {
+        PersianChronologyMeeus.Astronomical astronomical = new PersianChronologyMeeus().new Astronomical();
+        ISOChronology iso = ISOChronology.getInstanceUTC();
+        int[] seconds = new int[lastIsoYear - firstIsoYear + 1];
+        for (int i = 0; i < seconds.length; i++) {
+            int isoYear = firstIsoYear + i;
+            long equinox = astronomical.getSpringVernalEquinoxInstantAtUTC(isoYear).getMillis();
+            long marchStart = iso.getDateTimeMillis(isoYear, 3, 1, 0);
+            seconds[i] = (int) ((equinox - marchStart) / DateTimeConstants.MILLIS_PER_SECOND);
+            if (seconds[i] < 0 || seconds[i] >= 31 * DateTimeConstants.SECONDS_PER_DAY) {
+                throw new IllegalStateException("Equinox outside March in ISO year " + isoYear);
+            }
+        }
+        return new PersianEquinoxTable(firstIsoYear, seconds);
+    }
+
+    //-----------------------------------------------------------------------
+    /** The ISO year of the first entry. */
+    private final int iFirstIsoYear;
+    /** The equinox second of March, indexed by year. */
+    private final int[] iSeconds;
+
+    private PersianEquinoxTable(int firstIsoYear, int[] seconds) {
+        iFirstIsoYear = firstIsoYear;
+        iSeconds = seconds;
+    }
+
+    /**
+     * Gets the equinox instant for the ISO year.
+     *
+     * @param isoYear  the ISO year
+     * @return seconds since the start of 1st March UTC, or -1 if the year is not in the table
+     */
+    int getEquinoxSecondOfMarch(int isoYear) {
+        int index = isoYear - iFirstIsoYear;
+        if (index < 0 || index >= iSeconds.length) {
+            return -1;
+        }
+        return iSeconds[index];
+    }
+
+    /**
+     * Writes the table to a stream.
+     *
+     * @param out  the output stream
+     * @throws IOException if an error occurs
+     */
+    void writeTo(OutputStream out) throws IOException {
+        DataOutputStream dout = new DataOutputStream(out);
+        dout.writeInt(VERSION);
+        dout.writeInt(iFirstIsoYear);
+        dout.writeInt(iSeconds.length);
+        for (int i = 0; i < iSeconds.length; i++) {
+            dout.writeInt(iSeconds[i]);
+        }
+        dout.flush();
+    }
+
+}
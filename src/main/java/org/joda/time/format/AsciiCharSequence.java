@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A CharSequence view of a range of ASCII bytes, used to parse bytes in place.
+ * <p>
+ * Each byte is read as one ISO-8859-1 character using absolute gets, so the
+ * position and limit of the underlying buffer are never changed.
+ * The bytes are only copied if <code>toString()</code> is called.
+ *
+ * @since 2.2
+ */
+final class AsciiCharSequence implements CharSequence {
+
+    /** The underlying buffer. */
+    private final ByteBuffer iBuffer;
+    /** The absolute index of the first byte. */
+    private final int iOffset;
+    /** The number of bytes. */
+    private final int iLength;
+
+    /**
+     * Constructor.
+     *
+     * @param buffer  the buffer to view, not null
+     * @param offset  the absolute index of the first byte
+     * @param length  the number of bytes
+     * @throws IndexOutOfBoundsException if the range is outside the buffer
+     */
+    AsciiCharSequence(ByteBuffer buffer, int offset, int length) {
+        super();
+        if (offset < 0 || length < 0 || offset > buffer.limit() - length) {
+            throw new IndexOutOfBoundsException(
+                "Invalid range: offset " + offset + ", length " + length + ", limit " + buffer.limit());
+        }
+        iBuffer = buffer;
+        iOffset = offset;
+        iLength = length;
+    }
+
+    //-----------------------------------------------------------------------
+    public int length() {
+        return iLength;
+    }
+
+    public char charAt(int index) {
+        if (index < 0 || index >= iLength) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return (char) (iBuffer.get(iOffset + index) & 0xff);
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > iLength || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start + " to " + end);
+        }
+        return new AsciiCharSequence(iBuffer, iOffset + start, end - start);
+    }
+
+    public String toString() {
+        char[] chars = new char[iLength];
+        for (int i = 0; i < iLength; i++) {
+            chars[i] = (char) (iBuffer.get(iOffset + i) & 0xff);
+        }
+        return new String(chars);
+    }
+
+}
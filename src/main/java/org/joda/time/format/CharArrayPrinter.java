@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.util.Locale;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeZone;
+
+/**
+ * Internal interface for printers that can print directly into a char array.
+ * <p>
+ * The printers created by {@link DateTimeFormatterBuilder} implement this,
+ * so an instant can be printed without allocating a buffer or a String.
+ * Other printers are printed to a StringBuffer which is then copied.
+ *
+ * @since 2.2
+ */
+interface CharArrayPrinter extends DateTimePrinter {
+
+    /**
+     * Prints an instant from milliseconds since 1970-01-01T00:00:00Z
+     * into a char array, as {@link DateTimePrinter#printTo} does.
+     *
+     * @param buf  formatted instant is written into this array, not null
+     * @param position  the index to print at
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @param chrono  the chronology to use, not null
+     * @param displayOffset  if a time zone offset is printed, force it to use
+     * this millisecond value
+     * @param displayZone  the time zone to use, null means local time
+     * @param locale  the locale to use, null means default locale
+     * @return the index after the last char printed
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    int printTo(char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale);
+
+}
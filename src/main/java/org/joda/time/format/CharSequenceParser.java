@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+/**
+ * Internal interface for parsers that can parse any CharSequence in place.
+ * <p>
+ * The parsers created by {@link DateTimeFormatterBuilder} implement this,
+ * so text held in a char array or buffer is never copied to a String.
+ * Other parsers are passed the result of <code>toString()</code>.
+ *
+ * @since 2.2
+ */
+interface CharSequenceParser extends DateTimeParser {
+
+    /**
+     * Parse an element from the given text, saving any fields into the given
+     * DateTimeParserBucket, as {@link DateTimeParser#parseInto} does.
+     *
+     * @param bucket  field are saved into this, not null
+     * @param text  the text to parse, not null
+     * @param position  position to start parsing from
+     * @return new position, negative value means parse failed -
+     *  apply complement operator (~) to get position of failure
+     * @throws IllegalArgumentException if any field is out of range
+     */
+    int parseInto(DateTimeParserBucket bucket, CharSequence text, int position);
+
+}
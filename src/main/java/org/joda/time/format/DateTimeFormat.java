@@ -762,7 +762,7 @@ public class DateTimeFormat {
 
     //-----------------------------------------------------------------------
     static class StyleFormatter
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         private static final Map<String, DateTimeFormatter> cCache = new HashMap<String, DateTimeFormatter>();  // manual sync
         
@@ -795,6 +795,13 @@ public class DateTimeFormat {
             p.printTo(out, instant, chrono, displayOffset, displayZone, locale);
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            DateTimePrinter p = getFormatter(locale).getPrinter();
+            return FormatUtils.printTo(p, buf, position, instant, chrono, displayOffset, displayZone, locale);
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             DateTimePrinter p = getFormatter(locale).getPrinter();
             p.printTo(buf, partial, locale);
@@ -810,8 +817,12 @@ public class DateTimeFormat {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             DateTimeParser p = getFormatter(bucket.getLocale()).getParser();
-            return p.parseInto(bucket, text, position);
+            return FormatUtils.parseInto(p, bucket, text, position);
         }
 
         private DateTimeFormatter getFormatter(Locale locale) {
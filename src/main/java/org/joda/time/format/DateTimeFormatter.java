@@ -17,6 +17,9 @@ package org.joda.time.format;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.text.ParsePosition;
 import java.util.Locale;
 
 import org.joda.time.Chronology;
@@ -79,6 +82,11 @@ import org.joda.time.ReadablePartial;
  */
 public class DateTimeFormatter {
 
+    /** The largest per-thread print buffer, bounding the growth of the buffer. */
+    private static final int MAX_PRINT_BUFFER = 1 << 16;
+    /** The per-thread buffer used to print into byte arrays and buffers, null while in use. */
+    private static final ThreadLocal<char[]> cPrintBuffer = new ThreadLocal<char[]>();
+
     /** The internal printer used to output the datetime. */
     private final DateTimePrinter iPrinter;
     /** The internal parser used to output the datetime. */
@@ -519,6 +527,109 @@ public class DateTimeFormatter {
         appendable.append(print(instant));
     }
 
+    /**
+     * Prints an instant from milliseconds since 1970-01-01T00:00:00Z into
+     * a char array, returning the index after the last char printed.
+     * <p>
+     * This method will use the override zone and the override chronology if
+     * they are set. Otherwise it will use the ISO chronology and default zone.
+     * The printers created by {@link DateTimeFormatterBuilder} write directly into
+     * the array, so no buffer or String is created. If the array is too small an
+     * exception is thrown, and the part of the array after the offset may have
+     * been changed.
+     *
+     * @param buf  the array to print into, not null
+     * @param offset  the index to print at
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @return the index after the last char printed
+     * @throws IndexOutOfBoundsException if the array is too small
+     * @since 2.2
+     */
+    public int printTo(char[] buf, int offset, long instant) {
+        if (offset < 0 || offset > buf.length) {
+            throw new IndexOutOfBoundsException("Invalid offset: " + offset);
+        }
+        DateTimePrinter printer = requirePrinter();
+        Chronology chrono = selectChronology(null);
+        // Shift instant into local time (UTC) to avoid excessive offset
+        // calculations when printing multiple fields in a composite printer.
+        DateTimeZone zone = chrono.getZone();
+        int offsetMillis = zone.getOffset(instant);
+        long adjustedInstant = instant + offsetMillis;
+        if ((instant ^ adjustedInstant) < 0 && (instant ^ offsetMillis) >= 0) {
+            // Time zone offset overflow, so revert to UTC.
+            zone = DateTimeZone.UTC;
+            offsetMillis = 0;
+            adjustedInstant = instant;
+        }
+        return FormatUtils.printTo(
+                printer, buf, offset, adjustedInstant, chrono.withUTC(), offsetMillis, zone, iLocale);
+    }
+
+    /**
+     * Prints an instant from milliseconds since 1970-01-01T00:00:00Z into
+     * a char buffer, returning the index after the last char printed.
+     * <p>
+     * The offset is an absolute index into the buffer, and the position and limit
+     * of the buffer are not changed. Nothing is written if the text does not fit
+     * before the limit. The text is printed into a buffer held by the current
+     * thread and then copied, so no objects are created once the thread has
+     * printed text of the same length.
+     *
+     * @param buf  the buffer to print into, not null
+     * @param offset  the absolute index to print at
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @return the index after the last char printed
+     * @throws IndexOutOfBoundsException if the text does not fit before the limit
+     * @since 2.2
+     */
+    public int printTo(CharBuffer buf, int offset, long instant) {
+        return printToThreadBuffer(buf, offset, buf.limit(), instant);
+    }
+
+    /**
+     * Prints an instant from milliseconds since 1970-01-01T00:00:00Z into
+     * a byte array, returning the index after the last byte printed.
+     * <p>
+     * Each char is written as one ISO-8859-1 byte, with any other char written
+     * as '?'. The formats of numbers, literals and offsets are plain ASCII.
+     * Nothing is written if the text does not fit in the array. The text is
+     * printed into a buffer held by the current thread and then copied, so no
+     * objects are created once the thread has printed text of the same length.
+     *
+     * @param buf  the array to print into, not null
+     * @param offset  the index to print at
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @return the index after the last byte printed
+     * @throws IndexOutOfBoundsException if the text does not fit in the array
+     * @since 2.2
+     */
+    public int printTo(byte[] buf, int offset, long instant) {
+        return printToThreadBuffer(buf, offset, buf.length, instant);
+    }
+
+    /**
+     * Prints an instant from milliseconds since 1970-01-01T00:00:00Z into
+     * a byte buffer, returning the index after the last byte printed.
+     * <p>
+     * The offset is an absolute index into the buffer, and the position and limit
+     * of the buffer are not changed, so a memory-mapped buffer can be written directly.
+     * Each char is written as one ISO-8859-1 byte, with any other char written as '?'.
+     * Nothing is written if the text does not fit before the limit.
+     * The text is printed into a buffer held by the current thread and then copied,
+     * so no objects are created once the thread has printed text of the same length.
+     *
+     * @param buf  the buffer to print into, not null
+     * @param offset  the absolute index to print at
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @return the index after the last byte printed
+     * @throws IndexOutOfBoundsException if the text does not fit before the limit
+     * @since 2.2
+     */
+    public int printTo(ByteBuffer buf, int offset, long instant) {
+        return printToThreadBuffer(buf, offset, buf.limit(), instant);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Prints a ReadablePartial.
@@ -661,6 +772,75 @@ public class DateTimeFormatter {
         return printer;
     }
 
+    /**
+     * Prints an instant into the buffer of the current thread and copies it to the destination.
+     * <p>
+     * The buffer is taken from the thread while in use, so a printer that calls back
+     * into these methods prints into a buffer of its own.
+     * 
+     * @param buf  the CharBuffer, byte array or ByteBuffer to copy into
+     * @param offset  the index to copy to
+     * @param limit  the limit of the destination
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @return the index after the last char copied
+     */
+    private int printToThreadBuffer(Object buf, int offset, int limit, long instant) {
+        char[] chars = cPrintBuffer.get();
+        if (chars == null) {
+            chars = new char[Math.max(64, requirePrinter().estimatePrintedLength() * 2)];
+        } else {
+            cPrintBuffer.set(null);
+        }
+        try {
+            int length;
+            while (true) {
+                try {
+                    length = printTo(chars, 0, instant);
+                    break;
+                } catch (IndexOutOfBoundsException ex) {
+                    if (chars.length >= MAX_PRINT_BUFFER) {
+                        throw ex;
+                    }
+                    chars = new char[chars.length * 2];
+                }
+            }
+            checkRange(offset, length, limit);
+            if (buf instanceof CharBuffer) {
+                CharBuffer charBuf = (CharBuffer) buf;
+                for (int i = 0; i < length; i++) {
+                    charBuf.put(offset + i, chars[i]);
+                }
+            } else if (buf instanceof byte[]) {
+                byte[] bytes = (byte[]) buf;
+                for (int i = 0; i < length; i++) {
+                    char c = chars[i];
+                    bytes[offset + i] = (byte) (c <= 0xff ? c : '?');
+                }
+            } else {
+                ByteBuffer byteBuf = (ByteBuffer) buf;
+                for (int i = 0; i < length; i++) {
+                    char c = chars[i];
+                    byteBuf.put(offset + i, (byte) (c <= 0xff ? c : '?'));
+                }
+            }
+            return offset + length;
+        } finally {
+            cPrintBuffer.set(chars);
+        }
+    }
+
+    /**
+     * Checks that printed text fits in the destination.
+     * 
+     * @throws IndexOutOfBoundsException if the text does not fit
+     */
+    private static void checkRange(int offset, int length, int limit) {
+        if (offset < 0 || offset > limit - length) {
+            throw new IndexOutOfBoundsException(
+                "Printed text of length " + length + " does not fit at offset " + offset + ", limit " + limit);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Parses a datetime from the given text, at the given position, saving the
@@ -695,6 +875,26 @@ public class DateTimeFormatter {
      * @throws IllegalArgumentException if any field is out of range
      */
     public int parseInto(ReadWritableInstant instant, String text, int position) {
+        return parseInto(instant, (CharSequence) text, position);
+    }
+
+    /**
+     * Parses a datetime from a CharSequence in place, without converting it to a String,
+     * and puts the result into the fields of the given ReadWritableInstant.
+     * <p>
+     * This behaves exactly as {@link #parseInto(ReadWritableInstant, String, int)}.
+     *
+     * @param instant  an instant that will be modified, not null
+     * @param text  the text to parse, not null
+     * @param position  position to start parsing from
+     * @return new position, negative value means parse failed -
+     *  apply complement operator (~) to get position of failure
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the instant is null
+     * @throws IllegalArgumentException if any field is out of range
+     * @since 2.2
+     */
+    public int parseInto(ReadWritableInstant instant, CharSequence text, int position) {
         DateTimeParser parser = requireParser();
         if (instant == null) {
             throw new IllegalArgumentException("Instant must not be null");
@@ -707,7 +907,7 @@ public class DateTimeFormatter {
         
         DateTimeParserBucket bucket = new DateTimeParserBucket(
             instantLocal, chrono, iLocale, iPivotYear, chrono.year().get(instantLocal));
-        int newPos = parser.parseInto(bucket, text, position);
+        int newPos = FormatUtils.parseInto(parser, bucket, text, position);
         instant.setMillis(bucket.computeMillis(false, text));
         if (iOffsetParsed && bucket.getOffsetInteger() != null) {
             int parsedOffset = bucket.getOffsetInteger();
@@ -736,11 +936,64 @@ public class DateTimeFormatter {
      * @throws IllegalArgumentException if the text to parse is invalid
      */
     public long parseMillis(String text) {
+        return parseMillis((CharSequence) text);
+    }
+
+    /**
+     * Parses a datetime from a CharSequence in place, without converting it to a String,
+     * returning the number of milliseconds since the epoch, 1970-01-01T00:00:00Z.
+     * <p>
+     * This behaves exactly as {@link #parseMillis(String)}.
+     *
+     * @param text  the text to parse, not null
+     * @return parsed value expressed in milliseconds since the epoch
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public long parseMillis(CharSequence text) {
         DateTimeParser parser = requireParser();
         
         Chronology chrono = selectChronology(iChrono);
         DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
-        int newPos = parser.parseInto(bucket, text, 0);
+        return parseMillis(parser, bucket, text);
+    }
+
+    /**
+     * Parses a datetime from a CharSequence using a bucket owned by the caller,
+     * returning the number of milliseconds since the epoch, 1970-01-01T00:00:00Z.
+     * <p>
+     * This behaves exactly as {@link #parseMillis(CharSequence)}, except that the
+     * bucket is reset with the settings of this formatter and used for the parse.
+     * Passing the same bucket to each call avoids creating a bucket per parse.
+     * The bucket can be constructed with any settings and used with any formatter,
+     * but not by two threads at once. The formatter keeps no reference to it.
+     *
+     * @param text  the text to parse, not null
+     * @param bucket  the bucket to reset and parse into, not null
+     * @return parsed value expressed in milliseconds since the epoch
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public long parseMillis(CharSequence text, DateTimeParserBucket bucket) {
+        DateTimeParser parser = requireParser();
+        
+        Chronology chrono = selectChronology(iChrono);
+        bucket.reset(0, chrono, iLocale, iPivotYear, iDefaultYear);
+        return parseMillis(parser, bucket, text);
+    }
+
+    /**
+     * Parses a datetime from a CharSequence into a bucket that has been set up.
+     * 
+     * @param parser  the parser to use
+     * @param bucket  the bucket to parse into
+     * @param text  the text to parse
+     * @return parsed value expressed in milliseconds since the epoch
+     */
+    private static long parseMillis(DateTimeParser parser, DateTimeParserBucket bucket, CharSequence text) {
+        int newPos = FormatUtils.parseInto(parser, bucket, text, 0);
         if (newPos >= 0) {
             if (newPos >= text.length()) {
                 return bucket.computeMillis(true, text);
@@ -751,6 +1004,69 @@ public class DateTimeFormatter {
         throw new IllegalArgumentException(FormatUtils.createErrorMessage(text, newPos));
     }
 
+    /**
+     * Parses a datetime from a range of a char array in place, returning the
+     * number of milliseconds since the epoch, 1970-01-01T00:00:00Z.
+     * <p>
+     * The whole range must be parsed, as {@link #parseMillis(String)} requires
+     * of the whole string. The array is not copied.
+     *
+     * @param text  the array holding the text to parse, not null
+     * @param offset  the index of the first char to parse
+     * @param length  the number of chars to parse
+     * @return parsed value expressed in milliseconds since the epoch
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public long parseMillis(char[] text, int offset, int length) {
+        return parseMillis(CharBuffer.wrap(text, offset, length).slice());
+    }
+
+    /**
+     * Parses a datetime from a range of ASCII bytes in place, returning the
+     * number of milliseconds since the epoch, 1970-01-01T00:00:00Z.
+     * <p>
+     * Each byte is read as one ISO-8859-1 character, and the whole range must be
+     * parsed, as {@link #parseMillis(String)} requires of the whole string.
+     * The bytes are only copied to build the message if the parse fails.
+     *
+     * @param text  the array holding the text to parse, not null
+     * @param offset  the index of the first byte to parse
+     * @param length  the number of bytes to parse
+     * @return parsed value expressed in milliseconds since the epoch
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public long parseMillis(byte[] text, int offset, int length) {
+        return parseMillis(new AsciiCharSequence(ByteBuffer.wrap(text), offset, length));
+    }
+
+    /**
+     * Parses a datetime from a range of ASCII bytes in a buffer in place, returning
+     * the number of milliseconds since the epoch, 1970-01-01T00:00:00Z.
+     * <p>
+     * The offset is an absolute index into the buffer, and the position and limit
+     * of the buffer are not changed, so a memory-mapped buffer can be parsed directly.
+     * Each byte is read as one ISO-8859-1 character, and the whole range must be
+     * parsed, as {@link #parseMillis(String)} requires of the whole string.
+     *
+     * @param buffer  the buffer holding the text to parse, not null
+     * @param offset  the absolute index of the first byte to parse
+     * @param length  the number of bytes to parse
+     * @return parsed value expressed in milliseconds since the epoch
+     * @throws IndexOutOfBoundsException if the range is outside the buffer limit
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public long parseMillis(ByteBuffer buffer, int offset, int length) {
+        return parseMillis(new AsciiCharSequence(buffer, offset, length));
+    }
+
     /**
      * Parses only the local date from the given text, returning a new LocalDate.
      * <p>
@@ -769,6 +1085,22 @@ public class DateTimeFormatter {
         return parseLocalDateTime(text).toLocalDate();
     }
 
+    /**
+     * Parses only the local date from a CharSequence in place, without converting
+     * it to a String, returning a new LocalDate.
+     * <p>
+     * This behaves exactly as {@link #parseLocalDate(String)}.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date, never null
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public LocalDate parseLocalDate(CharSequence text) {
+        return parseLocalDateTime(text).toLocalDate();
+    }
+
     /**
      * Parses only the local time from the given text, returning a new LocalDate.
      * <p>
@@ -787,6 +1119,22 @@ public class DateTimeFormatter {
         return parseLocalDateTime(text).toLocalTime();
     }
 
+    /**
+     * Parses only the local time from a CharSequence in place, without converting
+     * it to a String, returning a new LocalTime.
+     * <p>
+     * This behaves exactly as {@link #parseLocalTime(String)}.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed time, never null
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public LocalTime parseLocalTime(CharSequence text) {
+        return parseLocalDateTime(text).toLocalTime();
+    }
+
     /**
      * Parses only the local date-time from the given text, returning a new LocalDate.
      * <p>
@@ -802,11 +1150,27 @@ public class DateTimeFormatter {
      * @since 2.0
      */
     public LocalDateTime parseLocalDateTime(String text) {
+        return parseLocalDateTime((CharSequence) text);
+    }
+
+    /**
+     * Parses only the local date-time from a CharSequence in place, without converting
+     * it to a String, returning a new LocalDateTime.
+     * <p>
+     * This behaves exactly as {@link #parseLocalDateTime(String)}.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date-time, never null
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
         DateTimeParser parser = requireParser();
         
         Chronology chrono = selectChronology(null).withUTC();  // always use UTC, avoiding DST gaps
         DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
-        int newPos = parser.parseInto(bucket, text, 0);
+        int newPos = FormatUtils.parseInto(parser, bucket, text, 0);
         if (newPos >= 0) {
             if (newPos >= text.length()) {
                 long millis = bucket.computeMillis(true, text);
@@ -843,11 +1207,27 @@ public class DateTimeFormatter {
      * @throws IllegalArgumentException if the text to parse is invalid
      */
     public DateTime parseDateTime(String text) {
+        return parseDateTime((CharSequence) text);
+    }
+
+    /**
+     * Parses a date-time from a CharSequence in place, without converting it to a String,
+     * returning a new DateTime.
+     * <p>
+     * This behaves exactly as {@link #parseDateTime(String)}.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date-time, never null
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public DateTime parseDateTime(CharSequence text) {
         DateTimeParser parser = requireParser();
         
         Chronology chrono = selectChronology(null);
         DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
-        int newPos = parser.parseInto(bucket, text, 0);
+        int newPos = FormatUtils.parseInto(parser, bucket, text, 0);
         if (newPos >= 0) {
             if (newPos >= text.length()) {
                 long millis = bucket.computeMillis(true, text);
@@ -888,11 +1268,27 @@ public class DateTimeFormatter {
      * @throws IllegalArgumentException if the text to parse is invalid
      */
     public MutableDateTime parseMutableDateTime(String text) {
+        return parseMutableDateTime((CharSequence) text);
+    }
+
+    /**
+     * Parses a date-time from a CharSequence in place, without converting it to a String,
+     * returning a new MutableDateTime.
+     * <p>
+     * This behaves exactly as {@link #parseMutableDateTime(String)}.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date-time, never null
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.2
+     */
+    public MutableDateTime parseMutableDateTime(CharSequence text) {
         DateTimeParser parser = requireParser();
         
         Chronology chrono = selectChronology(null);
         DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
-        int newPos = parser.parseInto(bucket, text, 0);
+        int newPos = FormatUtils.parseInto(parser, bucket, text, 0);
         if (newPos >= 0) {
             if (newPos >= text.length()) {
                 long millis = bucket.computeMillis(true, text);
@@ -915,6 +1311,192 @@ public class DateTimeFormatter {
         throw new IllegalArgumentException(FormatUtils.createErrorMessage(text, newPos));
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Parses a datetime from a CharSequence starting at the index of the position,
+     * returning the number of milliseconds since the epoch, 1970-01-01T00:00:00Z,
+     * without throwing an exception if the text is invalid.
+     * <p>
+     * This is intended for parsing untrusted text where failures are common.
+     * As with {@link java.text.DateFormat#parse(String, ParsePosition)}, the text
+     * after the parsed datetime is not examined. If the parse succeeds, the index
+     * of the position is set to just after the parsed text and the millis are
+     * returned. Otherwise the index is unchanged, the error index is set and
+     * zero is returned. The error index is that of the text that did not match,
+     * or the start index if a field value is out of range or the local time is
+     * in a time zone offset transition.
+     * <p>
+     * No exception or message is created when the text does not match, or when a
+     * field value is outside the range of its field. The position may be reused
+     * for each parse by resetting its index and error index.
+     *
+     * @param text  the text to parse, not null
+     * @param position  the position to start parsing from, updated with the result, not null
+     * @return parsed value expressed in milliseconds since the epoch, zero if the parse failed
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @since 2.2
+     */
+    public long tryParseMillis(CharSequence text, ParsePosition position) {
+        DateTimeParser parser = requireParser();
+        
+        Chronology chrono = selectChronology(iChrono);
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
+        return tryParseMillis(parser, bucket, text, position);
+    }
+
+    /**
+     * Parses a datetime from a CharSequence using a bucket owned by the caller,
+     * returning the number of milliseconds since the epoch, 1970-01-01T00:00:00Z,
+     * without throwing an exception if the text is invalid.
+     * <p>
+     * This behaves exactly as {@link #tryParseMillis(CharSequence, ParsePosition)},
+     * except that the bucket is reset with the settings of this formatter and used
+     * for the parse. Passing the same position and bucket to each call avoids
+     * creating either per parse. The bucket can be constructed with any settings
+     * and used with any formatter, but not by two threads at once.
+     *
+     * @param text  the text to parse, not null
+     * @param position  the position to start parsing from, updated with the result, not null
+     * @param bucket  the bucket to reset and parse into, not null
+     * @return parsed value expressed in milliseconds since the epoch, zero if the parse failed
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @since 2.2
+     */
+    public long tryParseMillis(CharSequence text, ParsePosition position, DateTimeParserBucket bucket) {
+        DateTimeParser parser = requireParser();
+        
+        Chronology chrono = selectChronology(iChrono);
+        bucket.reset(0, chrono, iLocale, iPivotYear, iDefaultYear);
+        return tryParseMillis(parser, bucket, text, position);
+    }
+
+    /**
+     * Parses a datetime from a CharSequence into a bucket that has been set up,
+     * without throwing an exception if the text is invalid.
+     * 
+     * @param parser  the parser to use
+     * @param bucket  the bucket to parse into
+     * @param text  the text to parse
+     * @param position  the position to start parsing from, updated with the result
+     * @return parsed value expressed in milliseconds since the epoch, zero if the parse failed
+     */
+    private static long tryParseMillis(
+            DateTimeParser parser, DateTimeParserBucket bucket, CharSequence text, ParsePosition position) {
+        int start = position.getIndex();
+        int newPos = FormatUtils.parseInto(parser, bucket, text, start);
+        if (newPos < 0) {
+            position.setErrorIndex(~newPos);
+        } else if (bucket.tryComputeMillis(true) == false) {
+            position.setErrorIndex(start);
+        } else {
+            position.setIndex(newPos);
+            return bucket.getComputedMillis();
+        }
+        return 0;
+    }
+
+    /**
+     * Parses a date-time from a CharSequence, returning a new DateTime,
+     * or null without throwing an exception if the text is invalid.
+     * <p>
+     * This behaves as {@link #parseDateTime(String)}, except that failure is
+     * reported by returning null. No exception or message is created when the
+     * text does not match, or when a field value is outside the range of its field.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date-time, null if the text is invalid
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @since 2.2
+     */
+    public DateTime tryParseDateTime(CharSequence text) {
+        DateTimeParser parser = requireParser();
+        
+        Chronology chrono = selectChronology(null);
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
+        int newPos = FormatUtils.parseInto(parser, bucket, text, 0);
+        if (newPos < text.length() || bucket.tryComputeMillis(true) == false) {
+            return null;
+        }
+        if (iOffsetParsed && bucket.getOffsetInteger() != null) {
+            int parsedOffset = bucket.getOffsetInteger();
+            DateTimeZone parsedZone = DateTimeZone.forOffsetMillis(parsedOffset);
+            chrono = chrono.withZone(parsedZone);
+        } else if (bucket.getZone() != null) {
+            chrono = chrono.withZone(bucket.getZone());
+        }
+        DateTime dt = new DateTime(bucket.getComputedMillis(), chrono);
+        if (iZone != null) {
+            dt = dt.withZone(iZone);
+        }
+        return dt;
+    }
+
+    /**
+     * Parses only the local date-time from a CharSequence, returning a new
+     * LocalDateTime, or null without throwing an exception if the text is invalid.
+     * <p>
+     * This behaves as {@link #parseLocalDateTime(String)}, except that failure is
+     * reported by returning null. No exception or message is created when the
+     * text does not match, or when a field value is outside the range of its field.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date-time, null if the text is invalid
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @since 2.2
+     */
+    public LocalDateTime tryParseLocalDateTime(CharSequence text) {
+        DateTimeParser parser = requireParser();
+        
+        Chronology chrono = selectChronology(null).withUTC();  // always use UTC, avoiding DST gaps
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
+        int newPos = FormatUtils.parseInto(parser, bucket, text, 0);
+        if (newPos < text.length() || bucket.tryComputeMillis(true) == false) {
+            return null;
+        }
+        if (bucket.getOffsetInteger() != null) {  // treat withOffsetParsed() as being true
+            int parsedOffset = bucket.getOffsetInteger();
+            DateTimeZone parsedZone = DateTimeZone.forOffsetMillis(parsedOffset);
+            chrono = chrono.withZone(parsedZone);
+        } else if (bucket.getZone() != null) {
+            chrono = chrono.withZone(bucket.getZone());
+        }
+        return new LocalDateTime(bucket.getComputedMillis(), chrono);
+    }
+
+    /**
+     * Parses only the local date from a CharSequence, returning a new LocalDate,
+     * or null without throwing an exception if the text is invalid.
+     * <p>
+     * This behaves as {@link #parseLocalDate(String)}, except that failure is
+     * reported by returning null.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date, null if the text is invalid
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @since 2.2
+     */
+    public LocalDate tryParseLocalDate(CharSequence text) {
+        LocalDateTime parsed = tryParseLocalDateTime(text);
+        return (parsed == null ? null : parsed.toLocalDate());
+    }
+
+    /**
+     * Parses only the local time from a CharSequence, returning a new LocalTime,
+     * or null without throwing an exception if the text is invalid.
+     * <p>
+     * This behaves as {@link #parseLocalTime(String)}, except that failure is
+     * reported by returning null.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed time, null if the text is invalid
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @since 2.2
+     */
+    public LocalTime tryParseLocalTime(CharSequence text) {
+        LocalDateTime parsed = tryParseLocalDateTime(text);
+        return (parsed == null ? null : parsed.toLocalTime());
+    }
+
     /**
      * Checks whether parsing is supported.
      * 
@@ -1160,9 +1160,16 @@ public class DateTimeFormatterBuilder {
         }
     }
 
+    static int writeUnknownString(char[] buf, int position, int len) {
+        for (int i = len; --i >= 0;) {
+            buf[position++] = '\ufffd';
+        }
+        return position;
+    }
+
     //-----------------------------------------------------------------------
     static class CharacterLiteral
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         private final char iValue;
 
@@ -1187,6 +1194,13 @@ public class DateTimeFormatterBuilder {
             out.write(iValue);
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            buf[position] = iValue;
+            return position + 1;
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             buf.append(iValue);
         }
@@ -1200,6 +1214,10 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             if (position >= text.length()) {
                 return ~position;
             }
@@ -1225,7 +1243,7 @@ public class DateTimeFormatterBuilder {
 
     //-----------------------------------------------------------------------
     static class StringLiteral
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         private final String iValue;
 
@@ -1250,6 +1268,12 @@ public class DateTimeFormatterBuilder {
             out.write(iValue);
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            return FormatUtils.writeString(buf, position, iValue);
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             buf.append(iValue);
         }
@@ -1263,7 +1287,11 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
-            if (text.regionMatches(true, position, iValue, 0, iValue.length())) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
+            if (FormatUtils.regionMatches(text, position, iValue, true)) {
                 return position + iValue.length();
             }
             return ~position;
@@ -1272,7 +1300,7 @@ public class DateTimeFormatterBuilder {
 
     //-----------------------------------------------------------------------
     static abstract class NumberFormatter
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
         protected final DateTimeFieldType iFieldType;
         protected final int iMaxParsedDigits;
         protected final boolean iSigned;
@@ -1290,6 +1318,10 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             int limit = Math.min(iMaxParsedDigits, text.length() - position);
 
             boolean negative = false;
@@ -1328,9 +1360,14 @@ public class DateTimeFormatterBuilder {
 
             int value;
             if (length >= 9) {
-                // Since value may exceed integer limits, use stock parser
-                // which checks for this.
-                value = Integer.parseInt(text.substring(position, position += length));
+                // Since value may exceed integer limits, check for this
+                // and fail rather than throw.
+                long parsed = FormatUtils.parseLargeInt(text, position, length);
+                if (parsed == Long.MAX_VALUE) {
+                    return ~position;
+                }
+                value = (int) parsed;
+                position += length;
             } else {
                 int i = position;
                 if (negative) {
@@ -1338,7 +1375,7 @@ public class DateTimeFormatterBuilder {
                 }
                 try {
                     value = text.charAt(i++) - '0';
-                } catch (StringIndexOutOfBoundsException e) {
+                } catch (IndexOutOfBoundsException e) {
                     return ~position;
                 }
                 position += length;
@@ -1390,6 +1427,20 @@ public class DateTimeFormatterBuilder {
             }
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            int value;
+            try {
+                DateTimeField field = iFieldType.getField(chrono);
+                value = field.get(instant);
+            } catch (RuntimeException e) {
+                buf[position] = '\ufffd';
+                return position + 1;
+            }
+            return FormatUtils.writeUnpaddedInteger(buf, position, value);
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             if (partial.isSupported(iFieldType)) {
                 try {
@@ -1453,6 +1504,19 @@ public class DateTimeFormatterBuilder {
             }
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            int value;
+            try {
+                DateTimeField field = iFieldType.getField(chrono);
+                value = field.get(instant);
+            } catch (RuntimeException e) {
+                return writeUnknownString(buf, position, iMinPrintedDigits);
+            }
+            return FormatUtils.writePaddedInteger(buf, position, value, iMinPrintedDigits);
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             if (partial.isSupported(iFieldType)) {
                 try {
@@ -1485,7 +1549,7 @@ public class DateTimeFormatterBuilder {
             super(fieldType, numDigits, signed, numDigits);
         }
 
-        public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             int newPos = super.parseInto(bucket, text, position);
             if (newPos < 0) {
                 return newPos;
@@ -1512,7 +1576,7 @@ public class DateTimeFormatterBuilder {
 
     //-----------------------------------------------------------------------
     static class TwoDigitYear
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         /** The field to print/parse. */
         private final DateTimeFieldType iType;
@@ -1532,6 +1596,10 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             int limit = text.length() - position;
 
             if (!iLenientParse) {
@@ -1570,9 +1638,14 @@ public class DateTimeFormatterBuilder {
                 if (hasSignChar || length != 2) {
                     int value;
                     if (length >= 9) {
-                        // Since value may exceed integer limits, use stock
-                        // parser which checks for this.
-                        value = Integer.parseInt(text.substring(position, position += length));
+                        // Since value may exceed integer limits, check for
+                        // this and fail rather than throw.
+                        long parsed = FormatUtils.parseLargeInt(text, position, length);
+                        if (parsed == Long.MAX_VALUE) {
+                            return ~position;
+                        }
+                        value = (int) parsed;
+                        position += length;
                     } else {
                         int i = position;
                         if (negative) {
@@ -1580,7 +1653,7 @@ public class DateTimeFormatterBuilder {
                         }
                         try {
                             value = text.charAt(i++) - '0';
-                        } catch (StringIndexOutOfBoundsException e) {
+                        } catch (IndexOutOfBoundsException e) {
                             return ~position;
                         }
                         position += length;
@@ -1658,6 +1731,16 @@ public class DateTimeFormatterBuilder {
             }
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            int year = getTwoDigitYear(instant, chrono);
+            if (year < 0) {
+                return writeUnknownString(buf, position, 2);
+            }
+            return FormatUtils.writePaddedInteger(buf, position, year, 2);
+        }
+
         private int getTwoDigitYear(long instant, Chronology chrono) {
             try {
                 int year = iType.getField(chrono).get(instant);
@@ -1706,7 +1789,7 @@ public class DateTimeFormatterBuilder {
 
     //-----------------------------------------------------------------------
     static class TextField
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         private static Map<Locale, Map<DateTimeFieldType, Object[]>> cParseCache =
                     new HashMap<Locale, Map<DateTimeFieldType, Object[]>>();
@@ -1743,6 +1826,18 @@ public class DateTimeFormatterBuilder {
             }
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            String text;
+            try {
+                text = print(instant, chrono, locale);
+            } catch (RuntimeException e) {
+                text = "\ufffd";
+            }
+            return FormatUtils.writeString(buf, position, text);
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             try {
                 buf.append(print(partial, locale));
@@ -1785,8 +1880,12 @@ public class DateTimeFormatterBuilder {
             return estimatePrintedLength();
         }
 
-        @SuppressWarnings("unchecked")
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        @SuppressWarnings("unchecked")
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             Locale locale = bucket.getLocale();
             // handle languages which might have non ASCII A-Z or punctuation
             // bug 1788282
@@ -1833,22 +1932,26 @@ public class DateTimeFormatterBuilder {
                     maxLength = ((Integer) array[1]).intValue();
                 }
             }
-            // match the longest string first using our knowledge of the max length
-            int limit = Math.min(text.length(), position + maxLength);
-            for (int i = limit; i > position; i--) {
-                String match = text.substring(position, i);
-                if (validValues.contains(match)) {
-                    bucket.saveField(iFieldType, match, locale);
-                    return i;
+            // match the longest string, comparing in place
+            String best = null;
+            for (String value : validValues) {
+                int length = value.length();
+                if (length <= maxLength && (best == null || length > best.length()) &&
+                        FormatUtils.regionMatches(text, position, value, false)) {
+                    best = value;
                 }
             }
+            if (best != null) {
+                bucket.saveField(iFieldType, best, locale);
+                return position + best.length();
+            }
             return ~position;
         }
     }
 
     //-----------------------------------------------------------------------
     static class Fraction
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         private final DateTimeFieldType iFieldType;
         protected int iMinDigits;
@@ -1885,6 +1988,48 @@ public class DateTimeFormatterBuilder {
             printTo(null, out, instant, chrono);
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            DateTimeField field = iFieldType.getField(chrono);
+            int minDigits = iMinDigits;
+
+            long fraction;
+            try {
+                fraction = field.remainder(instant);
+            } catch (RuntimeException e) {
+                return writeUnknownString(buf, position, minDigits);
+            }
+
+            if (fraction == 0) {
+                while (--minDigits >= 0) {
+                    buf[position++] = '0';
+                }
+                return position;
+            }
+
+            // Same digits as the other printTo methods, without creating a String.
+            long rangeMillis = field.getDurationField().getUnitMillis();
+            int maxDigits = getMaxDigits(rangeMillis);
+            long scaled = fraction * getScalar(maxDigits) / rangeMillis;
+
+            int length = FormatUtils.calculateDigitCount(scaled);
+            int digits = maxDigits;
+            while (length < digits) {
+                buf[position++] = '0';
+                minDigits--;
+                digits--;
+            }
+
+            // Chop off as many trailing zero digits as necessary.
+            while (minDigits < digits && length > 1 && scaled % 10 == 0) {
+                scaled /= 10;
+                digits--;
+                length--;
+            }
+            return FormatUtils.writeDigits(buf, position, scaled, length);
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             // removed check whether field is supported, as input field is typically
             // secondOfDay which is unsupported by TimeOfDay
@@ -1989,38 +2134,44 @@ public class DateTimeFormatterBuilder {
         
         private long[] getFractionData(long fraction, DateTimeField field) {
             long rangeMillis = field.getDurationField().getUnitMillis();
-            long scalar;
+            int maxDigits = getMaxDigits(rangeMillis);
+            return new long[] {fraction * getScalar(maxDigits) / rangeMillis, maxDigits};
+        }
+
+        private int getMaxDigits(long rangeMillis) {
             int maxDigits = iMaxDigits;
             while (true) {
-                switch (maxDigits) {
-                default: scalar = 1L; break;
-                case 1:  scalar = 10L; break;
-                case 2:  scalar = 100L; break;
-                case 3:  scalar = 1000L; break;
-                case 4:  scalar = 10000L; break;
-                case 5:  scalar = 100000L; break;
-                case 6:  scalar = 1000000L; break;
-                case 7:  scalar = 10000000L; break;
-                case 8:  scalar = 100000000L; break;
-                case 9:  scalar = 1000000000L; break;
-                case 10: scalar = 10000000000L; break;
-                case 11: scalar = 100000000000L; break;
-                case 12: scalar = 1000000000000L; break;
-                case 13: scalar = 10000000000000L; break;
-                case 14: scalar = 100000000000000L; break;
-                case 15: scalar = 1000000000000000L; break;
-                case 16: scalar = 10000000000000000L; break;
-                case 17: scalar = 100000000000000000L; break;
-                case 18: scalar = 1000000000000000000L; break;
-                }
+                long scalar = getScalar(maxDigits);
                 if (((rangeMillis * scalar) / scalar) == rangeMillis) {
-                    break;
+                    return maxDigits;
                 }
                 // Overflowed: scale down.
                 maxDigits--;
             }
-            
-            return new long[] {fraction * scalar / rangeMillis, maxDigits};
+        }
+
+        private static long getScalar(int digits) {
+            switch (digits) {
+            default: return 1L;
+            case 1:  return 10L;
+            case 2:  return 100L;
+            case 3:  return 1000L;
+            case 4:  return 10000L;
+            case 5:  return 100000L;
+            case 6:  return 1000000L;
+            case 7:  return 10000000L;
+            case 8:  return 100000000L;
+            case 9:  return 1000000000L;
+            case 10: return 10000000000L;
+            case 11: return 100000000000L;
+            case 12: return 1000000000000L;
+            case 13: return 10000000000000L;
+            case 14: return 100000000000000L;
+            case 15: return 1000000000000000L;
+            case 16: return 10000000000000000L;
+            case 17: return 100000000000000000L;
+            case 18: return 1000000000000000000L;
+            }
         }
 
         public int estimateParsedLength() {
@@ -2028,6 +2179,10 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             DateTimeField field = iFieldType.getField(bucket.getChronology());
             
             int limit = Math.min(iMaxDigits, text.length() - position);
@@ -2069,7 +2224,7 @@ public class DateTimeFormatterBuilder {
 
     //-----------------------------------------------------------------------
     static class TimeZoneOffset
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         private final String iZeroOffsetPrintText;
         private final String iZeroOffsetParseText;
@@ -2189,7 +2344,7 @@ public class DateTimeFormatterBuilder {
                 return;
             }
             displayOffset -= hours * (int)DateTimeConstants.MILLIS_PER_HOUR;
-            if (displayOffset == 0 && iMinFields == 1) {
+            if (displayOffset == 0 && iMinFields <= 1) {
                 return;
             }
 
@@ -2202,7 +2357,7 @@ public class DateTimeFormatterBuilder {
                 return;
             }
             displayOffset -= minutes * DateTimeConstants.MILLIS_PER_MINUTE;
-            if (displayOffset == 0 && iMinFields == 2) {
+            if (displayOffset == 0 && iMinFields <= 2) {
                 return;
             }
 
@@ -2215,7 +2370,7 @@ public class DateTimeFormatterBuilder {
                 return;
             }
             displayOffset -= seconds * DateTimeConstants.MILLIS_PER_SECOND;
-            if (displayOffset == 0 && iMinFields == 3) {
+            if (displayOffset == 0 && iMinFields <= 3) {
                 return;
             }
 
@@ -2225,6 +2380,64 @@ public class DateTimeFormatterBuilder {
             FormatUtils.writePaddedInteger(out, displayOffset, 3);
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            if (displayZone == null) {
+                return position;  // no zone
+            }
+            if (displayOffset == 0 && iZeroOffsetPrintText != null) {
+                return FormatUtils.writeString(buf, position, iZeroOffsetPrintText);
+            }
+            if (displayOffset >= 0) {
+                buf[position++] = '+';
+            } else {
+                buf[position++] = '-';
+                displayOffset = -displayOffset;
+            }
+
+            int hours = displayOffset / DateTimeConstants.MILLIS_PER_HOUR;
+            position = FormatUtils.writePaddedInteger(buf, position, hours, 2);
+            if (iMaxFields == 1) {
+                return position;
+            }
+            displayOffset -= hours * (int)DateTimeConstants.MILLIS_PER_HOUR;
+            if (displayOffset == 0 && iMinFields <= 1) {
+                return position;
+            }
+
+            int minutes = displayOffset / DateTimeConstants.MILLIS_PER_MINUTE;
+            if (iShowSeparators) {
+                buf[position++] = ':';
+            }
+            position = FormatUtils.writePaddedInteger(buf, position, minutes, 2);
+            if (iMaxFields == 2) {
+                return position;
+            }
+            displayOffset -= minutes * DateTimeConstants.MILLIS_PER_MINUTE;
+            if (displayOffset == 0 && iMinFields <= 2) {
+                return position;
+            }
+
+            int seconds = displayOffset / DateTimeConstants.MILLIS_PER_SECOND;
+            if (iShowSeparators) {
+                buf[position++] = ':';
+            }
+            position = FormatUtils.writePaddedInteger(buf, position, seconds, 2);
+            if (iMaxFields == 3) {
+                return position;
+            }
+            displayOffset -= seconds * DateTimeConstants.MILLIS_PER_SECOND;
+            if (displayOffset == 0 && iMinFields <= 3) {
+                return position;
+            }
+
+            if (iShowSeparators) {
+                buf[position++] = '.';
+            }
+            return FormatUtils.writePaddedInteger(buf, position, displayOffset, 3);
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             // no zone info
         }
@@ -2238,6 +2451,10 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             int limit = text.length() - position;
 
             zeroOffset:
@@ -2253,7 +2470,7 @@ public class DateTimeFormatterBuilder {
                     bucket.setOffset(Integer.valueOf(0));
                     return position;
                 }
-                if (text.regionMatches(true, position, iZeroOffsetParseText, 0, iZeroOffsetParseText.length())) {
+                if (FormatUtils.regionMatches(text, position, iZeroOffsetParseText, true)) {
                     bucket.setOffset(Integer.valueOf(0));
                     return position + iZeroOffsetParseText.length();
                 }
@@ -2412,7 +2629,7 @@ public class DateTimeFormatterBuilder {
          * Returns actual amount of digits to parse, but no more than original
          * 'amount' parameter.
          */
-        private int digitCount(String text, int position, int amount) {
+        private int digitCount(CharSequence text, int position, int amount) {
             int limit = Math.min(text.length() - position, amount);
             amount = 0;
             for (; limit > 0; limit--) {
@@ -2428,7 +2645,7 @@ public class DateTimeFormatterBuilder {
 
     //-----------------------------------------------------------------------
     static class TimeZoneName
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         static final int LONG_NAME = 0;
         static final int SHORT_NAME = 1;
@@ -2458,6 +2675,12 @@ public class DateTimeFormatterBuilder {
             out.write(print(instant - displayOffset, displayZone, locale));
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            return FormatUtils.writeString(buf, position, print(instant - displayOffset, displayZone, locale));
+        }
+
         private String print(long instant, DateTimeZone displayZone, Locale locale) {
             if (displayZone == null) {
                 return "";  // no zone
@@ -2484,11 +2707,14 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             Map<String, DateTimeZone> parseLookup = iParseLookup;
             parseLookup = (parseLookup != null ? parseLookup : DateTimeUtils.getDefaultTimeZoneNames());
-            String str = text.substring(position);
             for (String name : parseLookup.keySet()) {
-                if (str.startsWith(name)) {
+                if (FormatUtils.regionMatches(text, position, name, false)) {
                     bucket.setZone(parseLookup.get(name));
                     return position + name.length();
                 }
@@ -2499,21 +2725,23 @@ public class DateTimeFormatterBuilder {
 
     //-----------------------------------------------------------------------
     static enum TimeZoneId
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         INSTANCE;
-        static final Set<String> ALL_IDS = DateTimeZone.getAvailableIDs();
-        static final int MAX_LENGTH;
-        static {
-            int max = 0;
-            for (String id : ALL_IDS) {
-                max = Math.max(max, id.length());
+        /** The ids of the zone provider when last used, replaced if the provider changes. */
+        private static volatile ZoneIds cZoneIds;
+
+        static ZoneIds zoneIds() {
+            Set<String> ids = DateTimeZone.getAvailableIDs();
+            ZoneIds zoneIds = cZoneIds;
+            if (zoneIds == null || zoneIds.iIds != ids) {
+                cZoneIds = zoneIds = new ZoneIds(ids);
             }
-            MAX_LENGTH = max;
+            return zoneIds;
         }
 
         public int estimatePrintedLength() {
-            return MAX_LENGTH;
+            return zoneIds().iMaxLength;
         }
 
         public void printTo(
@@ -2528,6 +2756,12 @@ public class DateTimeFormatterBuilder {
             out.write(displayZone != null ? displayZone.getID() : "");
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            return FormatUtils.writeString(buf, position, displayZone != null ? displayZone.getID() : "");
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             // no zone info
         }
@@ -2537,14 +2771,17 @@ public class DateTimeFormatterBuilder {
         }
 
         public int estimateParsedLength() {
-            return MAX_LENGTH;
+            return zoneIds().iMaxLength;
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
-            String str = text.substring(position);
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             String best = null;
-            for (String id : ALL_IDS) {
-                if (str.startsWith(id)) {
+            for (String id : zoneIds().iIds) {
+                if (FormatUtils.regionMatches(text, position, id, false)) {
                     if (best == null || id.length() > best.length()) {
                         best = id;
                     }
@@ -2558,9 +2795,26 @@ public class DateTimeFormatterBuilder {
         }
     }
 
+    /**
+     * The available zone ids with the length of the longest.
+     */
+    static final class ZoneIds {
+        final Set<String> iIds;
+        final int iMaxLength;
+
+        ZoneIds(Set<String> ids) {
+            int max = 0;
+            for (String id : ids) {
+                max = Math.max(max, id.length());
+            }
+            iIds = ids;
+            iMaxLength = max;
+        }
+    }
+
     //-----------------------------------------------------------------------
     static class Composite
-            implements DateTimePrinter, DateTimeParser {
+            implements CharArrayPrinter, CharSequenceParser {
 
         private final DateTimePrinter[] iPrinters;
         private final DateTimeParser[] iParsers;
@@ -2649,6 +2903,25 @@ public class DateTimeFormatterBuilder {
             }
         }
 
+        public int printTo(
+                char[] buf, int position, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            DateTimePrinter[] elements = iPrinters;
+            if (elements == null) {
+                throw new UnsupportedOperationException();
+            }
+            if (locale == null) {
+                // Guard against default locale changing concurrently.
+                locale = Locale.getDefault();
+            }
+            int len = elements.length;
+            for (int i = 0; i < len; i++) {
+                position = FormatUtils.printTo(
+                        elements[i], buf, position, instant, chrono, displayOffset, displayZone, locale);
+            }
+            return position;
+        }
+
         public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
             DateTimePrinter[] elements = iPrinters;
             if (elements == null) {
@@ -2688,6 +2961,10 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             DateTimeParser[] elements = iParsers;
             if (elements == null) {
                 throw new UnsupportedOperationException();
@@ -2695,7 +2972,7 @@ public class DateTimeFormatterBuilder {
 
             int len = elements.length;
             for (int i=0; i<len && position >= 0; i++) {
-                position = elements[i].parseInto(bucket, text, position);
+                position = FormatUtils.parseInto(elements[i], bucket, text, position);
             }
             return position;
         }
@@ -2742,7 +3019,7 @@ public class DateTimeFormatterBuilder {
 
     //-----------------------------------------------------------------------
     static class MatchingParser
-            implements DateTimeParser {
+            implements CharSequenceParser {
 
         private final DateTimeParser[] iParsers;
         private final int iParsedLengthEstimate;
@@ -2768,6 +3045,10 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+            return parseInto(bucket, (CharSequence) text, position);
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             DateTimeParser[] parsers = iParsers;
             int length = parsers.length;
 
@@ -2789,7 +3070,7 @@ public class DateTimeFormatterBuilder {
                     isOptional = true;
                     break;
                 }
-                int parsePos = parser.parseInto(bucket, text, position);
+                int parsePos = FormatUtils.parseInto(parser, bucket, text, position);
                 if (parsePos >= position) {
                     if (parsePos > bestValidPos) {
                         if (parsePos >= text.length() ||
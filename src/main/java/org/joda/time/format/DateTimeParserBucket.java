@@ -46,6 +46,13 @@ import org.joda.time.IllegalFieldValueException;
  * dayOfMonth, dayOfYear. When computeMillis is called, the fields are set in
  * this order: monthOfYear, dayOfYear, dayOfMonth, dayOfWeek.
  * <p>
+ * A bucket may be reused by calling {@link #reset()} once the result of a parse
+ * has been read. The saved fields are held in primitive arrays that are kept
+ * between parses, so a reused bucket parses without allocating. A bucket owned
+ * by the caller can be passed to {@link DateTimeFormatter#parseMillis(CharSequence, DateTimeParserBucket)}
+ * and {@link DateTimeFormatter#tryParseMillis(CharSequence, java.text.ParsePosition, DateTimeParserBucket)},
+ * which reset it with the settings of the formatter before parsing.
+ * <p>
  * DateTimeParserBucket is mutable and not thread-safe.
  *
  * @author Brian S O'Neill
@@ -55,8 +62,8 @@ import org.joda.time.IllegalFieldValueException;
 public class DateTimeParserBucket {
 
     /** The chronology to use for parsing. */
-    private final Chronology iChrono;
-    private final long iMillis;
+    private Chronology iChrono;
+    private long iMillis;
     
     /** The parsed zone, initialised to formatter zone. */
     private DateTimeZone iZone;
@@ -68,12 +75,46 @@ public class DateTimeParserBucket {
     private Integer iPivotYear;
     /** Used for parsing month/day without year. */
     private int iDefaultYear;
+    /** The zone set by the constructor, restored by reset. */
+    private DateTimeZone iDefaultZone;
+    /** The pivot year set by the constructor, restored by reset. */
+    private Integer iDefaultPivotYear;
 
-    private SavedField[] iSavedFields = new SavedField[8];
+    /**
+     * The fields of the saved values, in the order saved. Slots are never
+     * overwritten until reset, so a saved state only has to record the chain.
+     */
+    private DateTimeField[] iSavedFields = new DateTimeField[8];
+    /** The saved values, or zero for text values. */
+    private int[] iSavedValues = new int[8];
+    /** The index of the previously saved field of the chain, or -1. */
+    private int[] iSavedPrevious = new int[8];
+    /** The saved text values, created when a text value is first saved. */
+    private String[] iSavedTexts;
+    /** The locales of the saved text values. */
+    private Locale[] iSavedLocales;
+    /** The number of slots used, including those discarded by restoreState. */
+    private int iSavedSlots;
+    /** The index of the last field saved, or -1 if none. */
+    private int iSavedFieldsLast = -1;
+    /** The number of fields in the chain ending at the last field saved. */
     private int iSavedFieldsCount;
-    private boolean iSavedFieldsShared;
+    /** The indices of the saved fields, in the order they are set. */
+    private int[] iSetOrder = new int[8];
+    /** Incremented by reset, so that older saved states are not restored. */
+    private int iResetCount;
+    /** The ISO local date-time saved in one step, valid if iLocalSaved is true. */
+    private long iLocalMillis;
+    /** Whether the saved local date-time includes the millisecond of second. */
+    private boolean iLocalHasMillis;
+    /** Whether a local date-time has been saved. */
+    private boolean iLocalSaved;
     
     private Object iSavedState;
+    /** Whether the last call to tryComputeMillis failed. */
+    private boolean iComputeFailed;
+    /** The result of the last successful call to tryComputeMillis. */
+    private long iComputedMillis;
 
     /**
      * Constructs a bucket.
@@ -117,13 +158,64 @@ public class DateTimeParserBucket {
     public DateTimeParserBucket(long instantLocal, Chronology chrono,
             Locale locale, Integer pivotYear, int defaultYear) {
         super();
+        init(instantLocal, chrono, locale, pivotYear, defaultYear);
+    }
+
+    /**
+     * Initialises the settings of the bucket.
+     */
+    private void init(long instantLocal, Chronology chrono,
+            Locale locale, Integer pivotYear, int defaultYear) {
         chrono = DateTimeUtils.getChronology(chrono);
         iMillis = instantLocal;
-        iZone = chrono.getZone();
+        iDefaultZone = chrono.getZone();
         iChrono = chrono.withUTC();
         iLocale = (locale == null ? Locale.getDefault() : locale);
-        iPivotYear = pivotYear;
+        iDefaultPivotYear = pivotYear;
         iDefaultYear = defaultYear;
+        reset();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Resets the bucket to the state it had when constructed, so that it can
+     * be used for another parse.
+     * <p>
+     * The saved fields, the offset and any local date-time are cleared, and the
+     * zone and pivot year are restored. States saved before the reset can no
+     * longer be restored. The storage for the saved fields is kept and reused.
+     *
+     * @since 2.2
+     */
+    public void reset() {
+        iZone = iDefaultZone;
+        iOffset = null;
+        iPivotYear = iDefaultPivotYear;
+        if (iSavedTexts != null) {
+            Arrays.fill(iSavedTexts, 0, iSavedSlots, null);
+            Arrays.fill(iSavedLocales, 0, iSavedSlots, null);
+        }
+        iSavedSlots = 0;
+        iSavedFieldsLast = -1;
+        iSavedFieldsCount = 0;
+        iLocalSaved = false;
+        iSavedState = null;
+        iResetCount++;
+    }
+
+    /**
+     * Resets the bucket with new settings, as though it had just been constructed.
+     * This is used by the formatter to reuse a bucket passed by the caller.
+     *
+     * @param instantLocal  the initial millis from 1970-01-01T00:00:00, local time
+     * @param chrono  the chronology to use
+     * @param locale  the locale to use
+     * @param pivotYear  the pivot year to use when parsing two-digit years
+     * @param defaultYear  the year to use when parsing month/day without year
+     */
+    void reset(long instantLocal, Chronology chrono,
+            Locale locale, Integer pivotYear, int defaultYear) {
+        init(instantLocal, chrono, locale, pivotYear, defaultYear);
     }
 
     //-----------------------------------------------------------------------
@@ -233,7 +325,7 @@ public class DateTimeParserBucket {
      * @param value  the value
      */
     public void saveField(DateTimeField field, int value) {
-        saveField(new SavedField(field, value));
+        saveField(field, value, null, null);
     }
     
     /**
@@ -243,7 +335,7 @@ public class DateTimeParserBucket {
      * @param value  the value
      */
     public void saveField(DateTimeFieldType fieldType, int value) {
-        saveField(new SavedField(fieldType.getField(iChrono), value));
+        saveField(fieldType.getField(iChrono), value, null, null);
     }
     
     /**
@@ -254,31 +346,98 @@ public class DateTimeParserBucket {
      * @param locale  the locale to use
      */
     public void saveField(DateTimeFieldType fieldType, String text, Locale locale) {
-        saveField(new SavedField(fieldType.getField(iChrono), text, locale));
+        saveField(fieldType.getField(iChrono), 0, text, locale);
     }
     
-    private void saveField(SavedField field) {
-        SavedField[] savedFields = iSavedFields;
-        int savedFieldsCount = iSavedFieldsCount;
-        
-        if (savedFieldsCount == savedFields.length || iSavedFieldsShared) {
-            // Expand capacity or merely copy if saved fields are shared.
-            SavedField[] newArray = new SavedField
-                [savedFieldsCount == savedFields.length ? savedFieldsCount * 2 : savedFields.length];
-            System.arraycopy(savedFields, 0, newArray, 0, savedFieldsCount);
-            iSavedFields = savedFields = newArray;
-            iSavedFieldsShared = false;
+    /**
+     * Saves the year to second fields of an ISO local date-time in one step,
+     * together with the millisecond of second if it was parsed.
+     * <p>
+     * This is used by {@link ISOFastFormat} to avoid saving and sorting a field
+     * for each value. The bucket chronology must be ISO in UTC. The values are
+     * combined with any saved fields when the millis are computed.
+     * 
+     * @param localMillis  the local date-time in ISO UTC, with a zero millisecond
+     *  of second if it was not parsed
+     * @param hasMillis  whether the millisecond of second was parsed
+     */
+    void saveLocalDateTime(long localMillis, boolean hasMillis) {
+        if (iLocalSaved) {
+            saveLocalFields(localMillis, hasMillis);
+            return;
+        }
+        iSavedState = null;
+        iLocalMillis = localMillis;
+        iLocalHasMillis = hasMillis;
+        iLocalSaved = true;
+    }
+
+    /**
+     * Saves each field of an ISO local date-time.
+     */
+    private void saveLocalFields(long localMillis, boolean hasMillis) {
+        Chronology chrono = iChrono;
+        saveField(chrono.year(), chrono.year().get(localMillis));
+        saveField(chrono.monthOfYear(), chrono.monthOfYear().get(localMillis));
+        saveField(chrono.dayOfMonth(), chrono.dayOfMonth().get(localMillis));
+        saveField(chrono.hourOfDay(), chrono.hourOfDay().get(localMillis));
+        saveField(chrono.minuteOfHour(), chrono.minuteOfHour().get(localMillis));
+        saveField(chrono.secondOfMinute(), chrono.secondOfMinute().get(localMillis));
+        if (hasMillis) {
+            saveField(chrono.millisOfSecond(), chrono.millisOfSecond().get(localMillis));
+        }
+    }
+
+    /**
+     * Saves a field into the next free slot, linking it to the chain.
+     */
+    private void saveField(DateTimeField field, int value, String text, Locale locale) {
+        int slot = iSavedSlots;
+        if (slot == iSavedFields.length) {
+            int size = slot * 2;
+            DateTimeField[] fields = new DateTimeField[size];
+            System.arraycopy(iSavedFields, 0, fields, 0, slot);
+            iSavedFields = fields;
+            int[] values = new int[size];
+            System.arraycopy(iSavedValues, 0, values, 0, slot);
+            iSavedValues = values;
+            int[] previous = new int[size];
+            System.arraycopy(iSavedPrevious, 0, previous, 0, slot);
+            iSavedPrevious = previous;
+            if (iSavedTexts != null) {
+                String[] texts = new String[size];
+                System.arraycopy(iSavedTexts, 0, texts, 0, slot);
+                iSavedTexts = texts;
+                Locale[] locales = new Locale[size];
+                System.arraycopy(iSavedLocales, 0, locales, 0, slot);
+                iSavedLocales = locales;
+            }
+        }
+        if (text != null && iSavedTexts == null) {
+            iSavedTexts = new String[iSavedFields.length];
+            iSavedLocales = new Locale[iSavedFields.length];
         }
         
         iSavedState = null;
-        savedFields[savedFieldsCount] = field;
-        iSavedFieldsCount = savedFieldsCount + 1;
+        iSavedFields[slot] = field;
+        iSavedValues[slot] = value;
+        iSavedPrevious[slot] = iSavedFieldsLast;
+        if (iSavedTexts != null) {
+            iSavedTexts[slot] = text;
+            iSavedLocales[slot] = locale;
+        }
+        iSavedSlots = slot + 1;
+        iSavedFieldsLast = slot;
+        iSavedFieldsCount++;
     }
     
     /**
      * Saves the state of this bucket, returning it in an opaque object. Call
      * restoreState to undo any changes that were made since the state was
      * saved. Calls to saveState may be nested.
+     * <p>
+     * The saved fields are never copied, as a state only records which of
+     * them had been saved.
      *
      * @return opaque saved state, which may be passed to restoreState
      */
@@ -341,35 +500,105 @@ public class DateTimeParserBucket {
      * @since 1.3
      */
     public long computeMillis(boolean resetFields, String text) {
-        SavedField[] savedFields = iSavedFields;
-        int count = iSavedFieldsCount;
-        if (iSavedFieldsShared) {
-            iSavedFields = savedFields = (SavedField[])iSavedFields.clone();
-            iSavedFieldsShared = false;
+        return computeMillis(resetFields, (CharSequence) text);
+    }
+
+    /**
+     * Computes the parsed datetime by setting the saved fields.
+     * This method is idempotent, but it is not thread-safe.
+     *
+     * @param resetFields false by default, but when true, unsaved field values are cleared
+     * @param text optional text being parsed, to be included in any error message
+     * @return milliseconds since 1970-01-01T00:00:00Z
+     * @throws IllegalArgumentException if any field is out of range
+     * @since 2.2
+     */
+    public long computeMillis(boolean resetFields, CharSequence text) {
+        return computeMillis(resetFields, text, false);
+    }
+
+    /**
+     * Computes the parsed datetime as {@link #computeMillis(boolean)} does,
+     * but returns false rather than throwing an exception if a field is out
+     * of range or the local time is in a time zone offset transition.
+     * <p>
+     * Values are checked against the range of their field before being set,
+     * so the common failures are reported without creating an exception.
+     *
+     * @param resetFields false by default, but when true, unsaved field values are cleared
+     * @return true if computed, with the result available from {@link #getComputedMillis()}
+     */
+    boolean tryComputeMillis(boolean resetFields) {
+        iComputeFailed = false;
+        long millis = computeMillis(resetFields, null, true);
+        if (iComputeFailed) {
+            return false;
+        }
+        iComputedMillis = millis;
+        return true;
+    }
+
+    /**
+     * Gets the result of the last successful call to {@link #tryComputeMillis}.
+     *
+     * @return milliseconds since 1970-01-01T00:00:00Z
+     */
+    long getComputedMillis() {
+        return iComputedMillis;
+    }
+
+    /**
+     * Computes the parsed datetime, throwing an exception or flagging the
+     * failure if quiet.
+     */
+    private long computeMillis(boolean resetFields, CharSequence text, boolean quiet) {
+        if (iLocalSaved && iSavedFieldsCount > 0) {
+            // combine the local date-time with the other fields
+            iLocalSaved = false;
+            saveLocalFields(iLocalMillis, iLocalHasMillis);
         }
-        sort(savedFields, count);
+        int count = iSavedFieldsCount;
+        int[] order = sortSavedFields(count);
         if (count > 0) {
             // alter base year for parsing if first field is month or day
             DurationField months = DurationFieldType.months().getField(iChrono);
             DurationField days = DurationFieldType.days().getField(iChrono);
-            DurationField first = savedFields[0].iField.getDurationField();
+            DurationField first = iSavedFields[order[0]].getDurationField();
             if (compareReverse(first, months) >= 0 && compareReverse(first, days) <= 0) {
                 saveField(DateTimeFieldType.year(), iDefaultYear);
-                return computeMillis(resetFields, text);
+                return computeMillis(resetFields, text, quiet);
             }
         }
 
         long millis = iMillis;
+        if (iLocalSaved) {
+            // the fields of the saved local date-time replace those of the base,
+            // and the millisecond of second is kept or cleared as a field would be
+            if (iLocalHasMillis || resetFields) {
+                millis = iLocalMillis;
+            } else {
+                millis = iLocalMillis + iChrono.millisOfSecond().get(millis);
+            }
+        }
         try {
             for (int i = 0; i < count; i++) {
-                millis = savedFields[i].set(millis, resetFields);
+                if (quiet && !isSettable(order[i], millis)) {
+                    iComputeFailed = true;
+                    return 0;
+                }
+                millis = setSavedField(order[i], millis, resetFields);
             }
             if (resetFields) {
                 for (int i = 0; i < count; i++) {
-                    millis = savedFields[i].set(millis, i == (count - 1));
+                    millis = setSavedField(order[i], millis, i == (count - 1));
                 }
             }
         } catch (IllegalFieldValueException e) {
+            if (quiet) {
+                // a value the range check could not detect, such as unknown text
+                iComputeFailed = true;
+                return 0;
+            }
             if (text != null) {
                 e.prependMessage("Cannot parse \"" + text + '"');
             }
@@ -382,6 +611,10 @@ public class DateTimeParserBucket {
             int offset = iZone.getOffsetFromLocal(millis);
             millis -= offset;
             if (offset != iZone.getOffset(millis)) {
+                if (quiet) {
+                    iComputeFailed = true;
+                    return 0;
+                }
                 String message =
                     "Illegal instant due to time zone offset transition (" + iZone + ')';
                 if (text != null) {
@@ -395,117 +628,124 @@ public class DateTimeParserBucket {
     }
     
     /**
-     * Sorts elements [0,high). Calling java.util.Arrays isn't always the right
-     * choice since it always creates an internal copy of the array, even if it
-     * doesn't need to. If the array slice is small enough, an insertion sort
-     * is chosen instead, but it doesn't need a copy!
-     * <p>
-     * This method has a modified version of that insertion sort, except it
-     * doesn't create an unnecessary array copy. If high is over 10, then
-     * java.util.Arrays is called, which will perform a merge sort, which is
-     * faster than insertion sort on large lists.
-     * <p>
-     * The end result is much greater performance when computeMillis is called.
-     * Since the amount of saved fields is small, the insertion sort is a
-     * better choice. Additional performance is gained since there is no extra
-     * array allocation and copying. Also, the insertion sort here does not
-     * perform any casting operations. The version in java.util.Arrays performs
-     * casts within the insertion sort loop.
-     */
-    private static void sort(SavedField[] array, int high) {
-        if (high > 10) {
-            Arrays.sort(array, 0, high);
+     * Sets a saved field into the millis.
+     */
+    private long setSavedField(int slot, long millis, boolean reset) {
+        DateTimeField field = iSavedFields[slot];
+        String text = (iSavedTexts == null ? null : iSavedTexts[slot]);
+        if (text == null) {
+            millis = field.set(millis, iSavedValues[slot]);
         } else {
-            for (int i=0; i<high; i++) {
-                for (int j=i; j>0 && (array[j-1]).compareTo(array[j])>0; j--) {
-                    SavedField t = array[j];
-                    array[j] = array[j-1];
-                    array[j-1] = t;
-                }
+            millis = field.set(millis, text, iSavedLocales[slot]);
+        }
+        if (reset) {
+            millis = field.roundFloor(millis);
+        }
+        return millis;
+    }
+
+    /**
+     * Checks whether a saved value is within the range of its field.
+     * Text values and lenient fields are checked when they are set.
+     */
+    private boolean isSettable(int slot, long millis) {
+        if (iSavedTexts != null && iSavedTexts[slot] != null) {
+            return true;
+        }
+        DateTimeField field = iSavedFields[slot];
+        if (field.isLenient()) {
+            return true;
+        }
+        int value = iSavedValues[slot];
+        return value >= field.getMinimumValue(millis) && value <= field.getMaximumValue(millis);
+    }
+
+    /**
+     * Sorts the saved fields into the order they are set, returning the
+     * indices of the slots in that order.
+     * <p>
+     * The chain of saved fields is read back into an array of indices, which
+     * is then sorted with an insertion sort. Since the number of saved fields
+     * is small, typically eight or fewer, an insertion sort is faster than
+     * java.util.Arrays, and it is stable, so fields that cannot be ordered
+     * stay in the order they were saved. Only the indices are moved, so the
+     * saved fields, which may be shared by a saved state, are untouched.
+     */
+    private int[] sortSavedFields(int count) {
+        int[] order = iSetOrder;
+        if (order.length < count) {
+            iSetOrder = order = new int[Math.max(count, order.length * 2)];
+        }
+        int slot = iSavedFieldsLast;
+        for (int i = count - 1; i >= 0; i--) {
+            order[i] = slot;
+            slot = iSavedPrevious[slot];
+        }
+        DateTimeField[] fields = iSavedFields;
+        for (int i = 1; i < count; i++) {
+            int t = order[i];
+            DateTimeField field = fields[t];
+            int j = i;
+            for (; j > 0 && compareFields(fields[order[j - 1]], field) > 0; j--) {
+                order[j] = order[j - 1];
             }
+            order[j] = t;
+        }
+        return order;
+    }
+
+    /**
+     * The field with the longer range duration is ordered first, where
+     * null is considered infinite. If the ranges match, then the field
+     * with the longer duration is ordered first.
+     */
+    static int compareFields(DateTimeField field, DateTimeField other) {
+        int result = compareReverse
+            (field.getRangeDurationField(), other.getRangeDurationField());
+        if (result != 0) {
+            return result;
         }
+        return compareReverse
+            (field.getDurationField(), other.getDurationField());
     }
 
     class SavedState {
         final DateTimeZone iZone;
         final Integer iOffset;
-        final SavedField[] iSavedFields;
+        final int iSavedFieldsLast;
         final int iSavedFieldsCount;
+        final long iLocalMillis;
+        final boolean iLocalHasMillis;
+        final boolean iLocalSaved;
+        final int iResetCount;
         
         SavedState() {
             this.iZone = DateTimeParserBucket.this.iZone;
             this.iOffset = DateTimeParserBucket.this.iOffset;
-            this.iSavedFields = DateTimeParserBucket.this.iSavedFields;
+            this.iSavedFieldsLast = DateTimeParserBucket.this.iSavedFieldsLast;
             this.iSavedFieldsCount = DateTimeParserBucket.this.iSavedFieldsCount;
+            this.iLocalMillis = DateTimeParserBucket.this.iLocalMillis;
+            this.iLocalHasMillis = DateTimeParserBucket.this.iLocalHasMillis;
+            this.iLocalSaved = DateTimeParserBucket.this.iLocalSaved;
+            this.iResetCount = DateTimeParserBucket.this.iResetCount;
         }
         
         boolean restoreState(DateTimeParserBucket enclosing) {
-            if (enclosing != DateTimeParserBucket.this) {
+            if (enclosing != DateTimeParserBucket.this || enclosing.iResetCount != this.iResetCount) {
                 return false;
             }
             enclosing.iZone = this.iZone;
             enclosing.iOffset = this.iOffset;
-            enclosing.iSavedFields = this.iSavedFields;
-            if (this.iSavedFieldsCount < enclosing.iSavedFieldsCount) {
-                // Since count is being restored to a lower count, the
-                // potential exists for new saved fields to destroy data being
-                // shared by another state. Set this flag such that the array
-                // of saved fields is cloned prior to modification.
-                enclosing.iSavedFieldsShared = true;
-            }
+            // the slots of the chain are never overwritten, so the chain
+            // is restored without copying any saved fields
+            enclosing.iSavedFieldsLast = this.iSavedFieldsLast;
             enclosing.iSavedFieldsCount = this.iSavedFieldsCount;
+            enclosing.iLocalMillis = this.iLocalMillis;
+            enclosing.iLocalHasMillis = this.iLocalHasMillis;
+            enclosing.iLocalSaved = this.iLocalSaved;
             return true;
         }
     }
-    
-    static class SavedField implements Comparable<SavedField> {
-        final DateTimeField iField;
-        final int iValue;
-        final String iText;
-        final Locale iLocale;
-        
-        SavedField(DateTimeField field, int value) {
-            iField = field;
-            iValue = value;
-            iText = null;
-            iLocale = null;
-        }
-        
-        SavedField(DateTimeField field, String text, Locale locale) {
-            iField = field;
-            iValue = 0;
-            iText = text;
-            iLocale = locale;
-        }
-        
-        long set(long millis, boolean reset) {
-            if (iText == null) {
-                millis = iField.set(millis, iValue);
-            } else {
-                millis = iField.set(millis, iText, iLocale);
-            }
-            if (reset) {
-                millis = iField.roundFloor(millis);
-            }
-            return millis;
-        }
-        
-        /**
-         * The field with the longer range duration is ordered first, where
-         * null is considered infinite. If the ranges match, then the field
-         * with the longer duration is ordered first.
-         */
-        public int compareTo(SavedField obj) {
-            DateTimeField other = obj.iField;
-            int result = compareReverse
-                (iField.getRangeDurationField(), other.getRangeDurationField());
-            if (result != 0) {
-                return result;
-            }
-            return compareReverse
-                (iField.getDurationField(), other.getDurationField());
-        }
-    }
 
     static int compareReverse(DurationField a, DurationField b) {
         if (a == null || !a.isSupported()) {
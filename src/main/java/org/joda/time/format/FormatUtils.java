@@ -17,6 +17,10 @@ package org.joda.time.format;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Locale;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeZone;
 
 /**
  * Utility methods used by formatters.
@@ -348,18 +352,40 @@ public class FormatUtils {
                 ((int)(Math.log(value) / LOG_10) + 1)))));
     }
 
-    static int parseTwoDigits(String text, int position) {
+    static int parseTwoDigits(CharSequence text, int position) {
         int value = text.charAt(position) - '0';
         return ((value << 3) + (value << 1)) + text.charAt(position + 1) - '0';
     }
 
-    static String createErrorMessage(final String text, final int errorPos) {
+    /**
+     * Parses digits, optionally preceded by a minus sign, that may be outside
+     * the range of an int.
+     *
+     * @param text  the text to parse, not null
+     * @param position  the position of the sign or first digit
+     * @param length  the number of characters to parse, including any sign
+     * @return the value, or Long.MAX_VALUE if it is outside the range of an int
+     */
+    static long parseLargeInt(CharSequence text, int position, int length) {
+        boolean negative = text.charAt(position) == '-';
+        int end = position + length;
+        long value = 0;
+        for (int i = (negative ? position + 1 : position); i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE + 1L) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return (negative ? -value : (value > Integer.MAX_VALUE ? Long.MAX_VALUE : value));
+    }
+
+    static String createErrorMessage(final CharSequence text, final int errorPos) {
         int sampleLen = errorPos + 32;
         String sampleText;
         if (text.length() <= sampleLen + 3) {
-            sampleText = text;
+            sampleText = text.toString();
         } else {
-            sampleText = text.substring(0, sampleLen).concat("...");
+            sampleText = text.subSequence(0, sampleLen).toString().concat("...");
         }
         
         if (errorPos <= 0) {
@@ -374,4 +400,161 @@ public class FormatUtils {
             sampleText.substring(errorPos) + '"';
     }
 
+    /**
+     * Parses text with any parser, without copying the text if the parser
+     * is a {@link CharSequenceParser}.
+     *
+     * @param parser  the parser to use, not null
+     * @param bucket  field are saved into this, not null
+     * @param text  the text to parse, not null
+     * @param position  position to start parsing from
+     * @return new position, negative value means parse failed
+     */
+    static int parseInto(DateTimeParser parser, DateTimeParserBucket bucket, CharSequence text, int position) {
+        if (parser instanceof CharSequenceParser) {
+            return ((CharSequenceParser) parser).parseInto(bucket, text, position);
+        }
+        return parser.parseInto(bucket, text.toString(), position);
+    }
+
+    /**
+     * Checks whether text contains a value at a position, as
+     * {@link String#regionMatches(boolean, int, String, int, int)} does.
+     *
+     * @param text  the text to check, not null
+     * @param position  the position in the text
+     * @param value  the value to find, not null
+     * @param ignoreCase  whether to ignore case
+     * @return true if the value is found
+     */
+    static boolean regionMatches(CharSequence text, int position, String value, boolean ignoreCase) {
+        int length = value.length();
+        if (position < 0 || position > text.length() - length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char a = text.charAt(position + i);
+            char b = value.charAt(i);
+            if (a != b) {
+                if (ignoreCase == false) {
+                    return false;
+                }
+                a = Character.toUpperCase(a);
+                b = Character.toUpperCase(b);
+                if (a != b && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Prints an instant with any printer into a char array, without an
+     * intermediate buffer if the printer is a {@link CharArrayPrinter}.
+     *
+     * @param printer  the printer to use, not null
+     * @param buf  the array to print into, not null
+     * @param position  the index to print at
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @param chrono  the chronology to use, not null
+     * @param displayOffset  the offset to print
+     * @param displayZone  the time zone to use, null means local time
+     * @param locale  the locale to use, null means default locale
+     * @return the index after the last char printed
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    static int printTo(DateTimePrinter printer, char[] buf, int position, long instant,
+            Chronology chrono, int displayOffset, DateTimeZone displayZone, Locale locale) {
+        if (printer instanceof CharArrayPrinter) {
+            return ((CharArrayPrinter) printer).printTo(
+                    buf, position, instant, chrono, displayOffset, displayZone, locale);
+        }
+        StringBuffer str = new StringBuffer(printer.estimatePrintedLength());
+        printer.printTo(str, instant, chrono, displayOffset, displayZone, locale);
+        int length = str.length();
+        if (position < 0 || position > buf.length - length) {
+            throw new ArrayIndexOutOfBoundsException(position + length);
+        }
+        str.getChars(0, length, buf, position);
+        return position + length;
+    }
+
+    /**
+     * Writes a string into a char array.
+     *
+     * @param buf  the array to write into, not null
+     * @param position  the index to write at
+     * @param str  the string to write, not null
+     * @return the index after the last char written
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    static int writeString(char[] buf, int position, String str) {
+        int length = str.length();
+        str.getChars(0, length, buf, position);
+        return position + length;
+    }
+
+    /**
+     * Writes an integer into a char array, prepended with a variable amount
+     * of '0' pad characters, as {@link #appendPaddedInteger(StringBuffer, int, int)} does.
+     *
+     * @param buf  the array to write into, not null
+     * @param position  the index to write at
+     * @param value  the value to write
+     * @param size  minimum amount of digits to write
+     * @return the index after the last char written
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    static int writePaddedInteger(char[] buf, int position, int value, int size) {
+        long unsigned = value;
+        if (unsigned < 0) {
+            buf[position++] = '-';
+            unsigned = -unsigned;
+        }
+        int digits = calculateDigitCount(unsigned);
+        for (; size > digits; size--) {
+            buf[position++] = '0';
+        }
+        return writeDigits(buf, position, unsigned, digits);
+    }
+
+    /**
+     * Writes an integer into a char array, as
+     * {@link #appendUnpaddedInteger(StringBuffer, int)} does.
+     *
+     * @param buf  the array to write into, not null
+     * @param position  the index to write at
+     * @param value  the value to write
+     * @return the index after the last char written
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    static int writeUnpaddedInteger(char[] buf, int position, int value) {
+        return writePaddedInteger(buf, position, value, 0);
+    }
+
+    /**
+     * Writes the lowest digits of a value that is zero or more into a char array.
+     *
+     * @param buf  the array to write into, not null
+     * @param position  the index to write at
+     * @param value  the value to write, zero or more
+     * @param digits  the number of digits to write
+     * @return the index after the last char written
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    static int writeDigits(char[] buf, int position, long value, int digits) {
+        int end = position + digits;
+        if (position < 0 || end > buf.length) {
+            throw new ArrayIndexOutOfBoundsException(end);
+        }
+        for (int i = end - 1; i >= position; i--) {
+            long div = value / 10;
+            buf[i] = (char) ('0' + (value - div * 10));
+            value = div;
+        }
+        return end;
+    }
+
 }
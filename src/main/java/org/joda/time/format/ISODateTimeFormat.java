@@ -780,9 +780,9 @@ public class ISODateTimeFormat {
                 .append(timeElementParser())
                 .appendOptional(offsetElement().getParser())
                 .toParser();
-            dtp = new DateTimeFormatterBuilder()
+            dtp = ISOFastFormat.wrap(new DateTimeFormatterBuilder()
                 .append(null, new DateTimeParser[] {time, dateOptionalTimeParser().getParser()})
-                .toFormatter();
+                .toFormatter(), true, ISOFastFormat.OPTIONAL, ISOFastFormat.OPTIONAL);
         }
         return dtp;
     }
@@ -813,10 +813,10 @@ public class ISODateTimeFormat {
                 .appendOptional(timeElementParser().getParser())
                 .appendOptional(offsetElement().getParser())
                 .toParser();
-            dotp = new DateTimeFormatterBuilder()
+            dotp = ISOFastFormat.wrap(new DateTimeFormatterBuilder()
                 .append(dateElementParser())
                 .appendOptional(timeOrOffset)
-                .toFormatter();
+                .toFormatter(), true, ISOFastFormat.OPTIONAL, ISOFastFormat.OPTIONAL);
         }
         return dotp;
     }
@@ -847,10 +847,10 @@ public class ISODateTimeFormat {
                 .appendLiteral('T')
                 .append(timeElementParser())
                 .toParser();
-            ldotp = new DateTimeFormatterBuilder()
+            ldotp = ISOFastFormat.wrap(new DateTimeFormatterBuilder()
                 .append(dateElementParser())
                 .appendOptional(time)
-                .toFormatter().withZoneUTC();
+                .toFormatter(), true, ISOFastFormat.OPTIONAL, ISOFastFormat.NONE).withZoneUTC();
         }
         return ldotp;
     }
@@ -951,10 +951,10 @@ public class ISODateTimeFormat {
      */
     public static DateTimeFormatter dateTime() {
         if (dt == null) {
-            dt = new DateTimeFormatterBuilder()
+            dt = ISOFastFormat.wrap(new DateTimeFormatterBuilder()
                 .append(date())
                 .append(tTime())
-                .toFormatter();
+                .toFormatter(), true, ISOFastFormat.REQUIRED, ISOFastFormat.REQUIRED);
         }
         return dt;
     }
@@ -969,10 +969,10 @@ public class ISODateTimeFormat {
      */
     public static DateTimeFormatter dateTimeNoMillis() {
         if (dtx == null) {
-            dtx = new DateTimeFormatterBuilder()
+            dtx = ISOFastFormat.wrap(new DateTimeFormatterBuilder()
                 .append(date())
                 .append(tTimeNoMillis())
-                .toFormatter();
+                .toFormatter(), true, ISOFastFormat.NONE, ISOFastFormat.REQUIRED);
         }
         return dtx;
     }
@@ -1187,10 +1187,10 @@ public class ISODateTimeFormat {
      */
     public static DateTimeFormatter basicDateTime() {
         if (bdt == null) {
-            bdt = new DateTimeFormatterBuilder()
+            bdt = ISOFastFormat.wrap(new DateTimeFormatterBuilder()
                 .append(basicDate())
                 .append(basicTTime())
-                .toFormatter();
+                .toFormatter(), false, ISOFastFormat.REQUIRED, ISOFastFormat.REQUIRED);
         }
         return bdt;
     }
@@ -1205,10 +1205,10 @@ public class ISODateTimeFormat {
      */
     public static DateTimeFormatter basicDateTimeNoMillis() {
         if (bdtx == null) {
-            bdtx = new DateTimeFormatterBuilder()
+            bdtx = ISOFastFormat.wrap(new DateTimeFormatterBuilder()
                 .append(basicDate())
                 .append(basicTTimeNoMillis())
-                .toFormatter();
+                .toFormatter(), false, ISOFastFormat.NONE, ISOFastFormat.REQUIRED);
         }
         return bdtx;
     }
@@ -0,0 +1,397 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.ReadablePartial;
+import org.joda.time.chrono.ISOChronology;
+
+/**
+ * Straight-line printer and parser for the common ISO-8601 date-time layouts,
+ * yyyy-MM-dd'T'HH:mm:ss[.SSS][offset] and yyyyMMdd'T'HHmmss[.SSS][offset].
+ * <p>
+ * The generic printer and parser built by {@link ISODateTimeFormat} are wrapped.
+ * The fast path is used for the ISO chronology in UTC, four digit years and
+ * offsets in whole minutes, with the exact layout expected. Anything else is passed
+ * to the generic printer or parser, so the results and error messages are the same.
+ * A parsed date-time is saved to the bucket in one step, rather than as a field
+ * for each value.
+ * <p>
+ * ISOFastFormat is thread-safe and immutable.
+ *
+ * @since 2.2
+ */
+final class ISOFastFormat implements CharArrayPrinter, CharSequenceParser {
+
+    /** The element must be present. */
+    static final int REQUIRED = 0;
+    /** The element may be present, and a fraction may use a comma as its decimal point. */
+    static final int OPTIONAL = 1;
+    /** The element is not present. */
+    static final int NONE = 2;
+
+    /** The chronology handled by the fast path. */
+    private static final Chronology ISO_UTC = ISOChronology.getInstanceUTC();
+    /** The result when the fast path does not handle a value. */
+    private static final int NOT_HANDLED = Integer.MIN_VALUE;
+    /** The longest text printed by the fast path. */
+    private static final int MAX_PRINTED_LENGTH = 29;
+
+    /** The generic printer, null if parse only. */
+    private final DateTimePrinter iPrinter;
+    /** The generic parser, null if print only. */
+    private final DateTimeParser iParser;
+    /** Whether the extended layout with separators is used. */
+    private final boolean iExtended;
+    /** Whether the millisecond of second is present. */
+    private final int iMillis;
+    /** Whether the offset is present. */
+    private final int iOffset;
+
+    /**
+     * Wraps a generic ISO formatter with the fast path.
+     *
+     * @param generic  the generic formatter, not null
+     * @param extended  true for the extended layout, false for the basic layout
+     * @param millis  whether the millisecond of second is present, REQUIRED, OPTIONAL or NONE
+     * @param offset  whether the offset is present, REQUIRED, OPTIONAL or NONE
+     * @return the formatter, not null
+     */
+    static DateTimeFormatter wrap(DateTimeFormatter generic, boolean extended, int millis, int offset) {
+        DateTimePrinter printer = generic.getPrinter();
+        DateTimeParser parser = generic.getParser();
+        ISOFastFormat fast = new ISOFastFormat(printer, parser, extended, millis, offset);
+        return new DateTimeFormatter(printer != null ? fast : null, parser != null ? fast : null);
+    }
+
+    /**
+     * Constructor.
+     */
+    private ISOFastFormat(DateTimePrinter printer, DateTimeParser parser,
+            boolean extended, int millis, int offset) {
+        super();
+        iPrinter = printer;
+        iParser = parser;
+        iExtended = extended;
+        iMillis = millis;
+        iOffset = offset;
+    }
+
+    //-----------------------------------------------------------------------
+    public int estimatePrintedLength() {
+        return iPrinter.estimatePrintedLength();
+    }
+
+    public void printTo(
+            StringBuffer buf, long instant, Chronology chrono,
+            int displayOffset, DateTimeZone displayZone, Locale locale) {
+        char[] chars = new char[MAX_PRINTED_LENGTH];
+        int end = printFast(chars, 0, instant, chrono, displayOffset, displayZone);
+        if (end == NOT_HANDLED) {
+            iPrinter.printTo(buf, instant, chrono, displayOffset, displayZone, locale);
+        } else {
+            buf.append(chars, 0, end);
+        }
+    }
+
+    public void printTo(
+            Writer out, long instant, Chronology chrono,
+            int displayOffset, DateTimeZone displayZone, Locale locale) throws IOException {
+        char[] chars = new char[MAX_PRINTED_LENGTH];
+        int end = printFast(chars, 0, instant, chrono, displayOffset, displayZone);
+        if (end == NOT_HANDLED) {
+            iPrinter.printTo(out, instant, chrono, displayOffset, displayZone, locale);
+        } else {
+            out.write(chars, 0, end);
+        }
+    }
+
+    public int printTo(
+            char[] buf, int position, long instant, Chronology chrono,
+            int displayOffset, DateTimeZone displayZone, Locale locale) {
+        int end = printFast(buf, position, instant, chrono, displayOffset, displayZone);
+        if (end == NOT_HANDLED) {
+            return FormatUtils.printTo(iPrinter, buf, position, instant, chrono, displayOffset, displayZone, locale);
+        }
+        return end;
+    }
+
+    public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
+        iPrinter.printTo(buf, partial, locale);
+    }
+
+    public void printTo(Writer out, ReadablePartial partial, Locale locale) throws IOException {
+        iPrinter.printTo(out, partial, locale);
+    }
+
+    /**
+     * Prints the layout directly if the values allow it.
+     *
+     * @return the index after the last char printed, or NOT_HANDLED
+     */
+    private int printFast(char[] buf, int position, long instant, Chronology chrono,
+            int displayOffset, DateTimeZone displayZone) {
+        if (chrono != ISO_UTC || (iOffset != NONE && displayZone == null) ||
+                displayOffset % DateTimeConstants.MILLIS_PER_MINUTE != 0) {
+            return NOT_HANDLED;
+        }
+        int year = chrono.year().get(instant);
+        if (year < 0 || year > 9999) {
+            return NOT_HANDLED;
+        }
+        int month = chrono.monthOfYear().get(instant);
+        int day = chrono.dayOfMonth().get(instant);
+        int millisOfDay = chrono.millisOfDay().get(instant);
+        boolean extended = iExtended;
+
+        int pos = position;
+        pos = write2(buf, pos, year / 100);
+        pos = write2(buf, pos, year % 100);
+        if (extended) {
+            buf[pos++] = '-';
+        }
+        pos = write2(buf, pos, month);
+        if (extended) {
+            buf[pos++] = '-';
+        }
+        pos = write2(buf, pos, day);
+        buf[pos++] = 'T';
+        pos = write2(buf, pos, millisOfDay / DateTimeConstants.MILLIS_PER_HOUR);
+        if (extended) {
+            buf[pos++] = ':';
+        }
+        pos = write2(buf, pos, (millisOfDay / DateTimeConstants.MILLIS_PER_MINUTE) % 60);
+        if (extended) {
+            buf[pos++] = ':';
+        }
+        pos = write2(buf, pos, (millisOfDay / DateTimeConstants.MILLIS_PER_SECOND) % 60);
+        if (iMillis != NONE) {
+            int millis = millisOfDay % 1000;
+            buf[pos++] = '.';
+            buf[pos++] = (char) ('0' + millis / 100);
+            pos = write2(buf, pos, millis % 100);
+        }
+        if (iOffset != NONE) {
+            if (displayOffset == 0) {
+                buf[pos++] = 'Z';
+            } else {
+                if (displayOffset > 0) {
+                    buf[pos++] = '+';
+                } else {
+                    buf[pos++] = '-';
+                    displayOffset = -displayOffset;
+                }
+                int minutes = displayOffset / DateTimeConstants.MILLIS_PER_MINUTE;
+                pos = write2(buf, pos, minutes / 60);
+                if (extended) {
+                    buf[pos++] = ':';
+                }
+                pos = write2(buf, pos, minutes % 60);
+            }
+        }
+        return pos;
+    }
+
+    private static int write2(char[] buf, int pos, int value) {
+        buf[pos] = (char) ('0' + value / 10);
+        buf[pos + 1] = (char) ('0' + value % 10);
+        return pos + 2;
+    }
+
+    //-----------------------------------------------------------------------
+    public int estimateParsedLength() {
+        return iParser.estimateParsedLength();
+    }
+
+    public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+        return parseInto(bucket, (CharSequence) text, position);
+    }
+
+    public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
+        if (bucket.getChronology() == ISO_UTC) {
+            int newPos = parseFast(bucket, text, position);
+            if (newPos != NOT_HANDLED) {
+                return newPos;
+            }
+        }
+        return FormatUtils.parseInto(iParser, bucket, text, position);
+    }
+
+    /**
+     * Parses the layout directly if the text matches it exactly.
+     * Nothing is saved to the bucket unless the text is handled.
+     *
+     * @return the new position, or NOT_HANDLED
+     */
+    private int parseFast(DateTimeParserBucket bucket, CharSequence text, int position) {
+        boolean extended = iExtended;
+        int limit = text.length();
+        int pos = position;
+        if (pos < 0 || limit - pos < (extended ? 19 : 15)) {
+            return NOT_HANDLED;
+        }
+
+        int century = parse2(text, pos);
+        int year = parse2(text, pos + 2);
+        pos += 4;
+        if (extended && text.charAt(pos++) != '-') {
+            return NOT_HANDLED;
+        }
+        int month = parse2(text, pos);
+        pos += 2;
+        if (extended && text.charAt(pos++) != '-') {
+            return NOT_HANDLED;
+        }
+        int day = parse2(text, pos);
+        pos += 2;
+        if (text.charAt(pos++) != 'T') {
+            return NOT_HANDLED;
+        }
+        int hour = parse2(text, pos);
+        pos += 2;
+        if (extended && text.charAt(pos++) != ':') {
+            return NOT_HANDLED;
+        }
+        int minute = parse2(text, pos);
+        pos += 2;
+        if (extended && text.charAt(pos++) != ':') {
+            return NOT_HANDLED;
+        }
+        int second = parse2(text, pos);
+        pos += 2;
+        if (century < 0 || year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0) {
+            return NOT_HANDLED;
+        }
+        year += century * 100;
+
+        int millis = 0;
+        boolean hasMillis = false;
+        if (iMillis != NONE && pos < limit) {
+            char c = text.charAt(pos);
+            if (c == '.' || (c == ',' && iMillis == OPTIONAL)) {
+                // exactly three digits, as other lengths are scaled by the generic parser
+                if (limit - pos < 4 || (millis = parse3(text, pos + 1)) < 0 ||
+                        (limit > pos + 4 && isDigit(text.charAt(pos + 4)))) {
+                    return NOT_HANDLED;
+                }
+                pos += 4;
+                hasMillis = true;
+            }
+        }
+        if (iMillis == REQUIRED && hasMillis == false) {
+            return NOT_HANDLED;
+        }
+
+        int offset = 0;
+        boolean hasOffset = false;
+        if (iOffset != NONE && pos < limit) {
+            char c = text.charAt(pos);
+            if (c == 'Z') {
+                pos++;
+                hasOffset = true;
+            } else if (c == '+' || c == '-') {
+                if (limit - pos < (extended ? 6 : 5)) {
+                    return NOT_HANDLED;
+                }
+                int hours = parse2(text, pos + 1);
+                int minutes;
+                if (extended) {
+                    if (text.charAt(pos + 3) != ':') {
+                        return NOT_HANDLED;
+                    }
+                    minutes = parse2(text, pos + 4);
+                    pos += 6;
+                } else {
+                    minutes = parse2(text, pos + 3);
+                    pos += 5;
+                }
+                if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+                    return NOT_HANDLED;
+                }
+                offset = hours * DateTimeConstants.MILLIS_PER_HOUR + minutes * DateTimeConstants.MILLIS_PER_MINUTE;
+                offset = (c == '-' ? -offset : offset);
+                hasOffset = true;
+            }
+        }
+        if (iOffset == REQUIRED && hasOffset == false) {
+            return NOT_HANDLED;
+        }
+        if (pos < limit) {
+            // the generic parser may read further, such as offset seconds
+            char c = text.charAt(pos);
+            if (hasOffset == false || c == ':' || c == '.' || c == ',' || isDigit(c)) {
+                return NOT_HANDLED;
+            }
+        }
+
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) ||
+                hour > 23 || minute > 59 || second > 59) {
+            // the generic parser reports the invalid field
+            return NOT_HANDLED;
+        }
+        long localMillis = ISO_UTC.getDateTimeMillis(year, month, day, hour, minute, second, millis);
+        bucket.saveLocalDateTime(localMillis, hasMillis);
+        if (hasOffset) {
+            bucket.setOffset(Integer.valueOf(offset));
+        }
+        return pos;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Gets the number of days in a month of a year in the ISO calendar.
+     */
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            return ((year & 3) == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    /**
+     * Parses two digits, returning a negative value if either is not a digit.
+     */
+    private static int parse2(CharSequence text, int pos) {
+        int tens = text.charAt(pos) - '0';
+        int units = text.charAt(pos + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
+        }
+        return tens * 10 + units;
+    }
+
+    /**
+     * Parses three digits, returning a negative value if any is not a digit.
+     */
+    private static int parse3(CharSequence text, int pos) {
+        int hundreds = text.charAt(pos) - '0';
+        int rest = parse2(text, pos + 1);
+        if (hundreds < 0 || hundreds > 9 || rest < 0) {
+            return -1;
+        }
+        return hundreds * 100 + rest;
+    }
+
+}
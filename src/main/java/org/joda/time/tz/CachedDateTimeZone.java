@@ -15,6 +15,8 @@
  */
 package org.joda.time.tz;
 
+import java.util.Iterator;
+
 import org.joda.time.DateTimeZone;
 
 /**
@@ -33,6 +35,9 @@ public class CachedDateTimeZone extends DateTimeZone {
 
     private static final int cInfoCacheMask;
 
+    /** Local instants beyond this are resolved without the cache, avoiding overflow. */
+    private static final long LOCAL_LIMIT = Long.MAX_VALUE - (1L << 34);
+
     static {
         Integer i;
         try {
@@ -103,22 +108,58 @@ public class CachedDateTimeZone extends DateTimeZone {
         return getInfo(instant).getOffset(instant);
     }
 
+    public void getOffsets(long[] instants, int[] offsets) {
+        if (offsets.length < instants.length) {
+            throw new IllegalArgumentException("Offsets array is shorter than instants array");
+        }
+        Info info = null;
+        int period = 0;
+        for (int i = 0; i < instants.length; i++) {
+            long instant = instants[i];
+            // Only probe the cache when the instant leaves the current period.
+            if (info == null || (int) (instant >> 32) != period) {
+                info = getInfo(instant);
+                period = (int) (instant >> 32);
+            }
+            offsets[i] = info.getOffset(instant);
+        }
+    }
+
     public int getStandardOffset(long instant) {
         return getInfo(instant).getStandardOffset(instant);
     }
 
+    public int getOffsetFromLocal(long instantLocal) {
+        if (instantLocal >= LOCAL_LIMIT || instantLocal <= -LOCAL_LIMIT) {
+            return super.getOffsetFromLocal(instantLocal);
+        }
+        // The local times of a period are shifted from the UTC times by at
+        // most the offset, so belong to this period or a neighbour.
+        Info info = getInfo(instantLocal);
+        if (instantLocal < info.iLocalStart) {
+            info = getInfo(info.iPeriodStart - 1);
+        } else if (instantLocal >= info.iLocalEnds[info.iLocalEnds.length - 1]) {
+            info = getInfo(info.iPeriodStart + (1L << 32));
+        }
+        return info.getOffsetFromLocal(instantLocal);
+    }
+
     public boolean isFixed() {
         return iZone.isFixed();
     }
 
     public long nextTransition(long instant) {
-        return iZone.nextTransition(instant);
+        return getInfo(instant).nextTransition(instant);
     }
 
     public long previousTransition(long instant) {
         return iZone.previousTransition(instant);
     }
 
+    public Iterator<ZoneTransition> transitionIterator(long startInstant, long endInstant) {
+        return iZone.transitionIterator(startInstant, endInstant);
+    }
+
     public int hashCode() {
         return iZone.hashCode();
     }
@@ -134,7 +175,8 @@ public class CachedDateTimeZone extends DateTimeZone {
     }
 
     // Although accessed by multiple threads, this method doesn't need to be
-    // synchronized.
+    // synchronized. Each Info is immutable, so is safely published through
+    // its final fields.
 
     private Info getInfo(long millis) {
         int period = (int)(millis >> 32);
@@ -150,66 +192,136 @@ public class CachedDateTimeZone extends DateTimeZone {
 
     private Info createInfo(long millis) {
         long periodStart = millis & (0xffffffffL << 32);
-        Info info = new Info(iZone, periodStart);
-        
         long end = periodStart | 0xffffffffL;
-        Info chain = info;
+
+        // Most periods have no transition, a quarter have one.
+        long[] starts = new long[] {periodStart, 0L};
+        int count = 1;
+        long next;
         while (true) {
-            long next = iZone.nextTransition(periodStart);
+            next = iZone.nextTransition(periodStart);
             if (next == periodStart || next > end) {
                 break;
             }
-            periodStart = next;
-            chain = (chain.iNextInfo = new Info(iZone, periodStart));
+            if (count == starts.length) {
+                long[] copy = new long[count * 2];
+                System.arraycopy(starts, 0, copy, 0, count);
+                starts = copy;
+            }
+            starts[count++] = periodStart = next;
         }
-
-        return info;
+        if (next == periodStart) {
+            // No more transitions.
+            next = Long.MIN_VALUE;
+        }
+        // The local times of an overlap before the period may extend into it.
+        long start = starts[0];
+        int previousOffset = iZone.getOffset(start);
+        long previousLocalEnd = Long.MIN_VALUE;
+        if (start != Long.MIN_VALUE) {
+            previousOffset = iZone.getOffset(start - 1);
+            // The previous transition is returned as the millisecond before it.
+            long previous = iZone.previousTransition(start);
+            if (previous < start) {
+                previousLocalEnd = previous + 1 +
+                    Math.max(iZone.getOffset(previous), iZone.getOffset(previous + 1));
+            }
+        }
+        return new Info(iZone, starts, count, next, previousOffset, previousLocalEnd);
     }
 
+    /**
+     * The offsets and name keys within one period of 2^32 milliseconds,
+     * held as the start of each run of constant offset in the period.
+     * <p>
+     * Each run also holds the local time it ends at, being the local time of
+     * the next transition, or of its end in the case of a gap. A local time
+     * in an overlap or gap therefore resolves to the earlier run, as required
+     * by {@link DateTimeZone#getOffsetFromLocal(long)}.
+     */
     private final static class Info {
-        // For first Info in chain, iPeriodStart's lower 32 bits are clear.
+        // The lower 32 bits of iPeriodStart are clear.
         public final long iPeriodStart;
-        public final DateTimeZone iZoneRef;
 
-        Info iNextInfo;
-
-        private String iNameKey;
-        private int iOffset = Integer.MIN_VALUE;
-        private int iStandardOffset = Integer.MIN_VALUE;
+        private final long[] iStarts;
+        private final int[] iOffsets;
+        private final int[] iStandardOffsets;
+        private final String[] iNameKeys;
+        // The first transition after the period, Long.MIN_VALUE if none.
+        private final long iNextTransition;
+        // The first local time resolved by the first run.
+        final long iLocalStart;
+        // The local time each run ends at, never decreasing.
+        final long[] iLocalEnds;
+
+        Info(DateTimeZone zone, long[] starts, int count, long nextTransition,
+                int previousOffset, long previousLocalEnd) {
+            iPeriodStart = starts[0];
+            iStarts = new long[count];
+            iOffsets = new int[count];
+            iStandardOffsets = new int[count];
+            iNameKeys = new String[count];
+            for (int i = 0; i < count; i++) {
+                long start = starts[i];
+                iStarts[i] = start;
+                iOffsets[i] = zone.getOffset(start);
+                iStandardOffsets[i] = zone.getStandardOffset(start);
+                iNameKeys[i] = zone.getNameKey(start);
+            }
+            iNextTransition = nextTransition;
+
+            iLocalStart = Math.max(previousLocalEnd, iStarts[0] + Math.max(previousOffset, iOffsets[0]));
+            iLocalEnds = new long[count];
+            long localEnd = iLocalStart;
+            for (int i = 0; i < count; i++) {
+                if (i + 1 < count) {
+                    localEnd = Math.max(localEnd, iStarts[i + 1] + Math.max(iOffsets[i], iOffsets[i + 1]));
+                } else if (nextTransition == Long.MIN_VALUE) {
+                    localEnd = Long.MAX_VALUE;
+                } else {
+                    int nextOffset = zone.getOffset(nextTransition);
+                    localEnd = Math.max(localEnd, nextTransition + Math.max(iOffsets[i], nextOffset));
+                }
+                iLocalEnds[i] = localEnd;
+            }
+        }
 
-        Info(DateTimeZone zone, long periodStart) {
-            iPeriodStart = periodStart;
-            iZoneRef = zone;
+        private int indexOf(long millis) {
+            long[] starts = iStarts;
+            int i = starts.length - 1;
+            while (i > 0 && millis < starts[i]) {
+                i--;
+            }
+            return i;
         }
 
         public String getNameKey(long millis) {
-            if (iNextInfo == null || millis < iNextInfo.iPeriodStart) {
-                if (iNameKey == null) {
-                    iNameKey = iZoneRef.getNameKey(iPeriodStart);
-                }
-                return iNameKey;
-            }
-            return iNextInfo.getNameKey(millis);
+            return iNameKeys[indexOf(millis)];
         }
 
         public int getOffset(long millis) {
-            if (iNextInfo == null || millis < iNextInfo.iPeriodStart) {
-                if (iOffset == Integer.MIN_VALUE) {
-                    iOffset = iZoneRef.getOffset(iPeriodStart);
-                }
-                return iOffset;
-            }
-            return iNextInfo.getOffset(millis);
+            return iOffsets[indexOf(millis)];
         }
 
         public int getStandardOffset(long millis) {
-            if (iNextInfo == null || millis < iNextInfo.iPeriodStart) {
-                if (iStandardOffset == Integer.MIN_VALUE) {
-                    iStandardOffset = iZoneRef.getStandardOffset(iPeriodStart);
-                }
-                return iStandardOffset;
+            return iStandardOffsets[indexOf(millis)];
+        }
+
+        public int getOffsetFromLocal(long instantLocal) {
+            long[] ends = iLocalEnds;
+            int i = 0;
+            while (i < ends.length - 1 && instantLocal >= ends[i]) {
+                i++;
+            }
+            return iOffsets[i];
+        }
+
+        public long nextTransition(long millis) {
+            int i = indexOf(millis) + 1;
+            if (i < iStarts.length) {
+                return iStarts[i];
             }
-            return iNextInfo.getStandardOffset(millis);
+            return iNextTransition == Long.MIN_VALUE ? millis : iNextTransition;
         }
     }
 }
@@ -28,10 +28,12 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Period;
@@ -77,6 +79,13 @@ import org.joda.time.chrono.ISOChronology;
  *     .addRecurringSavings("PDT", 3600000, 1987, 2147483647, 'w', 4, 1, 7, true, 7200000)
  *     .toDateTimeZone("America/Los_Angeles", true);
  * </pre>
+ * <p>
+ * Beyond the last precalculated transition, a built zone evaluates its
+ * recurring rules. To speed this up, the transitions of the rules are
+ * materialised into arrays as they are needed, up to the end of the year
+ * set by the system property <code>org.joda.time.DateTimeZone.TailHorizonYear</code>,
+ * 2100 by default. Setting a year before the last precalculated transition
+ * disables this.
  *
  * @author Brian S O'Neill
  * @see ZoneInfoCompiler
@@ -84,9 +93,12 @@ import org.joda.time.chrono.ISOChronology;
  * @since 1.0
  */
 public class DateTimeZoneBuilder {
+    /** The version of the compact encoding written by writeCompactTo. */
+    static final int COMPACT_VERSION = 1;
+
     /**
      * Decodes a built DateTimeZone from the given stream, as encoded by
-     * writeTo.
+     * writeTo or writeCompactTo.
      *
      * @param in input stream to read encoded DateTimeZone from.
      * @param id time zone id to assign
@@ -101,13 +113,23 @@ public class DateTimeZoneBuilder {
 
     /**
      * Decodes a built DateTimeZone from the given stream, as encoded by
-     * writeTo.
+     * writeTo or writeCompactTo.
      *
      * @param in input stream to read encoded DateTimeZone from.
      * @param id time zone id to assign
      */
     public static DateTimeZone readFrom(DataInput in, String id) throws IOException {
-        switch (in.readUnsignedByte()) {
+        int type = in.readUnsignedByte();
+        boolean compact = false;
+        if (type == 'V') {
+            int version = in.readUnsignedByte();
+            if (version != COMPACT_VERSION) {
+                throw new IOException("Unsupported encoding version: " + version);
+            }
+            type = in.readUnsignedByte();
+            compact = true;
+        }
+        switch (type) {
         case 'F':
             DateTimeZone fixed = new FixedDateTimeZone
                 (id, in.readUTF(), (int)readMillis(in), (int)readMillis(in));
@@ -116,9 +138,10 @@ public class DateTimeZoneBuilder {
             }
             return fixed;
         case 'C':
-            return CachedDateTimeZone.forZone(PrecalculatedZone.readFrom(in, id));
+            return CachedDateTimeZone.forZone(compact ?
+                PrecalculatedZone.readCompactFrom(in, id) : PrecalculatedZone.readFrom(in, id));
         case 'P':
-            return PrecalculatedZone.readFrom(in, id);
+            return compact ? PrecalculatedZone.readCompactFrom(in, id) : PrecalculatedZone.readFrom(in, id);
         default:
             throw new IOException("Invalid encoding");
         }
@@ -210,6 +233,71 @@ public class DateTimeZoneBuilder {
         }
     }
 
+    /**
+     * Writes an unsigned variable length integer, seven bits per byte with
+     * the lowest bits first and the top bit set on all but the last byte.
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7fL) != 0) {
+            out.writeByte((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads encoding generated by writeVarLong.
+     */
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid encoding");
+    }
+
+    /**
+     * Compact encoding of a non-negative duration, as a variable length integer:
+     *
+     * lower two bits  units
+     * ---------------------
+     * 00              minutes
+     * 01              seconds
+     * 10              millis
+     *
+     * Remaining bits hold the value, which must be less than 2^60.
+     */
+    static void writeCompactMillis(DataOutput out, long millis) throws IOException {
+        if (millis % 60000L == 0) {
+            writeVarLong(out, (millis / 60000L) << 2);
+        } else if (millis % 1000L == 0) {
+            writeVarLong(out, ((millis / 1000L) << 2) | 1);
+        } else {
+            writeVarLong(out, (millis << 2) | 2);
+        }
+    }
+
+    /**
+     * Reads encoding generated by writeCompactMillis.
+     */
+    static long readCompactMillis(DataInput in) throws IOException {
+        long value = readVarLong(in);
+        switch ((int) value & 3) {
+        case 0:
+            return (value >>> 2) * 60000L;
+        case 1:
+            return (value >>> 2) * 1000L;
+        case 2:
+            return value >>> 2;
+        default:
+            throw new IOException("Invalid encoding");
+        }
+    }
+
     private static DateTimeZone buildFixedZone(String id, String nameKey,
                                                int wallOffset, int standardOffset) {
         if ("UTC".equals(id) && id.equals(nameKey) &&
@@ -474,6 +562,57 @@ public class DateTimeZoneBuilder {
         }
     }
 
+    /**
+     * Encodes a built DateTimeZone to the given stream in the compact format.
+     * Call readFrom to decode the data into a DateTimeZone object.
+     * <p>
+     * The compact format starts with a version, and encodes the transitions
+     * as the difference from the previous one, and the offsets, as variable
+     * length integers. It is typically a third smaller than the format of
+     * {@link #writeTo(String, OutputStream)}.
+     *
+     * @param zoneID  the zone id
+     * @param out  the output stream to receive the encoded DateTimeZone
+     * @since 2.2
+     */
+    public void writeCompactTo(String zoneID, OutputStream out) throws IOException {
+        if (out instanceof DataOutput) {
+            writeCompactTo(zoneID, (DataOutput)out);
+        } else {
+            writeCompactTo(zoneID, (DataOutput)new DataOutputStream(out));
+        }
+    }
+
+    /**
+     * Encodes a built DateTimeZone to the given stream in the compact format.
+     * Call readFrom to decode the data into a DateTimeZone object.
+     *
+     * @param zoneID  the zone id
+     * @param out  the output stream to receive the encoded DateTimeZone
+     * @since 2.2
+     */
+    public void writeCompactTo(String zoneID, DataOutput out) throws IOException {
+        // pass false so zone id is not written out
+        DateTimeZone zone = toDateTimeZone(zoneID, false);
+
+        out.writeByte('V');
+        out.writeByte(COMPACT_VERSION);
+        if (zone instanceof FixedDateTimeZone) {
+            out.writeByte('F');
+            out.writeUTF(zone.getNameKey(0));
+            writeMillis(out, zone.getOffset(0));
+            writeMillis(out, zone.getStandardOffset(0));
+        } else {
+            if (zone instanceof CachedDateTimeZone) {
+                out.writeByte('C');
+                zone = ((CachedDateTimeZone)zone).getUncachedZone();
+            } else {
+                out.writeByte('P');
+            }
+            ((PrecalculatedZone)zone).writeCompactTo(out);
+        }
+    }
+
     /**
      * Supports setting fields of year and moving between transitions.
      */
@@ -1196,43 +1335,33 @@ public class DateTimeZoneBuilder {
         }
 
         public long nextTransition(long instant) {
-            int standardOffset = iStandardOffset;
-            Recurrence startRecurrence = iStartRecurrence;
-            Recurrence endRecurrence = iEndRecurrence;
-
-            long start, end;
-
-            try {
-                start = startRecurrence.next
-                    (instant, standardOffset, endRecurrence.getSaveMillis());
-                if (instant > 0 && start < 0) {
-                    // Overflowed.
-                    start = instant;
-                }
-            } catch (IllegalArgumentException e) {
-                // Overflowed.
-                start = instant;
-            } catch (ArithmeticException e) {
-                // Overflowed.
-                start = instant;
-            }
+            long start = nextTransition(iStartRecurrence, iEndRecurrence, instant);
+            long end = nextTransition(iEndRecurrence, iStartRecurrence, instant);
+            return (start > end) ? end : start;
+        }
 
+        /**
+         * Gets the next transition of one recurrence, or the instant if it overflows.
+         */
+        private long nextTransition(Recurrence recurrence, Recurrence other, long instant) {
             try {
-                end = endRecurrence.next
-                    (instant, standardOffset, startRecurrence.getSaveMillis());
-                if (instant > 0 && end < 0) {
+                long next = recurrence.next(instant, iStandardOffset, other.getSaveMillis());
+                if (instant > 0 && next < 0) {
                     // Overflowed.
-                    end = instant;
+                    return instant;
                 }
+                return next;
             } catch (IllegalArgumentException e) {
                 // Overflowed.
-                end = instant;
+                return instant;
             } catch (ArithmeticException e) {
                 // Overflowed.
-                end = instant;
+                return instant;
             }
+        }
 
-            return (start > end) ? end : start;
+        public Iterator<ZoneTransition> transitionIterator(long startInstant, long endInstant) {
+            return new TransitionIterator(startInstant, endInstant);
         }
 
         public long previousTransition(long instant) {
@@ -1300,6 +1429,62 @@ public class DateTimeZoneBuilder {
             iEndRecurrence.writeTo(out);
         }
 
+        /**
+         * Iterates over the transitions, advancing only the recurrence of each
+         * transition returned.
+         */
+        private final class TransitionIterator implements Iterator<ZoneTransition> {
+            private final long iEndInstant;
+            // The next transitions of each recurrence, or the end instant if none.
+            private long iNextStart;
+            private long iNextEnd;
+
+            TransitionIterator(long startInstant, long endInstant) {
+                iEndInstant = endInstant;
+                iNextStart = endInstant;
+                iNextEnd = endInstant;
+                if (startInstant < endInstant) {
+                    long instant = (startInstant == Long.MIN_VALUE ? startInstant : startInstant - 1);
+                    iNextStart = limit(instant, nextTransition(iStartRecurrence, iEndRecurrence, instant));
+                    iNextEnd = limit(instant, nextTransition(iEndRecurrence, iStartRecurrence, instant));
+                }
+            }
+
+            private long limit(long instant, long next) {
+                return (next <= instant || next >= iEndInstant ? iEndInstant : next);
+            }
+
+            public boolean hasNext() {
+                return Math.min(iNextStart, iNextEnd) < iEndInstant;
+            }
+
+            public ZoneTransition next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int startOffset = iStandardOffset + iStartRecurrence.getSaveMillis();
+                int endOffset = iStandardOffset + iEndRecurrence.getSaveMillis();
+                ZoneTransition transition;
+                long millis;
+                if (iNextStart <= iNextEnd) {
+                    millis = iNextStart;
+                    transition = new ZoneTransition(millis, endOffset, startOffset, iStartRecurrence.getNameKey());
+                    iNextStart = limit(millis, nextTransition(iStartRecurrence, iEndRecurrence, millis));
+                } else {
+                    millis = iNextEnd;
+                    transition = new ZoneTransition(millis, startOffset, endOffset, iEndRecurrence.getNameKey());
+                }
+                if (iNextEnd <= millis) {
+                    iNextEnd = limit(millis, nextTransition(iEndRecurrence, iStartRecurrence, millis));
+                }
+                return transition;
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        }
+
         private Recurrence findMatchingRecurrence(long instant) {
             int standardOffset = iStandardOffset;
             Recurrence startRecurrence = iStartRecurrence;
@@ -1336,6 +1521,29 @@ public class DateTimeZoneBuilder {
     private static final class PrecalculatedZone extends DateTimeZone {
         private static final long serialVersionUID = 7811976468055766265L;
 
+        /** The step by which the tail transitions are extended, about eight years. */
+        private static final long TAIL_STEP = 8L * 365 * DateTimeConstants.MILLIS_PER_DAY;
+        /** The instant from which the tail zone is always evaluated. */
+        private static final long cTailHorizon;
+
+        static {
+            int year;
+            try {
+                year = Integer.getInteger("org.joda.time.DateTimeZone.TailHorizonYear", 2100).intValue();
+            } catch (SecurityException e) {
+                year = 2100;
+            }
+            // Restrict the year so that the arithmetic cannot overflow.
+            long y = Math.max(-1000000, Math.min(year, 1000000));
+            // days from 0001-01-01 to the start of the next year, less those to 1970-01-01
+            long days = 365 * y + floorDiv(y, 4) - floorDiv(y, 100) + floorDiv(y, 400) - 719162;
+            cTailHorizon = days * DateTimeConstants.MILLIS_PER_DAY;
+        }
+
+        private static long floorDiv(long value, long divisor) {
+            return (value >= 0 ? value / divisor : (value - divisor + 1) / divisor);
+        }
+
         static PrecalculatedZone readFrom(DataInput in, String id) throws IOException {
             // Read string pool.
             int poolSize = in.readUnsignedShort();
@@ -1376,6 +1584,47 @@ public class DateTimeZoneBuilder {
                 (id, transitions, wallOffsets, standardOffsets, nameKeys, tailZone);
         }
 
+        static PrecalculatedZone readCompactFrom(DataInput in, String id) throws IOException {
+            // Read the distinct offsets and name keys, sharing the strings between zones.
+            int typeCount = (int) readVarLong(in);
+            int[] typeWallOffsets = new int[typeCount];
+            int[] typeStandardOffsets = new int[typeCount];
+            String[] typeNameKeys = new String[typeCount];
+            for (int i=0; i<typeCount; i++) {
+                typeWallOffsets[i] = (int) readMillis(in);
+                typeStandardOffsets[i] = (int) readMillis(in);
+                typeNameKeys[i] = in.readUTF().intern();
+            }
+
+            int size = (int) readVarLong(in);
+            long[] transitions = new long[size];
+            int[] wallOffsets = new int[size];
+            int[] standardOffsets = new int[size];
+            String[] nameKeys = new String[size];
+
+            long millis = 0;
+            for (int i=0; i<size; i++) {
+                long delta = (i == 0 ? 0 : readCompactMillis(in));
+                millis = (delta > 0 ? millis + delta : readMillis(in));
+                transitions[i] = millis;
+                int type = (int) readVarLong(in);
+                if (type < 0 || type >= typeCount) {
+                    throw new IOException("Invalid encoding");
+                }
+                wallOffsets[i] = typeWallOffsets[type];
+                standardOffsets[i] = typeStandardOffsets[type];
+                nameKeys[i] = typeNameKeys[type];
+            }
+
+            DSTZone tailZone = null;
+            if (in.readBoolean()) {
+                tailZone = DSTZone.readFrom(in, id);
+            }
+
+            return new PrecalculatedZone
+                (id, transitions, wallOffsets, standardOffsets, nameKeys, tailZone);
+        }
+
         /**
          * Factory to create instance from builder.
          * 
@@ -1491,6 +1740,23 @@ public class DateTimeZoneBuilder {
 
         private final DSTZone iTailZone;
 
+        /**
+         * The local time at which the period ending at each transition stops
+         * being resolved to, never decreasing. This is the later of the local
+         * times of the transition, covering both an overlap and a gap.
+         */
+        private final long[] iLocalEnds;
+
+        /**
+         * The transitions of the tail zone materialised so far, null until needed.
+         */
+        private volatile TailTransitions iTailTransitions;
+        /**
+         * The lock held while extending the tail transitions, private so that
+         * locking on the zone itself cannot block the extension.
+         */
+        private final Object iTailLock = new Object();
+
         /**
          * Constructor used ONLY for valid input, loaded via static methods.
          */
@@ -1503,6 +1769,16 @@ public class DateTimeZoneBuilder {
             iStandardOffsets = standardOffsets;
             iNameKeys = nameKeys;
             iTailZone = tailZone;
+
+            int length = transitions.length;
+            iLocalEnds = new long[length];
+            long localEnd = Long.MIN_VALUE;
+            int offset = 0;
+            for (int i = 0; i < length; i++) {
+                localEnd = Math.max(localEnd, transitions[i] + Math.max(offset, wallOffsets[i]));
+                iLocalEnds[i] = localEnd;
+                offset = wallOffsets[i];
+            }
         }
 
         public String getNameKey(long instant) {
@@ -1521,6 +1797,10 @@ public class DateTimeZoneBuilder {
             if (iTailZone == null) {
                 return iNameKeys[i - 1];
             }
+            TailTransitions tail = getTailTransitions(instant);
+            if (tail != null) {
+                return tail.iNameKeys[tail.index(instant)];
+            }
             return iTailZone.getNameKey(instant);
         }
 
@@ -1540,9 +1820,82 @@ public class DateTimeZoneBuilder {
             if (iTailZone == null) {
                 return iWallOffsets[i - 1];
             }
+            return getTailOffset(instant);
+        }
+
+        public int getOffsetFromLocal(long instantLocal) {
+            long[] ends = iLocalEnds;
+            int length = ends.length;
+            if (length == 0 || instantLocal >= ends[length - 1]) {
+                // Resolved by the tail zone.
+                return super.getOffsetFromLocal(instantLocal);
+            }
+            // Find the first period ending after the local time, which is the
+            // earlier period in an overlap and the one before a gap.
+            int low = 0;
+            int high = length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (instantLocal < ends[mid]) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return (low == 0 ? 0 : iWallOffsets[low - 1]);
+        }
+
+        public void getOffsets(long[] instants, int[] offsets) {
+            if (offsets.length < instants.length) {
+                throw new IllegalArgumentException("Offsets array is shorter than instants array");
+            }
+            long[] transitions = iTransitions;
+            int last = transitions.length;
+            // The number of transitions at or before the current instant.
+            int count = 0;
+            for (int i = 0; i < instants.length; i++) {
+                long instant = instants[i];
+                if (count > 0 && instant < transitions[count - 1]) {
+                    count = search(transitions, instant);
+                } else {
+                    // Sorted input moves forward by one transition at a time.
+                    if (count < last && instant >= transitions[count]) {
+                        count++;
+                        if (count < last && instant >= transitions[count]) {
+                            count = search(transitions, instant);
+                        }
+                    }
+                }
+                if (count == 0) {
+                    offsets[i] = 0;
+                } else if (count < last || iTailZone == null) {
+                    offsets[i] = iWallOffsets[count - 1];
+                } else {
+                    offsets[i] = getTailOffset(instant);
+                }
+            }
+        }
+
+        /**
+         * Gets the offset of an instant after the last transition, using the
+         * materialised tail transitions if possible.
+         */
+        private int getTailOffset(long instant) {
+            TailTransitions tail = getTailTransitions(instant);
+            if (tail != null) {
+                return tail.iWallOffsets[tail.index(instant)];
+            }
             return iTailZone.getOffset(instant);
         }
 
+        /**
+         * Gets the number of transitions at or before the instant.
+         */
+        private static int search(long[] transitions, long instant) {
+            int i = Arrays.binarySearch(transitions, instant);
+            return (i >= 0 ? i + 1 : ~i);
+        }
+
         public int getStandardOffset(long instant) {
             long[] transitions = iTransitions;
             int i = Arrays.binarySearch(transitions, instant);
@@ -1580,9 +1933,20 @@ public class DateTimeZoneBuilder {
             if (instant < end) {
                 instant = end;
             }
+            TailTransitions tail = getTailTransitions(instant);
+            if (tail != null) {
+                long next = tail.nextTransition(instant);
+                if (next > instant) {
+                    return next;
+                }
+            }
             return iTailZone.nextTransition(instant);
         }
 
+        public Iterator<ZoneTransition> transitionIterator(long startInstant, long endInstant) {
+            return new TransitionIterator(startInstant, endInstant);
+        }
+
         public long previousTransition(long instant) {
             long[] transitions = iTransitions;
             int i = Arrays.binarySearch(transitions, instant);
@@ -1603,7 +1967,14 @@ public class DateTimeZoneBuilder {
                 return instant;
             }
             if (iTailZone != null) {
-                long prev = iTailZone.previousTransition(instant);
+                long prev = instant;
+                TailTransitions tail = getTailTransitions(instant);
+                if (tail != null) {
+                    prev = tail.previousTransition(instant);
+                }
+                if (prev == instant) {
+                    prev = iTailZone.previousTransition(instant);
+                }
                 if (prev < instant) {
                     return prev;
                 }
@@ -1615,6 +1986,73 @@ public class DateTimeZoneBuilder {
             return instant;
         }
 
+        /**
+         * Gets the materialised transitions of the tail zone covering an
+         * instant after the last transition, extending them if necessary.
+         *
+         * @param instant  the instant, after the last transition
+         * @return the tail transitions, null if the instant is beyond the horizon
+         */
+        private TailTransitions getTailTransitions(long instant) {
+            if (instant >= cTailHorizon || iTransitions.length == 0) {
+                return null;
+            }
+            TailTransitions tail = iTailTransitions;
+            if (tail == null || instant >= tail.iEnd) {
+                tail = extendTailTransitions(instant);
+            }
+            return tail;
+        }
+
+        /**
+         * Extends the tail transitions to cover an instant, unless another
+         * thread already has.
+         *
+         * @param instant  the instant, after the last transition
+         * @return the tail transitions covering the instant
+         */
+        private TailTransitions extendTailTransitions(long instant) {
+            synchronized (iTailLock) {
+                TailTransitions tail = iTailTransitions;
+                if (tail != null && instant < tail.iEnd) {
+                    return tail;
+                }
+                if (tail == null) {
+                    // The first entry holds the offset in effect after the last transition.
+                    long last = iTransitions[iTransitions.length - 1];
+                    tail = new TailTransitions(new long[] {last},
+                        new int[] {iTailZone.getOffset(last + 1)},
+                        new String[] {iTailZone.getNameKey(last + 1)}, last + 1);
+                }
+                // Extend by whole steps to avoid copying the arrays for each year.
+                long start = tail.iEnd;
+                long end = start + TAIL_STEP * ((instant - start) / TAIL_STEP + 1);
+                end = Math.min(end, cTailHorizon);
+
+                ArrayList<ZoneTransition> added = new ArrayList<ZoneTransition>();
+                Iterator<ZoneTransition> it = iTailZone.transitionIterator(start, end);
+                while (it.hasNext()) {
+                    added.add(it.next());
+                }
+                int size = tail.iTransitions.length;
+                long[] transitions = new long[size + added.size()];
+                int[] wallOffsets = new int[transitions.length];
+                String[] nameKeys = new String[transitions.length];
+                System.arraycopy(tail.iTransitions, 0, transitions, 0, size);
+                System.arraycopy(tail.iWallOffsets, 0, wallOffsets, 0, size);
+                System.arraycopy(tail.iNameKeys, 0, nameKeys, 0, size);
+                for (int i = 0; i < added.size(); i++) {
+                    ZoneTransition transition = added.get(i);
+                    transitions[size + i] = transition.getMillis();
+                    wallOffsets[size + i] = transition.getOffsetAfter();
+                    nameKeys[size + i] = transition.getNameKey();
+                }
+                tail = new TailTransitions(transitions, wallOffsets, nameKeys, end);
+                iTailTransitions = tail;
+                return tail;
+            }
+        }
+
         public boolean equals(Object obj) {
             if (this == obj) {
                 return true;
@@ -1686,6 +2124,159 @@ public class DateTimeZoneBuilder {
             }
         }
 
+        public void writeCompactTo(DataOutput out) throws IOException {
+            int size = iTransitions.length;
+
+            // Each distinct combination of offsets and name key is a type,
+            // numbered in order of first use.
+            int[] typeOf = new int[size];
+            int[] firsts = new int[size];
+            int typeCount = 0;
+            for (int i=0; i<size; i++) {
+                int type = 0;
+                while (type < typeCount) {
+                    int first = firsts[type];
+                    if (iWallOffsets[first] == iWallOffsets[i] &&
+                        iStandardOffsets[first] == iStandardOffsets[i] &&
+                        iNameKeys[first].equals(iNameKeys[i])) {
+                        break;
+                    }
+                    type++;
+                }
+                if (type == typeCount) {
+                    firsts[typeCount++] = i;
+                }
+                typeOf[i] = type;
+            }
+            writeVarLong(out, typeCount);
+            for (int type=0; type<typeCount; type++) {
+                int first = firsts[type];
+                writeMillis(out, iWallOffsets[first]);
+                writeMillis(out, iStandardOffsets[first]);
+                out.writeUTF(iNameKeys[first]);
+            }
+
+            writeVarLong(out, size);
+            for (int i=0; i<size; i++) {
+                // Each transition is the difference from the previous one,
+                // or zero followed by the transition if out of range.
+                if (i > 0) {
+                    long delta = iTransitions[i] - iTransitions[i - 1];
+                    if (delta > 0 && delta < (1L << 60)) {
+                        writeCompactMillis(out, delta);
+                    } else {
+                        writeCompactMillis(out, 0);
+                        writeMillis(out, iTransitions[i]);
+                    }
+                } else {
+                    writeMillis(out, iTransitions[i]);
+                }
+                writeVarLong(out, typeOf[i]);
+            }
+
+            out.writeBoolean(iTailZone != null);
+            if (iTailZone != null) {
+                iTailZone.writeTo(out);
+            }
+        }
+
+        /**
+         * The transitions of the tail zone from the last precalculated
+         * transition up to an end instant. The first entry is the last
+         * precalculated transition, holding the offset and name key in effect
+         * after it.
+         * <p>
+         * TailTransitions is immutable, and replaced whenever it is extended.
+         */
+        private static final class TailTransitions {
+            final long[] iTransitions;
+            final int[] iWallOffsets;
+            final String[] iNameKeys;
+            /** The instant before which all the transitions are held. */
+            final long iEnd;
+
+            TailTransitions(long[] transitions, int[] wallOffsets, String[] nameKeys, long end) {
+                iTransitions = transitions;
+                iWallOffsets = wallOffsets;
+                iNameKeys = nameKeys;
+                iEnd = end;
+            }
+
+            /**
+             * Gets the index of the entry in effect at an instant from the
+             * first entry and before the end.
+             */
+            int index(long instant) {
+                int i = Arrays.binarySearch(iTransitions, instant);
+                return (i >= 0 ? i : ~i - 1);
+            }
+
+            long nextTransition(long instant) {
+                int i = index(instant) + 1;
+                return (i < iTransitions.length ? iTransitions[i] : instant);
+            }
+
+            long previousTransition(long instant) {
+                int i = index(instant);
+                return (i > 0 ? iTransitions[i] - 1 : instant);
+            }
+        }
+
+        /**
+         * Iterates over the transitions array, then the tail zone.
+         */
+        private final class TransitionIterator implements Iterator<ZoneTransition> {
+            private final long iStartInstant;
+            private final long iEndInstant;
+            private int iIndex;
+            private Iterator<ZoneTransition> iTail;
+
+            TransitionIterator(long startInstant, long endInstant) {
+                if (startInstant == Long.MIN_VALUE) {
+                    // the initial offset is not a transition
+                    startInstant++;
+                }
+                iStartInstant = startInstant;
+                iEndInstant = endInstant;
+                int i = Arrays.binarySearch(iTransitions, startInstant);
+                iIndex = (i >= 0 ? i : ~i);
+            }
+
+            public boolean hasNext() {
+                long[] transitions = iTransitions;
+                if (iIndex < transitions.length) {
+                    return transitions[iIndex] < iEndInstant;
+                }
+                if (iTailZone == null) {
+                    return false;
+                }
+                if (iTail == null) {
+                    long start = iStartInstant;
+                    if (transitions.length > 0) {
+                        start = Math.max(start, transitions[transitions.length - 1] + 1);
+                    }
+                    iTail = iTailZone.transitionIterator(start, iEndInstant);
+                }
+                return iTail.hasNext();
+            }
+
+            public ZoneTransition next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (iTail != null) {
+                    return iTail.next();
+                }
+                int i = iIndex++;
+                int offsetBefore = (i == 0 ? 0 : iWallOffsets[i - 1]);
+                return new ZoneTransition(iTransitions[i], offsetBefore, iWallOffsets[i], iNameKeys[i]);
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        }
+
         public boolean isCachable() {
             if (iTailZone != null) {
                 return true;
@@ -15,6 +15,8 @@
  */
 package org.joda.time.tz;
 
+import java.util.Arrays;
+
 import org.joda.time.DateTimeZone;
 
 /**
@@ -49,6 +51,13 @@ public final class FixedDateTimeZone extends DateTimeZone {
         return iWallOffset;
     }
 
+    public void getOffsets(long[] instants, int[] offsets) {
+        if (offsets.length < instants.length) {
+            throw new IllegalArgumentException("Offsets array is shorter than instants array");
+        }
+        Arrays.fill(offsets, 0, instants.length, iWallOffset);
+    }
+
     public int getStandardOffset(long instant) {
         return iStandardOffset;
     }
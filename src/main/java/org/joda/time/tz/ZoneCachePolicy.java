@@ -0,0 +1,177 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.tz;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * ZoneCachePolicy controls how a {@link ZoneInfoProvider} holds the zones it has loaded.
+ * <p>
+ * Up to the pinned count of the most recently used zones are held strongly,
+ * so the garbage collector never clears them. The other loaded zones are held
+ * by soft or weak references, and are read and decoded again if cleared.
+ * A zone displaced from the pinned zones is held by a reference, and is pinned
+ * again when it is next used if it has not been cleared.
+ * <p>
+ * Zones pinned by {@link ZoneInfoProvider#preload} are held strongly regardless
+ * of the policy, and do not count towards the pinned count.
+ * <p>
+ * ZoneCachePolicy is thread-safe and immutable.
+ *
+ * @since 2.2
+ */
+public final class ZoneCachePolicy {
+
+    /** The default policy, holding all zones by soft references. */
+    private static final ZoneCachePolicy SOFT = new ZoneCachePolicy(0, false);
+    /** The policy that holds all zones strongly. */
+    private static final ZoneCachePolicy STRONG = new ZoneCachePolicy(Integer.MAX_VALUE, false);
+
+    /** The maximum number of zones to pin. */
+    private final int iPinnedCount;
+    /** Whether unpinned zones are held weakly rather than softly. */
+    private final boolean iWeak;
+
+    /**
+     * Gets the policy that holds all zones by soft references, as
+     * ZoneInfoProvider has always done.
+     *
+     * @return the policy, not null
+     */
+    public static ZoneCachePolicy soft() {
+        return SOFT;
+    }
+
+    /**
+     * Gets a policy that pins the most recently used zones, and holds the
+     * others by soft references, which are only cleared under memory pressure.
+     *
+     * @param pinnedCount  the maximum number of zones to pin, zero or more
+     * @return the policy, not null
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public static ZoneCachePolicy soft(int pinnedCount) {
+        return (pinnedCount == 0 ? SOFT : new ZoneCachePolicy(pinnedCount, false));
+    }
+
+    /**
+     * Gets a policy that pins the most recently used zones, and holds the
+     * others by weak references, which are cleared by the next collection.
+     *
+     * @param pinnedCount  the maximum number of zones to pin, zero or more
+     * @return the policy, not null
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public static ZoneCachePolicy weak(int pinnedCount) {
+        return new ZoneCachePolicy(pinnedCount, true);
+    }
+
+    /**
+     * Gets the policy that pins every zone once loaded.
+     *
+     * @return the policy, not null
+     */
+    public static ZoneCachePolicy strong() {
+        return STRONG;
+    }
+
+    /**
+     * Restricted constructor.
+     *
+     * @param pinnedCount  the maximum number of zones to pin
+     * @param weak  whether to use weak references
+     */
+    private ZoneCachePolicy(int pinnedCount, boolean weak) {
+        if (pinnedCount < 0) {
+            throw new IllegalArgumentException("Invalid pinned count: " + pinnedCount);
+        }
+        iPinnedCount = pinnedCount;
+        iWeak = weak;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the maximum number of zones held strongly.
+     *
+     * @return the pinned count, Integer.MAX_VALUE if all zones are pinned
+     */
+    public int getPinnedCount() {
+        return iPinnedCount;
+    }
+
+    /**
+     * Checks whether the zones that are not pinned are held by weak references.
+     *
+     * @return true if weak references are used, false if soft
+     */
+    public boolean isWeak() {
+        return iWeak;
+    }
+
+    /**
+     * Creates the reference to hold a zone that is not pinned.
+     *
+     * @param zone  the zone to hold, not null
+     * @return the reference
+     */
+    Reference<DateTimeZone> reference(DateTimeZone zone) {
+        if (iWeak) {
+            return new WeakReference<DateTimeZone>(zone);
+        }
+        return new SoftReference<DateTimeZone>(zone);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares this policy with another.
+     *
+     * @param obj  the object to compare to
+     * @return true if equal
+     */
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof ZoneCachePolicy) {
+            ZoneCachePolicy other = (ZoneCachePolicy) obj;
+            return iPinnedCount == other.iPinnedCount && iWeak == other.iWeak;
+        }
+        return false;
+    }
+
+    /**
+     * Gets a hash code compatible with equals.
+     *
+     * @return the hash code
+     */
+    public int hashCode() {
+        return iPinnedCount * 2 + (iWeak ? 1 : 0);
+    }
+
+    /**
+     * Outputs a description of the policy.
+     *
+     * @return the description, such as 'ZoneCachePolicy[pinned=20,soft]'
+     */
+    public String toString() {
+        return "ZoneCachePolicy[pinned=" + iPinnedCount + (iWeak ? ",weak]" : ",soft]");
+    }
+
+}
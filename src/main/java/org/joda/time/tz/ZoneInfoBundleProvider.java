@@ -0,0 +1,383 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.tz;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * ZoneInfoBundleProvider loads zones from the single bundle file written by
+ * {@link ZoneInfoCompiler} when run with the <code>-bundle</code> option.
+ * <p>
+ * The bundle is memory-mapped when it is a file, and only its index is read
+ * up front. Each zone is decoded straight from the mapped buffer the first
+ * time it is requested, and then retained.
+ * <p>
+ * The no-arg constructor reads the bundle compiled into the Joda-Time jar,
+ * so this provider can be selected with the system property
+ * <code>org.joda.time.DateTimeZone.Provider</code>.
+ * <p>
+ * The jar also keeps the per-zone files, which add about 30kb compressed, as
+ * {@link ZoneInfoProvider} remains the default provider and reads them, as
+ * may custom providers built on it.
+ * <p>
+ * ZoneInfoBundleProvider is thread-safe and publicly immutable.
+ *
+ * @since 2.2
+ */
+public class ZoneInfoBundleProvider implements Provider {
+
+    /** The version of the bundle format. */
+    static final int VERSION = 1;
+    /** The resource path of the default bundle. */
+    private static final String DEFAULT_RESOURCE = "org/joda/time/tz/data/ZoneInfoBundle";
+
+    /** The bundle, never repositioned. */
+    private final ByteBuffer iBuffer;
+    /** Maps ids to the offset and length of their data in the buffer. */
+    private final Map<String, int[]> iIndex;
+    /** Maps alias ids to zone ids. */
+    private final Map<String, String> iAliases;
+    /** The zones decoded so far. */
+    private final ConcurrentMap<String, DateTimeZone> iZones;
+
+    /**
+     * ZoneInfoBundleProvider reads the bundle compiled into the Joda-Time jar.
+     * The bundle is memory-mapped if it is available as a file.
+     *
+     * @throws IOException if the bundle cannot be read
+     */
+    public ZoneInfoBundleProvider() throws IOException {
+        this(loadResource(DEFAULT_RESOURCE));
+    }
+
+    /**
+     * ZoneInfoBundleProvider memory-maps the given bundle file.
+     *
+     * @param file  the bundle file, not null
+     * @throws IOException if the file cannot be read
+     */
+    public ZoneInfoBundleProvider(File file) throws IOException {
+        this(mapFile(file));
+    }
+
+    /**
+     * ZoneInfoBundleProvider reads the bundle from the remaining bytes of
+     * the given buffer. The buffer contents must not be changed afterwards.
+     *
+     * @param buffer  the buffer holding the bundle, not null
+     * @throws IOException if the bundle is invalid
+     */
+    public ZoneInfoBundleProvider(ByteBuffer buffer) throws IOException {
+        if (buffer == null) {
+            throw new IllegalArgumentException("No buffer provided");
+        }
+        iBuffer = buffer.slice();
+        iIndex = new ConcurrentHashMap<String, int[]>();
+        iAliases = new ConcurrentHashMap<String, String>();
+        iZones = new ConcurrentHashMap<String, DateTimeZone>();
+        readIndex();
+        iZones.put("UTC", DateTimeZone.UTC);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * If an error is thrown while loading zone data, uncaughtException is
+     * called to log the error and null is returned for this and all future
+     * requests.
+     *
+     * @param id  the id to load
+     * @return the loaded zone
+     */
+    public DateTimeZone getZone(String id) {
+        if (id == null) {
+            return null;
+        }
+        DateTimeZone zone = iZones.get(id);
+        if (zone != null) {
+            return zone;
+        }
+        String target = iAliases.get(id);
+        if (target != null) {
+            return getZone(target);
+        }
+        int[] entry = iIndex.get(id);
+        if (entry == null) {
+            return null;
+        }
+        return loadZoneData(id, entry);
+    }
+
+    /**
+     * Gets a list of all the available zone ids.
+     *
+     * @return the zone ids
+     */
+    public Set<String> getAvailableIDs() {
+        Set<String> ids = new TreeSet<String>(iIndex.keySet());
+        ids.addAll(iAliases.keySet());
+        ids.add("UTC");
+        return ids;
+    }
+
+    /**
+     * Called if an exception is thrown from getZone while loading zone data.
+     *
+     * @param ex  the exception
+     */
+    protected void uncaughtException(Exception ex) {
+        Thread t = Thread.currentThread();
+        t.getThreadGroup().uncaughtException(t, ex);
+    }
+
+    /**
+     * Decodes the time zone data for one id from the buffer.
+     *
+     * @param id  the id to load
+     * @param entry  the offset and length of the data
+     * @return the zone
+     */
+    private DateTimeZone loadZoneData(String id, int[] entry) {
+        try {
+            ByteBuffer buf = iBuffer.duplicate();
+            buf.limit(entry[0] + entry[1]);
+            buf.position(entry[0]);
+            DateTimeZone zone = DateTimeZoneBuilder.readFrom(new ByteBufferDataInput(buf), id);
+            DateTimeZone existing = iZones.putIfAbsent(id, zone);
+            return (existing != null ? existing : zone);
+        } catch (IOException ex) {
+            uncaughtException(ex);
+            iIndex.remove(id);
+            return null;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Reads the index of zones and aliases at the start of the bundle.
+     */
+    private void readIndex() throws IOException {
+        ByteBufferDataInput in = new ByteBufferDataInput(iBuffer.duplicate());
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported zone info bundle version: " + version);
+        }
+        int size = in.readInt();
+        String[] ids = new String[size];
+        int[][] entries = new int[size][];
+        for (int i = 0; i < size; i++) {
+            ids[i] = in.readUTF().intern();
+            entries[i] = new int[] {in.readInt(), in.readInt()};
+        }
+        size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            iAliases.put(in.readUTF().intern(), in.readUTF().intern());
+        }
+
+        // Offsets are relative to the data, which follows the index.
+        int dataStart = in.position();
+        int dataLength = iBuffer.capacity() - dataStart;
+        for (int i = 0; i < ids.length; i++) {
+            int[] entry = entries[i];
+            if (entry[0] < 0 || entry[1] < 0 || entry[0] > dataLength - entry[1]) {
+                throw new IOException("Corrupt zone info bundle");
+            }
+            entry[0] += dataStart;
+            iIndex.put(ids[i], entry);
+        }
+    }
+
+    /**
+     * Memory-maps a bundle file.
+     *
+     * @param file  the file to map
+     * @return the mapped buffer
+     */
+    private static ByteBuffer mapFile(File file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("No file provided");
+        }
+        if (!file.isFile()) {
+            throw new IOException("File doesn't exist: " + file);
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            // The mapping remains valid after the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Loads a bundle from the classpath, mapping it if it is a file.
+     *
+     * @param path  the resource path
+     * @return the buffer
+     */
+    private static ByteBuffer loadResource(String path) throws IOException {
+        ClassLoader loader = ZoneInfoBundleProvider.class.getClassLoader();
+        URL url = (loader != null ? loader.getResource(path) : ClassLoader.getSystemResource(path));
+        if (url == null) {
+            throw new IOException("Resource not found: \"" + path + "\"");
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return mapFile(new File(url.toURI()));
+            } catch (URISyntaxException ex) {
+                // fall through to read the stream
+            }
+        }
+        InputStream in = url.openStream();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = in.read(buf)) > 0) {
+                out.write(buf, 0, len);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        } finally {
+            in.close();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Reads the big-endian values written by a DataOutput from a buffer.
+     */
+    static final class ByteBufferDataInput implements DataInput {
+        private final ByteBuffer iBuf;
+
+        ByteBufferDataInput(ByteBuffer buf) {
+            iBuf = buf;
+        }
+
+        int position() {
+            return iBuf.position();
+        }
+
+        private void require(int length) throws EOFException {
+            if (iBuf.remaining() < length) {
+                throw new EOFException();
+            }
+        }
+
+        public void readFully(byte[] b) throws IOException {
+            readFully(b, 0, b.length);
+        }
+
+        public void readFully(byte[] b, int off, int len) throws IOException {
+            require(len);
+            iBuf.get(b, off, len);
+        }
+
+        public int skipBytes(int n) {
+            int skip = Math.max(0, Math.min(n, iBuf.remaining()));
+            iBuf.position(iBuf.position() + skip);
+            return skip;
+        }
+
+        public boolean readBoolean() throws IOException {
+            return readByte() != 0;
+        }
+
+        public byte readByte() throws IOException {
+            require(1);
+            return iBuf.get();
+        }
+
+        public int readUnsignedByte() throws IOException {
+            return readByte() & 0xff;
+        }
+
+        public short readShort() throws IOException {
+            require(2);
+            return iBuf.getShort();
+        }
+
+        public int readUnsignedShort() throws IOException {
+            return readShort() & 0xffff;
+        }
+
+        public char readChar() throws IOException {
+            require(2);
+            return iBuf.getChar();
+        }
+
+        public int readInt() throws IOException {
+            require(4);
+            return iBuf.getInt();
+        }
+
+        public long readLong() throws IOException {
+            require(8);
+            return iBuf.getLong();
+        }
+
+        public float readFloat() throws IOException {
+            return Float.intBitsToFloat(readInt());
+        }
+
+        public double readDouble() throws IOException {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        public String readLine() {
+            if (iBuf.hasRemaining() == false) {
+                return null;
+            }
+            StringBuilder buf = new StringBuilder();
+            while (iBuf.hasRemaining()) {
+                int c = iBuf.get() & 0xff;
+                if (c == '\n') {
+                    break;
+                }
+                if (c == '\r') {
+                    if (iBuf.hasRemaining() && iBuf.get(iBuf.position()) == '\n') {
+                        iBuf.get();
+                    }
+                    break;
+                }
+                buf.append((char) c);
+            }
+            return buf.toString();
+        }
+
+        public String readUTF() throws IOException {
+            return DataInputStream.readUTF(this);
+        }
+    }
+
+}
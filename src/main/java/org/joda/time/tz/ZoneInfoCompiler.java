@@ -15,7 +15,10 @@
  */
 package org.joda.time.tz;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -24,6 +27,8 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +37,11 @@ import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
@@ -61,6 +71,14 @@ import org.joda.time.format.ISODateTimeFormat;
  * @since 1.0
  */
 public class ZoneInfoCompiler {
+    /**
+     * The version of the fingerprints, to be changed whenever the same
+     * source would compile to a different zone file.
+     */
+    static final int FINGERPRINT_VERSION = 1;
+    /** The name of the file of fingerprints written by an incremental compile. */
+    static final String FINGERPRINT_FILE = "ZoneInfoFingerprints";
+
     static DateTimeOfYear cStartOfYear;
 
     static Chronology cLenientISO;
@@ -75,7 +93,7 @@ public class ZoneInfoCompiler {
      * @return true to log verbosely
      */
     public static boolean verbose() {
-        return cVerbose.get();
+        return Boolean.TRUE.equals(cVerbose.get());
     }
 
     //-----------------------------------------------------------------------
@@ -87,6 +105,10 @@ public class ZoneInfoCompiler {
      * where possible options include:
      *   -src &lt;directory&gt;    Specify where to read source files
      *   -dst &lt;directory&gt;    Specify where to write generated files
+     *   -bundle             Also write all zones to a single ZoneInfoBundle file
+     *   -compact            Write the zones in the compact format
+     *   -incremental        Only rebuild the zones whose source has changed
+     *   -threads &lt;count&gt;    Specify the number of threads to compile with (default 1)
      *   -verbose            Output verbosely (default false)
      * </pre>
      */
@@ -98,6 +120,10 @@ public class ZoneInfoCompiler {
 
         File inputDir = null;
         File outputDir = null;
+        boolean bundle = false;
+        boolean compact = false;
+        boolean incremental = false;
+        int threads = 1;
         boolean verbose = false;
 
         int i;
@@ -107,6 +133,14 @@ public class ZoneInfoCompiler {
                     inputDir = new File(args[++i]);
                 } else if ("-dst".equals(args[i])) {
                     outputDir = new File(args[++i]);
+                } else if ("-bundle".equals(args[i])) {
+                    bundle = true;
+                } else if ("-compact".equals(args[i])) {
+                    compact = true;
+                } else if ("-incremental".equals(args[i])) {
+                    incremental = true;
+                } else if ("-threads".equals(args[i])) {
+                    threads = Integer.parseInt(args[++i]);
                 } else if ("-verbose".equals(args[i])) {
                     verbose = true;
                 } else if ("-?".equals(args[i])) {
@@ -118,6 +152,9 @@ public class ZoneInfoCompiler {
             } catch (IndexOutOfBoundsException e) {
                 printUsage();
                 return;
+            } catch (NumberFormatException e) {
+                printUsage();
+                return;
             }
         }
 
@@ -133,7 +170,11 @@ public class ZoneInfoCompiler {
 
         cVerbose.set(verbose);
         ZoneInfoCompiler zic = new ZoneInfoCompiler();
-        zic.compile(outputDir, sources);
+        zic.setCompact(compact);
+        Map<String, DateTimeZone> map = zic.compile(outputDir, sources, incremental, threads);
+        if (bundle && outputDir != null) {
+            writeZoneInfoBundle(outputDir, map);
+        }
     }
 
     private static void printUsage() {
@@ -141,6 +182,10 @@ public class ZoneInfoCompiler {
         System.out.println("where possible options include:");
         System.out.println("  -src <directory>    Specify where to read source files");
         System.out.println("  -dst <directory>    Specify where to write generated files");
+        System.out.println("  -bundle             Also write all zones to a single ZoneInfoBundle file");
+        System.out.println("  -compact            Write the zones in the compact format");
+        System.out.println("  -incremental        Only rebuild the zones whose source has changed");
+        System.out.println("  -threads <count>    Specify the number of threads to compile with (default 1)");
         System.out.println("  -verbose            Output verbosely (default false)");
     }
 
@@ -204,6 +249,71 @@ public class ZoneInfoCompiler {
         }
     }
 
+    /**
+     * Writes all the compiled zones in the output directory to a single
+     * indexed file named <code>ZoneInfoBundle</code>, as read by
+     * {@link ZoneInfoBundleProvider}.
+     * <p>
+     * The bundle holds a version, the id, offset and length of each zone, the
+     * aliases and then the data of each zone exactly as in its own file.
+     * The zone files must already have been written by {@link #compile}.
+     *
+     * @param outputDir  the directory holding the compiled zone files, not null
+     * @param map  the map of ids to zones returned by compile, not null
+     * @throws IOException if the files cannot be read or written
+     * @since 2.2
+     */
+    public static void writeZoneInfoBundle(File outputDir, Map<String, DateTimeZone> map) throws IOException {
+        System.out.println("Writing ZoneInfoBundle");
+
+        // Sort and filter out any duplicates that match case, as for the map.
+        Map<String, DateTimeZone> zimap = new TreeMap<String, DateTimeZone>(String.CASE_INSENSITIVE_ORDER);
+        zimap.putAll(map);
+        TreeMap<String, File> zones = new TreeMap<String, File>();
+        TreeMap<String, String> aliases = new TreeMap<String, String>();
+        for (Entry<String, DateTimeZone> entry : zimap.entrySet()) {
+            String id = entry.getValue().getID();
+            zones.put(id, new File(outputDir, id));
+            if (!id.equals(entry.getKey())) {
+                aliases.put(entry.getKey(), id);
+            }
+        }
+
+        File file = new File(outputDir, "ZoneInfoBundle");
+        DataOutputStream dout = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            dout.writeInt(ZoneInfoBundleProvider.VERSION);
+            dout.writeInt(zones.size());
+            int offset = 0;
+            for (Entry<String, File> entry : zones.entrySet()) {
+                int length = (int) entry.getValue().length();
+                dout.writeUTF(entry.getKey());
+                dout.writeInt(offset);
+                dout.writeInt(length);
+                offset += length;
+            }
+            dout.writeInt(aliases.size());
+            for (Entry<String, String> entry : aliases.entrySet()) {
+                dout.writeUTF(entry.getKey());
+                dout.writeUTF(entry.getValue());
+            }
+            byte[] buf = new byte[4096];
+            for (File zoneFile : zones.values()) {
+                InputStream in = new FileInputStream(zoneFile);
+                try {
+                    int len;
+                    while ((len = in.read(buf)) > 0) {
+                        dout.write(buf, 0, len);
+                    }
+                } finally {
+                    in.close();
+                }
+            }
+        } finally {
+            dout.close();
+        }
+    }
+
     static int parseYear(String str, int def) {
         str = str.toLowerCase();
         if (str.equals("minimum") || str.equals("min")) {
@@ -351,12 +461,27 @@ public class ZoneInfoCompiler {
     // List String pairs to link.
     private List<String> iLinks;
 
+    // True to write the compact format.
+    private boolean iCompact;
+
     public ZoneInfoCompiler() {
         iRuleSets = new HashMap<String, RuleSet>();
         iZones = new ArrayList<Zone>();
         iLinks = new ArrayList<String>();
     }
 
+    /**
+     * Sets whether the zone files are written in the compact format of
+     * {@link DateTimeZoneBuilder#writeCompactTo(String, OutputStream)}.
+     * Both formats are read by {@link ZoneInfoProvider}.
+     *
+     * @param compact  true to write the compact format, false by default
+     * @since 2.2
+     */
+    public void setCompact(boolean compact) {
+        iCompact = compact;
+    }
+
     /**
      * Returns a map of ids to DateTimeZones.
      *
@@ -364,11 +489,73 @@ public class ZoneInfoCompiler {
      * @param sources optional list of source files to parse
      */
     public Map<String, DateTimeZone> compile(File outputDir, File[] sources) throws IOException {
+        return compile(outputDir, sources, false, 1);
+    }
+
+    /**
+     * Returns a map of ids to DateTimeZones, optionally only rebuilding the
+     * zones that have changed and using several threads.
+     * <p>
+     * An incremental compile records a fingerprint of the source of each zone,
+     * including the rules it uses, in the output directory. The next incremental
+     * compile only rebuilds and rewrites the zones whose fingerprint has changed,
+     * reading the others back from their files. Any other compile to the output
+     * directory deletes the fingerprints, so the next incremental compile
+     * rebuilds every zone.
+     * <p>
+     * The source files are parsed, and the zones built, by the given number of
+     * threads. The result is the same whatever the number of threads.
+     *
+     * @param outputDir optional directory to write compiled data files to
+     * @param sources optional list of source files to parse
+     * @param incremental  true to only rebuild the zones that have changed since
+     *  the last incremental compile to the output directory
+     * @param threads  the number of threads to use, at least one
+     * @return the map of ids to zones
+     * @throws IOException if a file cannot be read or written
+     * @since 2.2
+     */
+    public Map<String, DateTimeZone> compile(File outputDir, File[] sources,
+                                             boolean incremental, int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least one");
+        }
+        // Initialise the shared state before any other threads use it.
+        getStartOfYear();
+        getLenientISOChronology();
+
+        ExecutorService executor = (threads > 1 ? Executors.newFixedThreadPool(threads) : null);
+        try {
+            return compile(outputDir, sources, incremental, executor);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private Map<String, DateTimeZone> compile(File outputDir, File[] sources,
+                                              boolean incremental, ExecutorService executor) throws IOException {
         if (sources != null) {
+            List<Callable<ZoneInfoCompiler>> tasks = new ArrayList<Callable<ZoneInfoCompiler>>();
             for (int i=0; i<sources.length; i++) {
-                BufferedReader in = new BufferedReader(new FileReader(sources[i]));
-                parseDataFile(in);
-                in.close();
+                final File source = sources[i];
+                tasks.add(new Callable<ZoneInfoCompiler>() {
+                    public ZoneInfoCompiler call() throws IOException {
+                        ZoneInfoCompiler parsed = new ZoneInfoCompiler();
+                        BufferedReader in = new BufferedReader(new FileReader(source));
+                        try {
+                            parsed.parseDataFile(in);
+                        } finally {
+                            in.close();
+                        }
+                        return parsed;
+                    }
+                });
+            }
+            // Merge in the order of the sources, as if parsed in turn.
+            for (ZoneInfoCompiler parsed : invokeAll(executor, tasks)) {
+                merge(parsed);
             }
         }
 
@@ -380,43 +567,44 @@ public class ZoneInfoCompiler {
                 throw new IOException("Destination is not a directory: " + outputDir);
             }
         }
+        incremental = incremental && outputDir != null;
+        Map<String, Long> oldFingerprints = new HashMap<String, Long>();
+        if (incremental) {
+            oldFingerprints = readFingerprints(new File(outputDir, FINGERPRINT_FILE));
+        }
 
         Map<String, DateTimeZone> map = new TreeMap<String, DateTimeZone>();
+        Map<String, Long> fingerprints = new TreeMap<String, Long>();
 
         System.out.println("Writing zoneinfo files");
+        final boolean verbose = verbose();
+        List<Callable<DateTimeZone>> tasks = new ArrayList<Callable<DateTimeZone>>();
+        long[] zoneFingerprints = new long[iZones.size()];
         for (int i=0; i<iZones.size(); i++) {
-            Zone zone = iZones.get(i);
-            DateTimeZoneBuilder builder = new DateTimeZoneBuilder();
-            zone.addToBuilder(builder, iRuleSets);
-            final DateTimeZone original = builder.toDateTimeZone(zone.iName, true);
-            DateTimeZone tz = original;
-            if (test(tz.getID(), tz)) {
-                map.put(tz.getID(), tz);
-                if (outputDir != null) {
-                    if (ZoneInfoCompiler.verbose()) {
-                        System.out.println("Writing " + tz.getID());
-                    }
-                    File file = new File(outputDir, tz.getID());
-                    if (!file.getParentFile().exists()) {
-                        file.getParentFile().mkdirs();
-                    }
-                    OutputStream out = new FileOutputStream(file);
-                    try {
-                        builder.writeTo(zone.iName, out);
-                    } finally {
-                        out.close();
-                    }
-
-                    // Test if it can be read back.
-                    InputStream in = new FileInputStream(file);
-                    DateTimeZone tz2 = DateTimeZoneBuilder.readFrom(in, tz.getID());
-                    in.close();
-
-                    if (!original.equals(tz2)) {
-                        System.out.println("*e* Error in " + tz.getID() +
-                                           ": Didn't read properly from file");
+            final Zone zone = iZones.get(i);
+            zoneFingerprints[i] = fingerprint(zone, iRuleSets, iCompact);
+            final File file = (outputDir == null ? null : new File(outputDir, zone.iName));
+            final boolean unchanged = file != null && file.isFile() &&
+                Long.valueOf(zoneFingerprints[i]).equals(oldFingerprints.get(zone.iName));
+            tasks.add(new Callable<DateTimeZone>() {
+                public DateTimeZone call() throws IOException {
+                    cVerbose.set(verbose);
+                    if (unchanged) {
+                        DateTimeZone tz = readZone(file, zone.iName);
+                        if (tz != null) {
+                            return tz;
+                        }
                     }
+                    return compileZone(zone, file);
                 }
+            });
+        }
+        List<DateTimeZone> zones = invokeAll(executor, tasks);
+        for (int i=0; i<zones.size(); i++) {
+            DateTimeZone tz = zones.get(i);
+            if (tz != null) {
+                map.put(tz.getID(), tz);
+                fingerprints.put(tz.getID(), Long.valueOf(zoneFingerprints[i]));
             }
         }
 
@@ -453,11 +641,214 @@ public class ZoneInfoCompiler {
             } finally {
                 dout.close();
             }
+            File fingerprintFile = new File(outputDir, FINGERPRINT_FILE);
+            if (incremental) {
+                writeFingerprints(fingerprintFile, fingerprints);
+            } else if (fingerprintFile.exists() && !fingerprintFile.delete()) {
+                // the files may no longer match an earlier incremental compile
+                throw new IOException("Unable to delete " + fingerprintFile);
+            }
         }
 
         return map;
     }
 
+    /**
+     * Builds and tests a zone, writing it to the file if not null.
+     *
+     * @return the zone, null if it failed the test
+     */
+    private DateTimeZone compileZone(Zone zone, File file) throws IOException {
+        DateTimeZoneBuilder builder = new DateTimeZoneBuilder();
+        zone.addToBuilder(builder, iRuleSets);
+        final DateTimeZone original = builder.toDateTimeZone(zone.iName, true);
+        DateTimeZone tz = original;
+        if (!test(tz.getID(), tz)) {
+            return null;
+        }
+        if (file != null) {
+            if (ZoneInfoCompiler.verbose()) {
+                System.out.println("Writing " + tz.getID());
+            }
+            if (!file.getParentFile().exists()) {
+                file.getParentFile().mkdirs();
+            }
+            OutputStream out = new FileOutputStream(file);
+            try {
+                if (iCompact) {
+                    builder.writeCompactTo(zone.iName, out);
+                } else {
+                    builder.writeTo(zone.iName, out);
+                }
+            } finally {
+                out.close();
+            }
+
+            // Test if it can be read back.
+            InputStream in = new FileInputStream(file);
+            DateTimeZone tz2 = DateTimeZoneBuilder.readFrom(in, tz.getID());
+            in.close();
+
+            if (!original.equals(tz2)) {
+                System.out.println("*e* Error in " + tz.getID() +
+                                   ": Didn't read properly from file");
+            }
+        }
+        return tz;
+    }
+
+    /**
+     * Reads a zone compiled by an earlier run.
+     *
+     * @return the zone, null if it cannot be read
+     */
+    private static DateTimeZone readZone(File file, String id) {
+        try {
+            InputStream in = new BufferedInputStream(new FileInputStream(file));
+            try {
+                return DateTimeZoneBuilder.readFrom(in, id);
+            } finally {
+                in.close();
+            }
+        } catch (IOException ex) {
+            return null;
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Adds the rules, zones and links parsed by another compiler.
+     */
+    private void merge(ZoneInfoCompiler parsed) {
+        for (Entry<String, RuleSet> entry : parsed.iRuleSets.entrySet()) {
+            RuleSet rs = iRuleSets.get(entry.getKey());
+            if (rs == null) {
+                iRuleSets.put(entry.getKey(), entry.getValue());
+            } else {
+                for (Rule rule : entry.getValue().iRules) {
+                    rs.addRule(rule);
+                }
+            }
+        }
+        iZones.addAll(parsed.iZones);
+        iLinks.addAll(parsed.iLinks);
+    }
+
+    /**
+     * Runs the tasks using the executor, or in turn if it is null.
+     *
+     * @return the results in the order of the tasks
+     */
+    private static <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<T>(tasks.size());
+        try {
+            if (executor == null) {
+                for (Callable<T> task : tasks) {
+                    results.add(task.call());
+                }
+            } else {
+                for (Future<T> future : executor.invokeAll(tasks)) {
+                    try {
+                        results.add(future.get());
+                    } catch (ExecutionException ex) {
+                        Throwable cause = ex.getCause();
+                        if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        throw cause;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compiling");
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex.toString());
+        }
+        return results;
+    }
+
+    /**
+     * Calculates the fingerprint of a zone from its source and the rules it uses.
+     */
+    private static long fingerprint(Zone zone, Map<String, RuleSet> ruleSets, boolean compact) {
+        StringBuilder buf = new StringBuilder();
+        buf.append(FINGERPRINT_VERSION).append(compact ? " compact\n" : "\n");
+        buf.append(zone);
+        for (Zone z = zone; z != null; z = z.iNext) {
+            RuleSet rs = (z.iRules == null ? null : ruleSets.get(z.iRules));
+            if (rs != null) {
+                for (Rule rule : rs.iRules) {
+                    buf.append(rule);
+                }
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(buf.toString().getBytes("UTF-8"));
+            long fingerprint = 0;
+            for (int i = 0; i < 8; i++) {
+                fingerprint = (fingerprint << 8) | (digest[i] & 0xff);
+            }
+            return fingerprint;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex.toString());
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex.toString());
+        }
+    }
+
+    /**
+     * Reads the fingerprints written by an earlier incremental compile.
+     *
+     * @return the fingerprints by id, empty if there are none
+     */
+    static Map<String, Long> readFingerprints(File file) {
+        Map<String, Long> fingerprints = new HashMap<String, Long>();
+        if (!file.isFile()) {
+            return fingerprints;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (in.readInt() != FINGERPRINT_VERSION) {
+                    return fingerprints;
+                }
+                int size = in.readInt();
+                for (int i = 0; i < size; i++) {
+                    String id = in.readUTF();
+                    fingerprints.put(id, Long.valueOf(in.readLong()));
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException ex) {
+            // rebuild everything
+            fingerprints.clear();
+        }
+        return fingerprints;
+    }
+
+    static void writeFingerprints(File file, Map<String, Long> fingerprints) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(FINGERPRINT_VERSION);
+            out.writeInt(fingerprints.size());
+            for (Entry<String, Long> entry : fingerprints.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().longValue());
+            }
+        } finally {
+            out.close();
+        }
+    }
+
     public void parseDataFile(BufferedReader in) throws IOException {
         Zone zone = null;
         String line;
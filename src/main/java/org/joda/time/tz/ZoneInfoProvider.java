@@ -20,11 +20,25 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.joda.time.DateTimeZone;
 
@@ -32,6 +46,9 @@ import org.joda.time.DateTimeZone;
  * ZoneInfoProvider loads compiled data files as generated by
  * {@link ZoneInfoCompiler}.
  * <p>
+ * Zones are loaded when first requested, and then held as controlled by a
+ * {@link ZoneCachePolicy}. By default they are held by soft references.
+ * <p>
  * ZoneInfoProvider is thread-safe and publicly immutable.
  *
  * @author Brian S O'Neill
@@ -45,8 +62,18 @@ public class ZoneInfoProvider implements Provider {
     private final String iResourcePath;
     /** The class loader to use. */
     private final ClassLoader iLoader;
-    /** Maps ids to strings or SoftReferences to DateTimeZones. */
-    private final Map<String, Object> iZoneInfoMap;
+    /** Maps ids to strings, References to DateTimeZones or pinned DateTimeZones. */
+    private final ConcurrentMap<String, Object> iZoneInfoMap;
+    /** The policy for holding loaded zones. */
+    private final ZoneCachePolicy iCachePolicy;
+    /** The ids pinned by the policy, least recently used first, also used as the lock to change them. */
+    private final Map<String, Boolean> iPinnedIds = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+    /** The number of zones read and decoded. */
+    private final AtomicLong iLoadCount = new AtomicLong();
+    /** The number of zones found cleared by the garbage collector. */
+    private final AtomicLong iEvictionCount = new AtomicLong();
+    /** The total nanoseconds spent reading and decoding zones. */
+    private final AtomicLong iLoadNanos = new AtomicLong();
 
     /**
      * ZoneInfoProvider searches the given directory for compiled data files.
@@ -54,6 +81,22 @@ public class ZoneInfoProvider implements Provider {
      * @throws IOException if directory or map file cannot be read
      */
     public ZoneInfoProvider(File fileDir) throws IOException {
+        this(fileDir, ZoneCachePolicy.soft());
+    }
+
+    /**
+     * ZoneInfoProvider searches the given directory for compiled data files,
+     * holding the loaded zones as the policy specifies.
+     *
+     * @param fileDir  the directory of compiled data files
+     * @param cachePolicy  the policy for holding loaded zones, not null
+     * @throws IOException if directory or map file cannot be read
+     * @since 2.2
+     */
+    public ZoneInfoProvider(File fileDir, ZoneCachePolicy cachePolicy) throws IOException {
+        if (cachePolicy == null) {
+            throw new IllegalArgumentException("No cache policy provided");
+        }
         if (fileDir == null) {
             throw new IllegalArgumentException("No file directory provided");
         }
@@ -67,6 +110,7 @@ public class ZoneInfoProvider implements Provider {
         iFileDir = fileDir;
         iResourcePath = null;
         iLoader = null;
+        iCachePolicy = cachePolicy;
 
         iZoneInfoMap = loadZoneInfoMap(openResource("ZoneInfoMap"));
     }
@@ -79,7 +123,7 @@ public class ZoneInfoProvider implements Provider {
      * @throws IOException if directory or map file cannot be read
      */
     public ZoneInfoProvider(String resourcePath) throws IOException {
-        this(resourcePath, null, false);
+        this(resourcePath, null, false, ZoneCachePolicy.soft());
     }
 
     /**
@@ -93,7 +137,23 @@ public class ZoneInfoProvider implements Provider {
     public ZoneInfoProvider(String resourcePath, ClassLoader loader)
         throws IOException
     {
-        this(resourcePath, loader, true);
+        this(resourcePath, loader, true, ZoneCachePolicy.soft());
+    }
+
+    /**
+     * ZoneInfoProvider searches the given ClassLoader resource path for
+     * compiled data files, holding the loaded zones as the policy specifies.
+     *
+     * @param loader ClassLoader to load compiled data files from. If null,
+     * use system ClassLoader.
+     * @param cachePolicy  the policy for holding loaded zones, not null
+     * @throws IOException if directory or map file cannot be read
+     * @since 2.2
+     */
+    public ZoneInfoProvider(String resourcePath, ClassLoader loader, ZoneCachePolicy cachePolicy)
+        throws IOException
+    {
+        this(resourcePath, loader, true, cachePolicy);
     }
 
     /**
@@ -101,9 +161,13 @@ public class ZoneInfoProvider implements Provider {
      * loader null. When false, use the current class loader if loader is null.
      */
     private ZoneInfoProvider(String resourcePath,
-                             ClassLoader loader, boolean favorSystemLoader) 
+                             ClassLoader loader, boolean favorSystemLoader,
+                             ZoneCachePolicy cachePolicy) 
         throws IOException
     {
+        if (cachePolicy == null) {
+            throw new IllegalArgumentException("No cache policy provided");
+        }
         if (resourcePath == null) {
             throw new IllegalArgumentException("No resource path provided");
         }
@@ -119,6 +183,7 @@ public class ZoneInfoProvider implements Provider {
         }
 
         iLoader = loader;
+        iCachePolicy = cachePolicy;
 
         iZoneInfoMap = loadZoneInfoMap(openResource("ZoneInfoMap"));
     }
@@ -147,14 +212,22 @@ public class ZoneInfoProvider implements Provider {
             return loadZoneData(id);
         }
 
-        if (obj instanceof SoftReference<?>) {
+        if (obj instanceof DateTimeZone) {
+            // Pinned by the policy or preloaded.
+            touch(id);
+            return (DateTimeZone) obj;
+        }
+
+        if (obj instanceof Reference<?>) {
             @SuppressWarnings("unchecked")
-            SoftReference<DateTimeZone> ref = (SoftReference<DateTimeZone>) obj;
+            Reference<DateTimeZone> ref = (Reference<DateTimeZone>) obj;
             DateTimeZone tz = ref.get();
             if (tz != null) {
+                pin(id, obj, tz);
                 return tz;
             }
             // Reference cleared; load data again.
+            iEvictionCount.incrementAndGet();
             return loadZoneData(id);
         }
 
@@ -174,6 +247,113 @@ public class ZoneInfoProvider implements Provider {
         return new TreeSet<String>(iZoneInfoMap.keySet());
     }
 
+    /**
+     * Loads zones in parallel and pins them, so they are never reloaded.
+     * <p>
+     * Zones are normally loaded on first use and held softly, so the first
+     * request for each zone pays to read and decode it, and may pay again
+     * if the garbage collector clears it. Calling this method at startup
+     * moves that work off later requests.
+     *
+     * @param ids  the ids to load, null for all available ids
+     * @param threads  the number of threads to load with, at least one
+     * @return the nanoseconds taken to load each zone by id, excluding any that failed
+     * @throws IllegalArgumentException if threads is less than one
+     * @since 2.2
+     */
+    public Map<String, Long> preload(Collection<String> ids, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid number of threads: " + threads);
+        }
+        if (ids == null) {
+            ids = getAvailableIDs();
+        }
+        Map<String, Future<Long>> futures = new LinkedHashMap<String, Future<Long>>();
+        Map<String, Long> timings = new TreeMap<String, Long>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (final String id : ids) {
+                futures.put(id, executor.submit(new Callable<Long>() {
+                    public Long call() {
+                        long start = System.nanoTime();
+                        DateTimeZone zone = getZone(id);
+                        if (zone == null) {
+                            return null;
+                        }
+                        // Replace the reference by the zone itself, only
+                        // for real zones and not aliases.
+                        if (iZoneInfoMap.containsKey(zone.getID())) {
+                            synchronized (iPinnedIds) {
+                                iPinnedIds.remove(zone.getID());
+                                iZoneInfoMap.put(zone.getID(), zone);
+                            }
+                        }
+                        return Long.valueOf(System.nanoTime() - start);
+                    }
+                }));
+            }
+            for (Map.Entry<String, Future<Long>> entry : futures.entrySet()) {
+                Long nanos = entry.getValue().get();
+                if (nanos != null) {
+                    timings.put(entry.getKey(), nanos);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        } finally {
+            executor.shutdownNow();
+        }
+        return timings;
+    }
+
+    /**
+     * Gets the policy for holding loaded zones.
+     *
+     * @return the cache policy, not null
+     * @since 2.2
+     */
+    public ZoneCachePolicy getCachePolicy() {
+        return iCachePolicy;
+    }
+
+    /**
+     * Gets the number of times zone data has been read and decoded,
+     * including reloads of zones cleared by the garbage collector.
+     *
+     * @return the load count
+     * @since 2.2
+     */
+    public long getLoadCount() {
+        return iLoadCount.get();
+    }
+
+    /**
+     * Gets the number of times a zone was requested and found to have been
+     * cleared by the garbage collector, so had to be loaded again.
+     *
+     * @return the eviction count
+     * @since 2.2
+     */
+    public long getEvictionCount() {
+        return iEvictionCount.get();
+    }
+
+    /**
+     * Gets the total time spent reading and decoding zone data.
+     *
+     * @return the total load time in nanoseconds
+     * @since 2.2
+     */
+    public long getLoadNanos() {
+        return iLoadNanos.get();
+    }
+
     /**
      * Called if an exception is thrown from getZone while loading zone data.
      * 
@@ -223,9 +403,19 @@ public class ZoneInfoProvider implements Provider {
     private DateTimeZone loadZoneData(String id) {
         InputStream in = null;
         try {
+            long start = System.nanoTime();
             in = openResource(id);
             DateTimeZone tz = DateTimeZoneBuilder.readFrom(in, id);
-            iZoneInfoMap.put(id, new SoftReference<DateTimeZone>(tz));
+            iLoadNanos.addAndGet(System.nanoTime() - start);
+            iLoadCount.incrementAndGet();
+            Object existing = iZoneInfoMap.get(id);
+            if (existing instanceof DateTimeZone) {
+                return (DateTimeZone) existing;
+            }
+            if (existing != null && pin(id, existing, tz) == false) {
+                // Leave any zone pinned in the meantime in place.
+                iZoneInfoMap.replace(id, existing, iCachePolicy.reference(tz));
+            }
             return tz;
         } catch (IOException ex) {
             uncaughtException(ex);
@@ -241,6 +431,63 @@ public class ZoneInfoProvider implements Provider {
         }
     }
 
+    /**
+     * Marks a pinned zone as the most recently used, if the policy may unpin it.
+     *
+     * @param id  the id of the zone
+     */
+    private void touch(String id) {
+        int pinnedCount = iCachePolicy.getPinnedCount();
+        if (pinnedCount > 0 && pinnedCount < Integer.MAX_VALUE) {
+            synchronized (iPinnedIds) {
+                iPinnedIds.get(id);
+            }
+        }
+    }
+
+    /**
+     * Pins a zone if the policy pins zones, unpinning the least recently used
+     * pinned zone if there are then too many.
+     *
+     * @param id  the id of the zone
+     * @param expected  the current value in the map for the id
+     * @param tz  the zone to pin
+     * @return true if the policy pins zones
+     */
+    private boolean pin(String id, Object expected, DateTimeZone tz) {
+        int pinnedCount = iCachePolicy.getPinnedCount();
+        if (pinnedCount == 0) {
+            return false;
+        }
+        synchronized (iPinnedIds) {
+            if (iZoneInfoMap.replace(id, expected, tz)) {
+                iPinnedIds.put(id, Boolean.TRUE);
+                if (iPinnedIds.size() > pinnedCount) {
+                    Iterator<String> it = iPinnedIds.keySet().iterator();
+                    String oldest = it.next();
+                    it.remove();
+                    Object zone = iZoneInfoMap.get(oldest);
+                    if (zone instanceof DateTimeZone) {
+                        iZoneInfoMap.replace(oldest, zone, iCachePolicy.reference((DateTimeZone) zone));
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the ids of the zones pinned by the policy, least recently used
+     * first, excluding those pinned by a preload. This is intended for testing.
+     *
+     * @return a copy of the pinned ids
+     */
+    List<String> getPinnedIds() {
+        synchronized (iPinnedIds) {
+            return new ArrayList<String>(iPinnedIds.keySet());
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Loads the zone info map.
@@ -248,8 +495,8 @@ public class ZoneInfoProvider implements Provider {
      * @param in  the input stream
      * @return the map
      */
-    private static Map<String, Object> loadZoneInfoMap(InputStream in) throws IOException {
-        Map<String, Object> map = new ConcurrentHashMap<String, Object>();
+    private static ConcurrentMap<String, Object> loadZoneInfoMap(InputStream in) throws IOException {
+        ConcurrentMap<String, Object> map = new ConcurrentHashMap<String, Object>();
         DataInputStream din = new DataInputStream(in);
         try {
             readZoneInfoMap(din, map);
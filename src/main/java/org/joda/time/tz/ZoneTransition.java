@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.tz;
+
+import java.io.Serializable;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * A transition in a time zone, being an instant at which the offset or the
+ * name of the zone changes.
+ * <p>
+ * Transitions are obtained from {@link DateTimeZone#transitionIterator(long, long)}.
+ * <p>
+ * ZoneTransition is thread-safe and immutable.
+ *
+ * @since 2.2
+ */
+public final class ZoneTransition implements Serializable {
+
+    /** Serialization lock */
+    private static final long serialVersionUID = -4302476466530744123L;
+
+    /** The instant of the transition. */
+    private final long iMillis;
+    /** The offset before the transition. */
+    private final int iOffsetBefore;
+    /** The offset from the transition. */
+    private final int iOffsetAfter;
+    /** The name key from the transition. */
+    private final String iNameKey;
+
+    /**
+     * Constructor.
+     *
+     * @param millis  the instant of the transition, in milliseconds from 1970-01-01T00:00:00Z
+     * @param offsetBefore  the millisecond offset in effect before the transition
+     * @param offsetAfter  the millisecond offset in effect from the transition
+     * @param nameKey  the name key in effect from the transition, may be null
+     */
+    public ZoneTransition(long millis, int offsetBefore, int offsetAfter, String nameKey) {
+        iMillis = millis;
+        iOffsetBefore = offsetBefore;
+        iOffsetAfter = offsetAfter;
+        iNameKey = nameKey;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the instant of the transition, which is the first instant that
+     * the new offset and name key are in effect.
+     *
+     * @return the millis from 1970-01-01T00:00:00Z
+     */
+    public long getMillis() {
+        return iMillis;
+    }
+
+    /**
+     * Gets the offset in effect before the transition.
+     *
+     * @return the millisecond offset to add to UTC to get local time
+     */
+    public int getOffsetBefore() {
+        return iOffsetBefore;
+    }
+
+    /**
+     * Gets the offset in effect from the transition.
+     *
+     * @return the millisecond offset to add to UTC to get local time
+     */
+    public int getOffsetAfter() {
+        return iOffsetAfter;
+    }
+
+    /**
+     * Gets the name key in effect from the transition.
+     *
+     * @return the name key, may be null
+     */
+    public String getNameKey() {
+        return iNameKey;
+    }
+
+    /**
+     * Checks if this transition is a gap, where local time jumps forward.
+     *
+     * @return true if the offset increases
+     */
+    public boolean isGap() {
+        return iOffsetAfter > iOffsetBefore;
+    }
+
+    /**
+     * Checks if this transition is an overlap, where local time jumps back.
+     *
+     * @return true if the offset decreases
+     */
+    public boolean isOverlap() {
+        return iOffsetAfter < iOffsetBefore;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares this transition with another.
+     *
+     * @param obj  the object to compare to
+     * @return true if equal
+     */
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof ZoneTransition) {
+            ZoneTransition other = (ZoneTransition) obj;
+            return iMillis == other.iMillis &&
+                iOffsetBefore == other.iOffsetBefore &&
+                iOffsetAfter == other.iOffsetAfter &&
+                (iNameKey == null ? other.iNameKey == null : iNameKey.equals(other.iNameKey));
+        }
+        return false;
+    }
+
+    /**
+     * A suitable hash code for the transition.
+     *
+     * @return the hash code
+     */
+    public int hashCode() {
+        return (int) (iMillis ^ (iMillis >>> 32)) + iOffsetBefore * 31 + iOffsetAfter * 37 +
+            (iNameKey == null ? 0 : iNameKey.hashCode());
+    }
+
+    /**
+     * Gets a debugging string.
+     *
+     * @return a debugging string
+     */
+    public String toString() {
+        return "Transition[" + iMillis + ',' + iOffsetBefore + "->" + iOffsetAfter + ',' + iNameKey + ']';
+    }
+
+}
@@ -17,6 +17,8 @@ package org.joda.time;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.PrintStream;
@@ -36,14 +38,24 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
 
+import org.joda.time.chrono.GregorianChronology;
+import org.joda.time.chrono.ISOChronology;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.tz.CachedDateTimeZone;
 import org.joda.time.tz.DefaultNameProvider;
+import org.joda.time.tz.FixedDateTimeZone;
 import org.joda.time.tz.NameProvider;
 import org.joda.time.tz.Provider;
 import org.joda.time.tz.UTCProvider;
+import org.joda.time.tz.ZoneInfoBundleProvider;
 import org.joda.time.tz.ZoneInfoProvider;
 
 /**
@@ -289,6 +301,47 @@ public class TestDateTimeZone extends TestCase {
         }
     }
 
+    //-----------------------------------------------------------------------
+    public void testForID_String_fixedOffsetInterned() {
+        DateTimeZone zone = DateTimeZone.forID("+05:30");
+        assertEquals("+05:30", zone.getID());
+        assertSame(zone, DateTimeZone.forID("+05:30"));
+        assertSame(zone, DateTimeZone.forOffsetHoursMinutes(5, 30));
+        assertSame(zone, DateTimeZone.forTimeZone(TimeZone.getTimeZone("GMT+05:30")));
+    }
+
+    public void testForID_String_fixedOffsetThreads() throws Exception {
+        final String[] ids = new String[96];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = DateTimeZone.forOffsetMillis((i - 48) * 15 * DateTimeConstants.MILLIS_PER_MINUTE + 1).getID();
+        }
+        final DateTimeZone[][] results = new DateTimeZone[8][ids.length];
+        Thread[] threads = new Thread[results.length];
+        for (int t = 0; t < threads.length; t++) {
+            final DateTimeZone[] result = results[t];
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < ids.length; i++) {
+                        result[i] = DateTimeZone.forID(ids[i]);
+                    }
+                }
+            };
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        for (int i = 0; i < ids.length; i++) {
+            DateTimeZone expected = DateTimeZone.forID(ids[i]);
+            assertEquals(ids[i], expected.getID());
+            for (int t = 0; t < results.length; t++) {
+                assertSame(expected, results[t][i]);
+            }
+        }
+    }
+
     //-----------------------------------------------------------------------
     public void testForOffsetHours_int() {
         assertEquals(DateTimeZone.UTC, DateTimeZone.forOffsetHours(0));
@@ -466,6 +519,48 @@ public class TestDateTimeZone extends TestCase {
         }
     }
     
+    public void testProvider_preload() throws Exception {
+        try {
+            System.setProperty("org.joda.time.DateTimeZone.Preload", "Europe/London, America/New_York");
+            DateTimeZone.setProvider(null);
+            assertEquals(ZoneInfoProvider.class, DateTimeZone.getProvider().getClass());
+            assertEquals("Europe/London", DateTimeZone.getProvider().getZone("Europe/London").getID());
+            
+            // the timings are published once the background preload completes
+            long end = System.currentTimeMillis() + 60000;
+            while (DateTimeZone.getPreloadTimings().isEmpty()) {
+                if (System.currentTimeMillis() > end) {
+                    fail("Preload did not complete");
+                }
+                Thread.sleep(10);
+            }
+            Map<String, Long> timings = DateTimeZone.getPreloadTimings();
+            assertEquals(2, timings.size());
+            assertEquals(true, timings.containsKey("Europe/London"));
+            assertEquals(true, timings.containsKey("America/New_York"));
+            try {
+                timings.put("Europe/Paris", Long.valueOf(0));
+                fail();
+            } catch (UnsupportedOperationException ex) {}
+        } finally {
+            System.getProperties().remove("org.joda.time.DateTimeZone.Preload");
+            DateTimeZone.setProvider(null);
+        }
+        assertEquals(0, DateTimeZone.getPreloadTimings().size());
+    }
+    
+    public void testProvider_preloadIds() throws Exception {
+        ZoneInfoProvider provider = new ZoneInfoProvider("org/joda/time/tz/data");
+        Map<String, Long> timings = DateTimeZone.preload(provider, " Europe/London,, America/New_York ,Unknown/Zone");
+        assertEquals(2, timings.size());
+        assertEquals(true, timings.get("Europe/London").longValue() >= 0);
+        assertEquals(true, timings.get("America/New_York").longValue() >= 0);
+        assertSame(provider.getZone("Europe/London"), provider.getZone("Europe/London"));
+        
+        timings = DateTimeZone.preload(new ZoneInfoProvider("org/joda/time/tz/data"), "*");
+        assertEquals(provider.getAvailableIDs(), timings.keySet());
+    }
+
     public void testProviderSecurity() {
         if (OLD_JDK) {
             return;
@@ -483,6 +578,203 @@ public class TestDateTimeZone extends TestCase {
         }
     }
 
+    public void testProviderVersion() {
+        int version = DateTimeZone.getProviderVersion();
+        try {
+            try {
+                DateTimeZone.setProvider(new MockNoUTCProvider());
+                fail();
+            } catch (IllegalArgumentException ex) {}
+            assertEquals(version, DateTimeZone.getProviderVersion());
+            DateTimeZone.setProvider(new MockOKProvider());
+            assertEquals(version + 1, DateTimeZone.getProviderVersion());
+        } finally {
+            DateTimeZone.setProvider(null);
+        }
+        assertEquals(version + 2, DateTimeZone.getProviderVersion());
+    }
+
+    public void testProvider_replacesCachedZones() throws Exception {
+        DateTimeZone oldParis = DateTimeZone.forID("Europe/Paris");
+        DateTimeZone oldNewYork = DateTimeZone.forID("America/New_York");
+        Map<String, DateTimeZone> oldNames = DateTimeUtils.getDefaultTimeZoneNames();
+        Map<String, DateTimeZone> names = new LinkedHashMap<String, DateTimeZone>(oldNames);
+        names.put("EST", oldNewYork);
+        DateTimeUtils.setDefaultTimeZoneNames(names);
+        DateTimeZone.setDefault(oldParis);
+        Chronology isoParis = ISOChronology.getInstance(oldParis);
+        Chronology gregorianParis = GregorianChronology.getInstance(oldParis);
+        try {
+            ZoneInfoProvider provider = new ZoneInfoProvider("org/joda/time/tz/data");
+            DateTimeZone.setProvider(provider);
+            DateTimeZone newParis = DateTimeZone.forID("Europe/Paris");
+            assertSame(provider.getZone("Europe/Paris"), newParis);
+            assertNotSame(oldParis, newParis);
+            assertEquals(oldParis, newParis);
+            
+            assertSame(newParis, DateTimeZone.getDefault());
+            assertSame(DateTimeZone.forID("America/New_York"), DateTimeUtils.getDefaultTimeZoneNames().get("EST"));
+            // unchanged zones keep their chronologies
+            assertSame(isoParis, ISOChronology.getInstance(newParis));
+            assertSame(gregorianParis, GregorianChronology.getInstance(newParis));
+            assertSame(ISOChronology.getInstanceUTC(), ISOChronology.getInstance(DateTimeZone.UTC));
+        } finally {
+            DateTimeZone.setProvider(null);
+            DateTimeZone.setDefault(zone);
+            DateTimeUtils.setDefaultTimeZoneNames(oldNames);
+        }
+    }
+
+    public void testProvider_formatterZoneIds() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("yyyy-MM-dd ZZZ").withOffsetParsed();
+        try {
+            DateTimeZone.setProvider(new MockMapProvider("Test/Zone", 1));
+            DateTime dt = f.parseDateTime("2012-06-30 Test/Zone");
+            assertEquals("Test/Zone", dt.getZone().getID());
+            assertEquals(DateTimeConstants.MILLIS_PER_HOUR, dt.getZone().getOffset(0L));
+        } finally {
+            DateTimeZone.setProvider(null);
+        }
+        try {
+            f.parseDateTime("2012-06-30 Test/Zone");
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void testProvider_atomicSwap() throws Exception {
+        // the new provider blocks the swap while it builds the new default zone,
+        // so the old state must still be seen whole, and afterwards the new state
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Provider oldProvider = new MockMapProvider("Test/One", 1);
+        final Provider newProvider = new MockMapProvider("Test/Two", 2) {
+            public DateTimeZone getZone(String id) {
+                if (id.equals("Test/A") && entered.getCount() > 0) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getZone(id);
+            }
+        };
+        final Throwable[] failure = new Throwable[1];
+        Thread swap = new Thread() {
+            public void run() {
+                try {
+                    DateTimeZone.setProvider(newProvider);
+                } catch (Throwable ex) {
+                    failure[0] = ex;
+                }
+            }
+        };
+        Map<String, DateTimeZone> oldNames = DateTimeUtils.getDefaultTimeZoneNames();
+        try {
+            DateTimeZone.setProvider(oldProvider);
+            DateTimeZone.setDefault(DateTimeZone.forID("Test/A"));
+            Map<String, DateTimeZone> names = new LinkedHashMap<String, DateTimeZone>(oldNames);
+            names.put("TB", DateTimeZone.forID("Test/B"));
+            DateTimeUtils.setDefaultTimeZoneNames(names);
+            int version = DateTimeZone.getProviderVersion();
+            DateTimeZone oldA = DateTimeZone.forID("Test/A");
+            DateTimeZone oldB = DateTimeZone.forID("Test/B");
+            
+            swap.start();
+            entered.await();
+            assertSame(oldProvider, DateTimeZone.getProvider());
+            assertEquals(version, DateTimeZone.getProviderVersion());
+            assertEquals(true, DateTimeZone.getAvailableIDs().contains("Test/One"));
+            assertSame(oldA, DateTimeZone.forID("Test/A"));
+            assertSame(oldA, DateTimeZone.getDefault());
+            assertSame(oldB, DateTimeUtils.getDefaultTimeZoneNames().get("TB"));
+            
+            release.countDown();
+            swap.join();
+            assertNull(failure[0]);
+            assertSame(newProvider, DateTimeZone.getProvider());
+            assertEquals(version + 1, DateTimeZone.getProviderVersion());
+            assertEquals(true, DateTimeZone.getAvailableIDs().contains("Test/Two"));
+            assertEquals(false, DateTimeZone.getAvailableIDs().contains("Test/One"));
+            DateTimeZone newA = DateTimeZone.forID("Test/A");
+            assertEquals(2 * DateTimeConstants.MILLIS_PER_HOUR, newA.getOffset(0L));
+            assertSame(newA, DateTimeZone.getDefault());
+            assertSame(DateTimeZone.forID("Test/B"), DateTimeUtils.getDefaultTimeZoneNames().get("TB"));
+        } finally {
+            release.countDown();
+            swap.join();
+            DateTimeZone.setProvider(null);
+            DateTimeZone.setDefault(zone);
+            DateTimeUtils.setDefaultTimeZoneNames(oldNames);
+        }
+    }
+
+    public void testReloadProvider() throws Exception {
+        File dir = new File(getClass().getClassLoader().getResource("org/joda/time/tz/data/ZoneInfoMap").toURI()).getParentFile();
+        DateTimeZone oldParis = DateTimeZone.forID("Europe/Paris");
+        try {
+            Provider provider = DateTimeZone.reloadProvider(dir).get();
+            assertSame(provider, DateTimeZone.getProvider());
+            assertEquals(ZoneInfoProvider.class, provider.getClass());
+            assertNotSame(oldParis, DateTimeZone.forID("Europe/Paris"));
+            assertEquals(oldParis, DateTimeZone.forID("Europe/Paris"));
+        } finally {
+            DateTimeZone.setProvider(null);
+        }
+    }
+
+    public void testReloadProvider_inOrder() throws Exception {
+        File dir = new File(getClass().getClassLoader().getResource("org/joda/time/tz/data/ZoneInfoMap").toURI()).getParentFile();
+        int version = DateTimeZone.getProviderVersion();
+        try {
+            // each reload completes before the next starts, so the last requested is kept
+            Future<Provider> first = DateTimeZone.reloadProvider(dir);
+            Future<Provider> second = DateTimeZone.reloadProvider(new File(dir, "ZoneInfoBundle"));
+            Future<Provider> third = DateTimeZone.reloadProvider(dir);
+            assertEquals(ZoneInfoProvider.class, first.get().getClass());
+            assertEquals(ZoneInfoBundleProvider.class, second.get().getClass());
+            assertSame(third.get(), DateTimeZone.getProvider());
+            assertEquals(version + 3, DateTimeZone.getProviderVersion());
+        } finally {
+            DateTimeZone.setProvider(null);
+        }
+    }
+
+    public void testReloadProvider_invalid() throws Exception {
+        Provider provider = DateTimeZone.getProvider();
+        int version = DateTimeZone.getProviderVersion();
+        try {
+            DateTimeZone.reloadProvider(new File("does-not-exist")).get();
+            fail();
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+        }
+        assertSame(provider, DateTimeZone.getProvider());
+        assertEquals(version, DateTimeZone.getProviderVersion());
+        try {
+            DateTimeZone.reloadProvider(null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    static class MockMapProvider implements Provider {
+        private final Map<String, DateTimeZone> iZones = new LinkedHashMap<String, DateTimeZone>();
+        MockMapProvider(String onlyId, int hours) {
+            int offset = hours * DateTimeConstants.MILLIS_PER_HOUR;
+            iZones.put("UTC", DateTimeZone.UTC);
+            iZones.put("Test/A", new FixedDateTimeZone("Test/A", null, offset, offset));
+            iZones.put("Test/B", new FixedDateTimeZone("Test/B", null, offset, offset));
+            iZones.put(onlyId, new FixedDateTimeZone(onlyId, null, offset, offset));
+        }
+        public Set getAvailableIDs() {
+            return new HashSet(iZones.keySet());
+        }
+        public DateTimeZone getZone(String id) {
+            return iZones.get(id);
+        }
+    }
+
     static class MockNullIDSProvider implements Provider {
         public Set getAvailableIDs() {
             return null;
@@ -798,6 +1090,83 @@ public class TestDateTimeZone extends TestCase {
         assertEquals(zone.getOffset(DateTimeUtils.currentTimeMillis()), zone.getOffset(null));
     }
 
+    public void testGetOffsets() {
+        final DateTimeZone paris = DateTimeZone.forID("Europe/Paris");
+        // only implements the abstract methods, so uses the generic sweep
+        DateTimeZone generic = new DateTimeZone("Europe/Paris") {
+            public String getNameKey(long instant) {
+                return paris.getNameKey(instant);
+            }
+            public int getOffset(long instant) {
+                return paris.getOffset(instant);
+            }
+            public int getStandardOffset(long instant) {
+                return paris.getStandardOffset(instant);
+            }
+            public boolean isFixed() {
+                return false;
+            }
+            public long nextTransition(long instant) {
+                return paris.nextTransition(instant);
+            }
+            public long previousTransition(long instant) {
+                return paris.previousTransition(instant);
+            }
+            public boolean equals(Object object) {
+                return false;
+            }
+        };
+        DateTimeZone[] zones = {
+            paris, ((CachedDateTimeZone) paris).getUncachedZone(), generic,
+            DateTimeZone.forID("+01:00"), DateTimeZone.UTC, DateTimeZone.forID("Asia/Tehran"),
+        };
+        long[] instants = new long[2000];
+        for (int i = 0; i < instants.length; i++) {
+            // sorted, spanning the end of the transition data
+            instants[i] = -2000000000000L + i * 3600000000L + 12345;
+        }
+        long[] shuffled = new long[instants.length];
+        for (int i = 0; i < instants.length; i++) {
+            shuffled[i] = instants[(i * 7919) % instants.length] + (i % 3 - 1) * DateTimeConstants.MILLIS_PER_HOUR;
+        }
+        for (DateTimeZone zone : zones) {
+            for (long[] input : new long[][] {instants, shuffled}) {
+                int[] offsets = new int[input.length + 1];
+                offsets[input.length] = 99;
+                zone.getOffsets(input, offsets);
+                long[] locals = new long[input.length];
+                zone.convertUTCToLocal(input, locals);
+                for (int i = 0; i < input.length; i++) {
+                    assertEquals(zone.getOffset(input[i]), offsets[i]);
+                    assertEquals(zone.convertUTCToLocal(input[i]), locals[i]);
+                }
+                assertEquals(99, offsets[input.length]);
+                long[] inPlace = (long[]) input.clone();
+                zone.convertUTCToLocal(inPlace, inPlace);
+                assertEquals(locals[input.length - 1], inPlace[input.length - 1]);
+            }
+        }
+    }
+
+    public void testGetOffsets_badArrays() {
+        try {
+            PARIS.getOffsets(new long[2], new int[1]);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            DateTimeZone.forID("+01:00").getOffsets(new long[2], new int[1]);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            PARIS.convertUTCToLocal(new long[2], new long[1]);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            PARIS.convertUTCToLocal(new long[] {Long.MAX_VALUE}, new long[1]);
+            fail();
+        } catch (ArithmeticException ex) {}
+    }
+
     //-----------------------------------------------------------------------
     public void testGetMillisKeepLocal() {
         long millisLondon = TEST_TIME_SUMMER;
@@ -47,6 +47,10 @@ public class TestAll extends TestCase {
         suite.addTest(TestJulianChronology.suite());
         suite.addTest(TestISOChronology.suite());
         suite.addTest(TestLenientChronology.suite());
+        suite.addTest(TestPersianChronologyBirashk.suite());
+        suite.addTest(TestPersianChronologyKhayyam.suite());
+        suite.addTest(TestPersianChronologyKhayyamBorkowski.suite());
+        suite.addTest(TestPersianChronologyMeeus.suite());
         
         return suite;
     }
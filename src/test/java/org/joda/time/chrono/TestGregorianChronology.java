@@ -277,4 +277,108 @@ public class TestGregorianChronology extends TestCase {
         assertEquals(28, chrono.dayOfMonth().getMaximumValue(dm1.getMillis()));
     }
 
+    public void testDayTable() {
+        // the table is opt-in, so the chronology calculates the fields to check against
+        if (!Boolean.getBoolean("org.joda.time.chrono.GregorianChronology.table")) {
+            assertNull(GregorianDayTable.getInstance());
+        }
+        GregorianDayTable table = new GregorianDayTable(1900, 2100);
+        GregorianChronology chrono = GregorianChronology.getInstanceUTC();
+        long start = chrono.getDateTimeMillis(1898, 12, 25, 0);
+        long end = chrono.getDateTimeMillis(2101, 1, 5, 0);
+        long tableStart = chrono.getDateTimeMillis(1900, 1, 1, 0);
+        long tableEnd = chrono.getDateTimeMillis(2101, 1, 1, 0);
+        for (long millis = start; millis < end; millis += DateTimeConstants.MILLIS_PER_DAY) {
+            long instant = millis + Math.abs(millis / 7) % DateTimeConstants.MILLIS_PER_DAY;
+            int date = table.getDate(instant);
+            if (instant < tableStart || instant >= tableEnd) {
+                assertEquals(0, date);
+                continue;
+            }
+            assertEquals(chrono.year().get(instant), table.getYear(date));
+            assertEquals(chrono.monthOfYear().get(instant), GregorianDayTable.getMonthOfYear(date));
+            assertEquals(chrono.dayOfMonth().get(instant), GregorianDayTable.getDayOfMonth(date));
+            assertEquals(chrono.dayOfYear().get(instant), GregorianDayTable.getDayOfYear(date));
+            assertEquals(chrono.dayOfWeek().get(instant), GregorianDayTable.getDayOfWeek(date));
+        }
+    }
+
+    public void testDayTable_window() {
+        // the window is limited to the years that fit in the packed date
+        GregorianDayTable table = new GregorianDayTable(-5000, 5000);
+        GregorianChronology chrono = GregorianChronology.getInstanceUTC();
+        long lastDay = chrono.getDateTimeMillis(-2953, 12, 31, 0);
+        assertEquals(-2953, table.getYear(table.getDate(lastDay)));
+        assertEquals(0, table.getDate(lastDay + DateTimeConstants.MILLIS_PER_DAY));
+        assertEquals(-5000, table.getYear(table.getDate(chrono.getDateTimeMillis(-5000, 1, 1, 0))));
+    }
+
+    public void testYearInfoCache_collidingYears() {
+        // years 512 apart share a set in the cache, so three of them evict each other
+        GregorianChronology chrono = GregorianChronology.getInstance(DateTimeZone.UTC, 2);
+        GregorianChronology check = GregorianChronology.getInstance(DateTimeZone.UTC, 3);
+        int[] years = {1600, 2112, 2624, 1600, 2624, 2112, 2112, 1600};
+        for (int i = 0; i < years.length; i++) {
+            long millis = chrono.getDateTimeMillis(years[i], 12, 31, 0);
+            assertEquals(years[i], chrono.year().get(millis));
+            assertEquals(12, chrono.monthOfYear().get(millis));
+            assertEquals(31, chrono.dayOfMonth().get(millis));
+            assertEquals(check.getDateTimeMillis(years[i], 12, 31, 0), millis);
+        }
+    }
+
+    public void testYearInfoCache_statistics() {
+        // a two-way cache keeps the last two of the colliding years, a direct-mapped one only the last
+        GregorianChronology chrono = GregorianChronology.getInstance(DateTimeZone.UTC, 2);
+        chrono.resetYearInfoCache(true);
+        try {
+            int[] years = {1600, 2112, 2624, 1600, 2624, 2112, 2112, 1600};
+            for (int i = 0; i < years.length; i++) {
+                chrono.getYearMillis(years[i]);
+            }
+            assertEquals(3, chrono.getYearInfoCacheHits());
+            assertEquals(5, chrono.getYearInfoCacheMisses());
+        } finally {
+            chrono.resetYearInfoCache(false);
+        }
+        assertEquals(0, chrono.getYearInfoCacheHits());
+        assertEquals(0, chrono.getYearInfoCacheMisses());
+    }
+
+    public void testYearInfoCache_zonedStatistics() {
+        // fields of a zoned instance use the UTC instance, the bulk conversion its own cache
+        GregorianChronology utc = GregorianChronology.getInstanceUTC();
+        GregorianChronology zoned = GregorianChronology.getInstance(PARIS);
+        utc.resetYearInfoCache(true);
+        zoned.resetYearInfoCache(true);
+        try {
+            long millis = zoned.getDateTimeMillis(2004, 6, 9, 0);
+            assertEquals(0, zoned.getYearInfoCacheHits() + zoned.getYearInfoCacheMisses());
+            assertEquals(true, utc.getYearInfoCacheMisses() > 0);
+            
+            int[] years = new int[1];
+            zoned.getYearMonthDay(new long[] {millis}, years, new int[1], new int[1]);
+            assertEquals(2004, years[0]);
+            assertEquals(1, zoned.getYearInfoCacheMisses());
+        } finally {
+            utc.resetYearInfoCache(false);
+            zoned.resetYearInfoCache(false);
+        }
+    }
+
+    public void testYearInfoCache_size() {
+        assertEquals(1024, BasicChronology.yearInfoCacheSize(null));
+        assertEquals(2, BasicChronology.yearInfoCacheSize(Integer.valueOf(-5)));
+        assertEquals(2, BasicChronology.yearInfoCacheSize(Integer.valueOf(1)));
+        assertEquals(2, BasicChronology.yearInfoCacheSize(Integer.valueOf(2)));
+        assertEquals(4, BasicChronology.yearInfoCacheSize(Integer.valueOf(3)));
+        assertEquals(1024, BasicChronology.yearInfoCacheSize(Integer.valueOf(1000)));
+        assertEquals(1024, BasicChronology.yearInfoCacheSize(Integer.valueOf(1024)));
+        assertEquals(2048, BasicChronology.yearInfoCacheSize(Integer.valueOf(1025)));
+        // the largest size is clamped rather than overflowing
+        assertEquals(65536, BasicChronology.yearInfoCacheSize(Integer.valueOf(65536)));
+        assertEquals(65536, BasicChronology.yearInfoCacheSize(Integer.valueOf((1 << 30) + 1)));
+        assertEquals(65536, BasicChronology.yearInfoCacheSize(Integer.valueOf(Integer.MAX_VALUE)));
+    }
+
 }
@@ -338,6 +338,41 @@ public class TestISOChronology extends TestCase {
         assertEquals(minYear - 1, chrono.year().get(Long.MIN_VALUE));
     }
 
+    public void testGetYearMonthDay() {
+        long[] instants = new long[2000];
+        long millis = new DateTime(1999, 12, 25, 0, 0, 0, 0, DateTimeZone.UTC).getMillis();
+        for (int i = 0; i < 1000; i++) {
+            // sorted, several instants per day, crossing month, year and DST boundaries
+            instants[i] = millis + i * 7L * DateTimeConstants.MILLIS_PER_HOUR;
+        }
+        java.util.Random random = new java.util.Random(2012);
+        for (int i = 1000; i < instants.length; i++) {
+            instants[i] = (random.nextLong() % (1L << 46));
+        }
+        ISOChronology[] chronos = {ISOChronology.getInstanceUTC(), ISOChronology.getInstance(TOKYO),
+                ISOChronology.getInstance(DateTimeZone.forID("America/New_York"))};
+        for (ISOChronology chrono : chronos) {
+            int[] years = new int[instants.length];
+            int[] months = new int[instants.length];
+            int[] days = new int[instants.length];
+            chrono.getYearMonthDay(instants, years, months, days);
+            for (int i = 0; i < instants.length; i++) {
+                DateTime dt = new DateTime(instants[i], chrono);
+                assertEquals(dt.getYear(), years[i]);
+                assertEquals(dt.getMonthOfYear(), months[i]);
+                assertEquals(dt.getDayOfMonth(), days[i]);
+            }
+        }
+    }
+
+    public void testGetYearMonthDay_badArrays() {
+        try {
+            ISOChronology.getInstanceUTC().getYearMonthDay(new long[2], new int[2], new int[1], new int[2]);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+
     public void testCutoverAddYears() {
         testAdd("1582-01-01", DurationFieldType.years(), 1, "1583-01-01");
         testAdd("1582-02-15", DurationFieldType.years(), 1, "1583-02-15");
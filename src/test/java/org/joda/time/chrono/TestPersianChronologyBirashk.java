@@ -401,6 +401,25 @@ public class TestPersianChronologyBirashk extends TestCase {
         assertEquals(persianEpochGreg, epoch.withChronology(GREG_UTC));
     }
 
+    // -----------------------------------------------------------------------
+    public void testArithmeticMatchesJulianDay() {
+        PersianChronologyBirashk chrono = new PersianChronologyBirashk();
+        for (int year = -10000; year <= 10000; year++) {
+            assertEquals("year " + year, julianDayFirstDayOfYearMillis(year), chrono.calculateFirstDayOfYearMillis(year));
+        }
+    }
+
+    /**
+     * The original implementation, converting via a floating point Julian day.
+     */
+    private static long julianDayFirstDayOfYearMillis(int year) {
+        int epbase = year - ((year >= 0) ? 474 : 473);
+        int epyear = 474 + (epbase % 2820);
+        double julianDay = 1 + (((epyear * 682) - 110) / 2816) + (epyear - 1) * 365 + (epbase / 2820) * 1029983
+                + (1948320.5 - 1);
+        return DateTimeUtils.fromJulianDay(julianDay);
+    }
+
     // -----------------------------------------------------------------------
     public void testEquality() {
         assertSame(PersianChronologyBirashk.getInstance(TOKYO), PersianChronologyBirashk.getInstance(TOKYO));
@@ -402,6 +402,47 @@ public class TestPersianChronologyKhayyam extends TestCase {
         assertEquals(persianEpochGreg, epoch.withChronology(GREG_UTC));
     }
 
+    // -----------------------------------------------------------------------
+    public void testArithmeticMatchesCycleCount() {
+        PersianChronologyKhayyam chrono = new PersianChronologyKhayyam();
+        for (int year = -10000; year <= 10000; year++) {
+            assertEquals("year " + year, cycleCountFirstDayOfYearMillis(year), chrono.calculateFirstDayOfYearMillis(year));
+        }
+        for (int year = 0; year <= 10000; year++) {
+            long length = chrono.calculateFirstDayOfYearMillis(year + 1) - chrono.calculateFirstDayOfYearMillis(year);
+            assertEquals("year " + year, chrono.isLeapYear(year) ? 366L : 365L, length / MILLIS_PER_DAY);
+        }
+    }
+
+    /**
+     * The original implementation, counting leap years through the 33 year
+     * cycle from the reference year 1155.
+     */
+    private static long cycleCountFirstDayOfYearMillis(int persianYear) {
+        final int referenceYear = 1155;
+        final long referenceYearMillis = -6115219200000L;
+        if (persianYear == referenceYear) {
+            return referenceYearMillis;
+        }
+        int current33YearCycleStart = persianYear - (persianYear % 33);
+        int yearDifferenceToReferenceYear;
+        int leapYears;
+        if (persianYear > referenceYear) {
+            yearDifferenceToReferenceYear = persianYear - referenceYear;
+            leapYears = ((current33YearCycleStart - referenceYear) / 33) * 8;
+        } else {
+            yearDifferenceToReferenceYear = referenceYear - persianYear;
+            leapYears = ((referenceYear - current33YearCycleStart) / 33) * 8;
+        }
+        for (int i = current33YearCycleStart; i < persianYear; i++) {
+            if (((i * 8 + 29) % 33) < 8) {
+                leapYears = leapYears + (persianYear > referenceYear ? 1 : -1);
+            }
+        }
+        long millis = ((yearDifferenceToReferenceYear * 365) + leapYears) * (long) MILLIS_PER_DAY;
+        return persianYear > referenceYear ? referenceYearMillis + millis : referenceYearMillis - millis;
+    }
+
     // -----------------------------------------------------------------------
     public void testEquality() {
         assertSame(PersianChronologyKhayyam.getInstance(TOKYO), PersianChronologyKhayyam.getInstance(TOKYO));
@@ -411,6 +452,59 @@ public class TestPersianChronologyKhayyam extends TestCase {
         assertSame(PersianChronologyKhayyam.getInstance(), PersianChronologyKhayyam.getInstance(LONDON));
     }
 
+    public void testEquality_Threads() throws Exception {
+        final DateTimeZone[] zones = new DateTimeZone[96];
+        for (int i = 0; i < zones.length; i++) {
+            zones[i] = DateTimeZone.forOffsetMillis((i - 48) * 15 * DateTimeConstants.MILLIS_PER_MINUTE);
+        }
+        final PersianChronology[][] results = new PersianChronology[8][zones.length];
+        Thread[] threads = new Thread[results.length];
+        for (int t = 0; t < threads.length; t++) {
+            final PersianChronology[] result = results[t];
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < zones.length; i++) {
+                        result[i] = PersianChronologyKhayyam.getInstance(zones[i]);
+                    }
+                }
+            };
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        for (int i = 0; i < zones.length; i++) {
+            PersianChronology expected = PersianChronologyKhayyam.getInstance(zones[i]);
+            assertEquals(zones[i], expected.getZone());
+            for (int t = 0; t < results.length; t++) {
+                assertSame(expected, results[t][i]);
+            }
+        }
+    }
+
+    public void testGetYearMonthDay() {
+        long[] instants = new long[1000];
+        long millis = new DateTime(1390, 12, 20, 0, 0, 0, 0, PERSIAN_UTC).getMillis();
+        for (int i = 0; i < instants.length; i++) {
+            instants[i] = millis + i * 7L * DateTimeConstants.MILLIS_PER_HOUR;
+        }
+        PersianChronology[] chronos = { PersianChronologyKhayyam.getInstanceUTC(), PersianChronologyKhayyam.getInstance(TOKYO) };
+        for (PersianChronology chrono : chronos) {
+            int[] years = new int[instants.length];
+            int[] months = new int[instants.length];
+            int[] days = new int[instants.length];
+            chrono.getYearMonthDay(instants, years, months, days);
+            for (int i = 0; i < instants.length; i++) {
+                DateTime dt = new DateTime(instants[i], chrono);
+                assertEquals(dt.getYear(), years[i]);
+                assertEquals(dt.getMonthOfYear(), months[i]);
+                assertEquals(dt.getDayOfMonth(), days[i]);
+            }
+        }
+    }
+
     public void testEra() {
         assertEquals(1, PersianChronologyKhayyam.AP);
         try {
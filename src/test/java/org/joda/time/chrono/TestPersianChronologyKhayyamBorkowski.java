@@ -15,6 +15,7 @@ import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
 import org.joda.time.DurationField;
 import org.joda.time.DurationFieldType;
+import org.joda.time.IllegalFieldValueException;
 import org.joda.time.chrono.PersianChronology.PersianWeekDay;
 
 public class TestPersianChronologyKhayyamBorkowski extends TestCase {
@@ -400,6 +401,68 @@ public class TestPersianChronologyKhayyamBorkowski extends TestCase {
         assertEquals(persianEpochGreg, epoch.withChronology(GREG_UTC));
     }
 
+    // -----------------------------------------------------------------------
+    public void testArithmeticMatchesBreakYearScan() {
+        PersianChronologyKhayyamBorkowski chrono = new PersianChronologyKhayyamBorkowski();
+        for (int year = -10000; year <= 10000; year++) {
+            assertEquals("year " + year, scanIsLeapYear(year), chrono.isLeapYear(year));
+            long expected;
+            try {
+                expected = scanFirstDayOfYearMillis(year);
+            } catch (IllegalFieldValueException ex) {
+                // the original could not express a year start outside March
+                assertTrue("year " + year, year < chrono.getMinYear() || year > chrono.getMaxYear());
+                continue;
+            }
+            assertEquals("year " + year, expected, chrono.calculateFirstDayOfYearMillis(year));
+        }
+    }
+
+    private static final int[] BREAK_YEARS = { -61, 9, 38, 199, 426, 686, 756, 818, 1111, 1181, 1210, 1635, 2060, 2097,
+            2192, 2262, 2324, 2394, 2456, 3178 };
+
+    /**
+     * The original implementation, scanning the break years on every call.
+     */
+    private static int[] scanBreakYears(int persianYear) {
+        int jalaaliLeaps = -14;
+        int jump = 0;
+        int breakYear = BREAK_YEARS[0];
+        for (int breakYearIndex = 1; breakYearIndex < BREAK_YEARS.length; breakYearIndex++) {
+            int nextBreakYear = BREAK_YEARS[breakYearIndex];
+            jump = nextBreakYear - breakYear;
+            if (persianYear < nextBreakYear) {
+                break;
+            }
+            jalaaliLeaps = jalaaliLeaps + jump / 33 * 8 + (jump % 33) / 4;
+            breakYear = nextBreakYear;
+        }
+        return new int[] { jump, persianYear - breakYear, jalaaliLeaps };
+    }
+
+    private static long scanFirstDayOfYearMillis(int persianYear) {
+        int[] calResult = scanBreakYears(persianYear);
+        int jump = calResult[0];
+        int differenceToNextBreakYear = calResult[1];
+        int leapJ = calResult[2] + differenceToNextBreakYear / 33 * 8 + ((differenceToNextBreakYear % 33) + 3) / 4;
+        if (jump % 33 == 4 && jump - differenceToNextBreakYear == 4) {
+            leapJ = leapJ + 1;
+        }
+        int isoYear = persianYear + 621;
+        int gregorianLeaps = isoYear / 4 - (isoYear / 100 + 1) * 3 / 4 - 150;
+        return new DateTime(isoYear, 3, 20 + leapJ - gregorianLeaps, 0, 0, 0, 0, ISO_UTC).getMillis();
+    }
+
+    private static boolean scanIsLeapYear(int persianYear) {
+        int[] calResult = scanBreakYears(persianYear);
+        int jump = calResult[0];
+        int differenceToNextBreakYear = calResult[1];
+        if (jump - differenceToNextBreakYear < 6) {
+            differenceToNextBreakYear = differenceToNextBreakYear - jump + (jump + 4) / 33 * 33;
+        }
+        return ((((differenceToNextBreakYear + 1) % 33) - 1) % 4) == 0;
+    }
+
     // -----------------------------------------------------------------------
     public void testEquality() {
         assertSame(PersianChronologyKhayyamBorkowski.getInstance(TOKYO), PersianChronologyKhayyamBorkowski.getInstance(TOKYO));
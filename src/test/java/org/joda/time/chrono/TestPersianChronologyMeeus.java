@@ -1,5 +1,7 @@
 package org.joda.time.chrono;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -402,6 +404,33 @@ public class TestPersianChronologyMeeus extends TestCase {
         assertEquals(persianEpochGreg, epoch.withChronology(GREG_UTC));
     }
 
+    // -----------------------------------------------------------------------
+    public void testEquinoxTable() throws Exception {
+        PersianEquinoxTable table = PersianEquinoxTable.getInstance();
+        assertNotNull(table);
+        PersianEquinoxTable live = PersianEquinoxTable.calculate(PersianEquinoxTable.FIRST_ISO_YEAR,
+                PersianEquinoxTable.LAST_ISO_YEAR);
+        for (int y = PersianEquinoxTable.FIRST_ISO_YEAR; y <= PersianEquinoxTable.LAST_ISO_YEAR; y++) {
+            assertEquals(live.getEquinoxSecondOfMarch(y), table.getEquinoxSecondOfMarch(y));
+        }
+        assertEquals(-1, table.getEquinoxSecondOfMarch(PersianEquinoxTable.FIRST_ISO_YEAR - 1));
+        assertEquals(-1, table.getEquinoxSecondOfMarch(PersianEquinoxTable.LAST_ISO_YEAR + 1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        live.writeTo(out);
+        PersianEquinoxTable read = PersianEquinoxTable.readFrom(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(live.getEquinoxSecondOfMarch(2012), read.getEquinoxSecondOfMarch(2012));
+    }
+
+    public void testLeapYearsAgainstEquinox() {
+        // 1391 AP started 20 March 2012, 1392 AP started 21 March 2013
+        PersianChronology chrono = (PersianChronology) PERSIAN_UTC.withUTC();
+        assertEquals(new DateTime(2012, 3, 20, 0, 0, 0, 0, ISO_UTC).getMillis(), chrono.getYearMillis(1391));
+        assertEquals(new DateTime(2013, 3, 21, 0, 0, 0, 0, ISO_UTC).getMillis(), chrono.getYearMillis(1392));
+        assertEquals(true, PERSIAN_UTC.year().isLeap(new DateTime(1391, 1, 1, 0, 0, 0, 0, PERSIAN_UTC).getMillis()));
+        assertEquals(false, PERSIAN_UTC.year().isLeap(new DateTime(1392, 1, 1, 0, 0, 0, 0, PERSIAN_UTC).getMillis()));
+    }
+
     // -----------------------------------------------------------------------
     public void testEquality() {
         assertSame(PersianChronologyMeeus.getInstance(TOKYO), PersianChronologyMeeus.getInstance(TOKYO));
@@ -433,6 +462,17 @@ public class TestPersianChronologyMeeus extends TestCase {
         assertSame(PersianChronologyMeeus.class, PersianChronologyMeeus.getInstance(TOKYO).getClass());
     }
 
+    public void testFactory_ZoneLongitude() {
+        assertSame(PersianChronologyMeeus.getInstance(TOKYO), PersianChronologyMeeus.getInstance(TOKYO, 51, 30, 0));
+        Chronology tehran = PersianChronologyMeeus.getInstance(TOKYO, 51, 25, 33);
+        assertSame(tehran, PersianChronologyMeeus.getInstance(TOKYO, 51, 25, 33));
+        assertNotSame(PersianChronologyMeeus.getInstance(TOKYO), tehran);
+        assertEquals(TOKYO, tehran.getZone());
+        assertSame(PersianChronologyMeeus.getInstance(PARIS, 51, 25, 33), tehran.withZone(PARIS));
+        assertSame(PersianChronologyMeeus.getInstance(DateTimeZone.UTC, 51, 25, 33), tehran.withUTC());
+        assertNotSame(PersianChronologyMeeus.getInstanceUTC(), tehran.withUTC());
+    }
+
     // -----------------------------------------------------------------------
     public void testFactoryUTC() {
         assertEquals(DateTimeZone.UTC, PersianChronologyMeeus.getInstanceUTC().getZone());
@@ -36,11 +36,13 @@ public class TestAll extends TestCase {
         TestSuite suite = new TestSuite();
         
         suite.addTest(TestDateTimeFormatter.suite());
+        suite.addTest(TestDateTimeParserBucket.suite());
         suite.addTest(TestDateTimeFormat.suite());
         suite.addTest(TestDateTimeFormatStyle.suite());
         suite.addTest(TestISODateTimeFormat.suite());
         suite.addTest(TestISODateTimeFormat_Fields.suite());
         suite.addTest(TestISODateTimeFormatParsing.suite());
+        suite.addTest(TestISOFastFormat.suite());
         suite.addTest(TestDateTimeFormatterBuilder.suite());
         
         suite.addTest(TestPeriodFormatter.suite());
@@ -16,6 +16,11 @@
 package org.joda.time.format;
 
 import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.text.ParsePosition;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -25,6 +30,7 @@ import junit.framework.TestSuite;
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeFieldType;
 import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
@@ -35,6 +41,7 @@ import org.joda.time.ReadablePartial;
 import org.joda.time.chrono.BuddhistChronology;
 import org.joda.time.chrono.GJChronology;
 import org.joda.time.chrono.ISOChronology;
+import org.joda.time.chrono.LenientChronology;
 
 /**
  * This class is a Junit unit test for DateTime Formating.
@@ -222,6 +229,141 @@ public class TestDateTimeFormatter extends TestCase {
         } catch (IllegalArgumentException ex) {}
     }
 
+    //-----------------------------------------------------------------------
+    public void testPrint_charArrayMethods() {
+        DateTime dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC);
+        char[] buf = new char[40];
+        assertEquals(31, f.printTo(buf, 2, dt.getMillis()));
+        assertEquals("Wed 2004-06-09T11:20:30+01:00", new String(buf, 2, 29));
+        assertEquals('\0', buf[1]);
+        assertEquals('\0', buf[31]);
+        
+        try {
+            f.printTo(new char[20], 0, dt.getMillis());
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        try {
+            f.printTo(buf, 41, dt.getMillis());
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+    }
+
+    public void testPrint_charArrayMatchesPrint() throws Exception {
+        DateTimeFormatter[] formatters = new DateTimeFormatter[] {
+            ISODateTimeFormat.dateTime(),
+            ISODateTimeFormat.basicOrdinalDateTime(),
+            ISODateTimeFormat.weekDateTimeNoMillis(),
+            DateTimeFormat.forPattern("EEEE d MMMM yy G hh:mm:ss.SSS a ZZZ z zzzz Z"),
+            DateTimeFormat.forPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS").withLocale(Locale.FRANCE),
+            DateTimeFormat.forStyle("FF").withLocale(Locale.UK),
+            new DateTimeFormatterBuilder()
+                .appendFractionOfSecond(0, 9).appendLiteral(' ').appendFractionOfDay(2, 12)
+                .appendLiteral(' ').appendTimeZoneOffset("Z", true, 1, 4)
+                .appendLiteral(' ').appendTimeZoneOffset(null, false, 2, 3)
+                .appendLiteral(' ').appendCenturyOfEra(1, 2).appendTwoDigitYear(1950)
+                .appendLiteral(' ').appendYear(6, 9).appendLiteral(' ').appendDayOfYear(1)
+                .toFormatter(),
+            new DateTimeFormatterBuilder()
+                .append(new StringPrinter("[")).appendDayOfMonth(2).append(new StringPrinter("]"))
+                .toFormatter(),
+        };
+        long[] instants = new long[] {
+            new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC).getMillis(),
+            new DateTime(2004, 1, 1, 0, 0, 0, 0, UTC).getMillis(),
+            new DateTime(-1200, 12, 31, 23, 59, 59, 999, UTC).getMillis(),
+            new DateTime(2004, 6, 9, 10, 20, 30, 40, TOKYO).getMillis(),
+        };
+        DateTimeZone[] zones = new DateTimeZone[] {UTC, LONDON, NEWYORK, DateTimeZone.forOffsetMillis(-12345678)};
+        char[] chars = new char[200];
+        byte[] bytes = new byte[200];
+        CharBuffer charBuffer = CharBuffer.allocate(200);
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(200);
+        for (int i = 0; i < formatters.length; i++) {
+            for (int j = 0; j < instants.length; j++) {
+                for (int k = 0; k < zones.length; k++) {
+                    DateTimeFormatter fmt = formatters[i].withZone(zones[k]);
+                    String expected = fmt.print(instants[j]);
+                    int end = 5 + expected.length();
+                    assertEquals(end, fmt.printTo(chars, 5, instants[j]));
+                    assertEquals(expected, new String(chars, 5, expected.length()));
+                    assertEquals(end, fmt.printTo(charBuffer, 5, instants[j]));
+                    assertEquals(expected, charBuffer.subSequence(5, end).toString());
+                    
+                    if (expected.matches("\\p{ASCII}*")) {
+                        assertEquals(end, fmt.printTo(bytes, 5, instants[j]));
+                        assertEquals(expected, new String(bytes, 5, expected.length(), "ISO-8859-1"));
+                        assertEquals(end, fmt.printTo(byteBuffer, 5, instants[j]));
+                        assertEquals(expected, new AsciiCharSequence(byteBuffer, 5, expected.length()).toString());
+                    }
+                }
+            }
+        }
+    }
+
+    public void testPrint_byteMethods() throws Exception {
+        DateTime dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC);
+        byte[] buf = new byte[40];
+        assertEquals(31, f.printTo(buf, 2, dt.getMillis()));
+        assertEquals("Wed 2004-06-09T11:20:30+01:00", new String(buf, 2, 29, "ISO-8859-1"));
+        
+        DateTimeFormatter g = DateTimeFormat.forPattern("EEE d MMM").withLocale(new Locale("ru"));
+        assertEquals(g.print(dt).replaceAll("[^\\p{ASCII}]", "?"),
+            new String(buf, 0, g.printTo(buf, 0, dt.getMillis()), "ISO-8859-1"));
+        
+        ByteBuffer buffer = ByteBuffer.allocate(40);
+        buffer.position(3).limit(30);
+        try {
+            f.printTo(buffer, 2, dt.getMillis());
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        assertEquals(0, buffer.get(2));
+        buffer.limit(31);
+        assertEquals(31, f.printTo(buffer, 2, dt.getMillis()));
+        assertEquals(3, buffer.position());
+        assertEquals(31, buffer.limit());
+        assertEquals('W', buffer.get(2));
+        try {
+            f.printTo(new byte[40], 12, dt.getMillis());
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+    }
+
+    public void testPrint_byteMethodsReentrant() throws Exception {
+        // the inner text is longer than the buffer sized for the outer text
+        DateTimeFormatter inner = new DateTimeFormatterBuilder()
+            .append(ISODateTimeFormat.dateTime()).appendLiteral(" / ")
+            .append(ISODateTimeFormat.dateTime()).appendLiteral(" / ")
+            .append(ISODateTimeFormat.dateTime()).toFormatter().withZone(UTC);
+        final DateTimeFormatter outer = new DateTimeFormatterBuilder()
+            .appendYear(4, 4).append(new NestedPrinter(inner)).appendLiteral(" end")
+            .toFormatter().withZone(UTC);
+        final long instant = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC).getMillis();
+        assertEquals("2004[2004-06-09] end", outer.print(instant));
+        
+        // a new thread, so that the nested call grows the buffer of the thread
+        final String[] printed = new String[4];
+        Thread thread = new Thread() {
+            public void run() {
+                byte[] bytes = new byte[100];
+                int end = outer.printTo(bytes, 0, instant);
+                printed[0] = new AsciiCharSequence(ByteBuffer.wrap(bytes), 0, end).toString();
+                ByteBuffer byteBuffer = ByteBuffer.allocate(100);
+                end = outer.printTo(byteBuffer, 0, instant);
+                printed[1] = new AsciiCharSequence(byteBuffer, 0, end).toString();
+                CharBuffer charBuffer = CharBuffer.allocate(100);
+                end = outer.printTo(charBuffer, 0, instant);
+                printed[2] = charBuffer.subSequence(0, end).toString();
+                end = outer.printTo(bytes, 0, instant);
+                printed[3] = new AsciiCharSequence(ByteBuffer.wrap(bytes), 0, end).toString();
+            }
+        };
+        thread.start();
+        thread.join();
+        for (int i = 0; i < printed.length; i++) {
+            assertEquals("2004[2004-06-09] end", printed[i]);
+        }
+    }
+
     //-----------------------------------------------------------------------
     public void testPrint_chrono_and_zone() {
         DateTime dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC);
@@ -920,6 +1062,86 @@ public class TestDateTimeFormatter extends TestCase {
         assertEquals(10512, f.parseMillis("10.512999"));
     }
 
+    //-----------------------------------------------------------------------
+    public void testParse_charSequence() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss").withZone(UTC);
+        DateTime expect = new DateTime(2004, 6, 9, 10, 20, 30, 0, UTC);
+        StringBuilder buf = new StringBuilder("2004-06-09 10:20:30");
+        assertEquals(expect.getMillis(), f.parseMillis(buf));
+        assertEquals(expect, f.parseDateTime(buf));
+        assertEquals(new LocalDateTime(2004, 6, 9, 10, 20, 30), f.parseLocalDateTime(buf));
+        assertEquals(expect, new DateTime(f.parseMutableDateTime(buf)));
+        
+        MutableDateTime result = new MutableDateTime(0L, UTC);
+        assertEquals(19, f.parseInto(result, buf, 0));
+        assertEquals(expect, new DateTime(result));
+        
+        try {
+            f.parseMillis(new StringBuilder("2004-06-09 10:20:3x"));
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid format: \"2004-06-09 10:20:3x\" is malformed at \"x\"", ex.getMessage());
+        }
+    }
+
+    public void testParse_charSequence_textAndZone() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("dd MMMM yyyy HH:mm ZZZ").withLocale(Locale.UK);
+        CharBuffer text = CharBuffer.wrap("xx09 June 2004 10:20 Europe/Paris xx".toCharArray(), 2, 31).slice();
+        DateTime expect = new DateTime(2004, 6, 9, 10, 20, 0, 0, PARIS);
+        assertEquals(expect.getMillis(), f.parseMillis(text));
+        assertEquals(expect, f.withOffsetParsed().parseDateTime(text));
+        
+        DateTimeFormatter g = DateTimeFormat.forPattern("EEE dd MMM yyyy").withZone(UTC).withLocale(Locale.UK);
+        assertEquals(new DateTime(2004, 6, 9, 0, 0, 0, 0, UTC).getMillis(),
+            g.parseMillis(new StringBuilder("wednesday 09 jun 2004")));
+        assertEquals(new LocalDate(2004, 6, 9), g.parseLocalDate(new StringBuilder("Wed 09 Jun 2004")));
+    }
+
+    public void testParseMillis_charArrayRange() {
+        DateTimeFormatter f = ISODateTimeFormat.dateTime().withZone(UTC);
+        char[] chars = "[2004-06-09T10:20:30.040Z]".toCharArray();
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC).getMillis(), f.parseMillis(chars, 1, 24));
+        try {
+            f.parseMillis(chars, 1, 25);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid format: \"2004-06-09T10:20:30.040Z]\" is malformed at \"]\"", ex.getMessage());
+        }
+        try {
+            f.parseMillis(chars, 20, 10);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            // expected
+        }
+    }
+
+    public void testParseMillis_byteRange() throws Exception {
+        DateTimeFormatter f = ISODateTimeFormat.dateTime().withZone(UTC);
+        long expect = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC).getMillis();
+        byte[] bytes = "INFO 2004-06-09T10:20:30.040Z start".getBytes("ISO-8859-1");
+        assertEquals(expect, f.parseMillis(bytes, 5, 24));
+        
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        buffer.position(3);
+        assertEquals(expect, f.parseMillis(buffer, 5, 24));
+        assertEquals(3, buffer.position());
+        assertEquals(bytes.length, buffer.limit());
+        try {
+            f.parseMillis(buffer, 5, 25);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid format: \"2004-06-09T10:20:30.040Z \" is malformed at \" \"", ex.getMessage());
+        }
+        try {
+            f.parseMillis(buffer, 30, 24);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            // expected
+        }
+    }
+
     //-----------------------------------------------------------------------
     // Ensure time zone name switches properly at the zone DST transition.
     public void testZoneNameNearTransition() {
@@ -953,4 +1175,250 @@ public class TestDateTimeFormatter extends TestCase {
         assertEquals("2005-10-30 02:00:01.0 EST", fmt.print(outDST_2));
     }
 
+    //-----------------------------------------------------------------------
+    public void testParse_reusedBucket() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm").withZone(UTC);
+        DateTimeFormatter g = DateTimeFormat.forPattern("dd MMMM yy").withZone(PARIS)
+            .withLocale(Locale.FRANCE).withPivotYear(1950);
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, ISOChronology.getInstance(TOKYO), Locale.UK);
+        ParsePosition pos = new ParsePosition(0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(new DateTime(2004, 6, 9, 10, 20, 0, 0, UTC).getMillis(), f.parseMillis("2004-06-09 10:20", bucket));
+            assertEquals(new DateTime(1955, 7, 1, 0, 0, 0, 0, PARIS).getMillis(), g.parseMillis("01 juillet 55", bucket));
+            try {
+                f.parseMillis("2004-13-09 10:20", bucket);
+                fail();
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+            pos.setIndex(0);
+            pos.setErrorIndex(-1);
+            assertEquals(0, f.tryParseMillis("2004-13-09 10:20", pos, bucket));
+            assertEquals(0, pos.getErrorIndex());
+            pos.setErrorIndex(-1);
+            assertEquals(new DateTime(2004, 6, 9, 10, 20, 0, 0, UTC).getMillis(), f.tryParseMillis("2004-06-09 10:20", pos, bucket));
+            assertEquals(16, pos.getIndex());
+            assertEquals(-1, pos.getErrorIndex());
+        }
+    }
+
+    public void testParse_reentrantParser() {
+        final DateTimeFormatter inner = DateTimeFormat.forPattern("HH:mm").withZone(UTC);
+        DateTimeParser parser = new DateTimeParser() {
+            public int estimateParsedLength() {
+                return 5;
+            }
+            public int parseInto(DateTimeParserBucket bucket, String text, int position) {
+                int millis = (int) inner.parseMillis(text.substring(position, position + 5));
+                bucket.saveField(DateTimeFieldType.millisOfDay(), millis);
+                return position + 5;
+            }
+        };
+        DateTimeFormatter f = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd ").append(parser).toFormatter().withZone(UTC);
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 0, 0, UTC), f.parseDateTime("2004-06-09 10:20"));
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 0, 0, UTC), f.parseDateTime("2004-06-09 10:20"));
+    }
+
+    //-----------------------------------------------------------------------
+    public void testTryParseMillis() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm").withZone(UTC);
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 0, 0, UTC).getMillis(), f.tryParseMillis("2004-06-09 10:20", pos));
+        assertEquals(16, pos.getIndex());
+        assertEquals(-1, pos.getErrorIndex());
+        
+        pos = new ParsePosition(3);
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 0, 0, UTC).getMillis(), f.tryParseMillis("at 2004-06-09 10:20 end", pos));
+        assertEquals(19, pos.getIndex());
+        assertEquals(-1, pos.getErrorIndex());
+    }
+
+    public void testTryParseMillis_invalid() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm").withZone(UTC);
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(0, f.tryParseMillis("2004-06-09 1x:20", pos));
+        assertEquals(0, pos.getIndex());
+        assertEquals(12, pos.getErrorIndex());
+        
+        pos = new ParsePosition(2);
+        assertEquals(0, f.tryParseMillis("..2004-13-09 10:20", pos));
+        assertEquals(2, pos.getIndex());
+        assertEquals(2, pos.getErrorIndex());
+        
+        pos = new ParsePosition(0);
+        assertEquals(0, f.tryParseMillis("2005-02-29 10:20", pos));
+        assertEquals(0, pos.getErrorIndex());
+        
+        pos = new ParsePosition(0);
+        assertEquals(0, f.tryParseMillis("", pos));
+        assertEquals(0, pos.getErrorIndex());
+    }
+
+    public void testTryParseMillis_overflow() {
+        DateTimeFormatter f = new DateTimeFormatterBuilder()
+            .appendLiteral('Y').appendSignedDecimal(DateTimeFieldType.year(), 1, 12)
+            .toFormatter().withZone(UTC);
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(0, f.tryParseMillis("Y12345678901", pos));
+        assertEquals(1, pos.getErrorIndex());
+        pos = new ParsePosition(0);
+        assertEquals(0, f.tryParseMillis("Y-2147483649", pos));
+        assertEquals(1, pos.getErrorIndex());
+        assertNull(f.tryParseDateTime("Y2147483648"));
+        // within the range of an int, but not of the year field
+        assertNull(f.tryParseDateTime("Y2147483647"));
+        assertNull(f.tryParseDateTime("Y-2147483648"));
+        assertEquals(new DateTime(123456789, 1, 1, 0, 0, 0, 0, UTC), f.tryParseDateTime("Y123456789"));
+        assertEquals(new DateTime(-123456789, 1, 1, 0, 0, 0, 0, UTC), f.tryParseDateTime("Y-0123456789"));
+        try {
+            f.parseMillis("Y12345678901");
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid format: \"Y12345678901\" is malformed at \"12345678901\"", ex.getMessage());
+        }
+        
+        f = new DateTimeFormatterBuilder().appendTwoDigitYear(1950, true).toFormatter().withZone(UTC);
+        assertNull(f.tryParseDateTime("123456789012345678901234567890"));
+        assertEquals(new DateTime(12345, 1, 1, 0, 0, 0, 0, UTC), f.tryParseDateTime("12345"));
+    }
+
+    public void testTryParseMillis_gap() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm").withZone(PARIS);
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(0, f.tryParseMillis("2007-03-25 02:30", pos));
+        assertEquals(0, pos.getErrorIndex());
+    }
+
+    public void testTryParseMillis_lenient() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("yyyy-MM-dd").withChronology(
+            LenientChronology.getInstance(ISOChronology.getInstanceUTC()));
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(f.parseMillis("2004-06-31"), f.tryParseMillis("2004-06-31", pos));
+        assertEquals(new DateTime(2004, 7, 1, 0, 0, 0, 0, UTC).getMillis(), f.parseMillis("2004-06-31"));
+        assertEquals(10, pos.getIndex());
+    }
+
+    public void testTryParseMillis_matchesParseMillis() {
+        DateTimeFormatter[] formatters = new DateTimeFormatter[] {
+            ISODateTimeFormat.dateTimeParser().withZone(PARIS),
+            ISODateTimeFormat.dateTime().withZone(LONDON),
+            DateTimeFormat.forPattern("dd MMM yyyy HH:mm z").withLocale(Locale.UK).withZone(UTC),
+        };
+        String[] texts = new String[] {
+            "2004-06-09T10:20:30.040Z", "2004-06-09T10:20:30.040+01:00", "2004-06-09", "2004-06-31",
+            "2004-06-09T25:00", "09 Jun 2004 10:20 UTC", "09 Jum 2004 10:20 UTC", "x", "",
+        };
+        for (int i = 0; i < formatters.length; i++) {
+            for (int j = 0; j < texts.length; j++) {
+                Long expected = null;
+                try {
+                    expected = formatters[i].parseMillis(texts[j]);
+                } catch (IllegalArgumentException ex) {
+                    // not parsed
+                }
+                ParsePosition pos = new ParsePosition(0);
+                long millis = formatters[i].tryParseMillis(texts[j], pos);
+                boolean parsed = (pos.getErrorIndex() < 0 && pos.getIndex() == texts[j].length());
+                assertEquals(texts[j], expected != null, parsed);
+                if (parsed) {
+                    assertEquals(texts[j], expected.longValue(), millis);
+                }
+                DateTime dt = formatters[i].tryParseDateTime(texts[j]);
+                assertEquals(texts[j], expected != null, dt != null);
+                if (dt != null) {
+                    assertEquals(formatters[i].parseDateTime(texts[j]), dt);
+                }
+            }
+        }
+    }
+
+    public void testTryParseDateTime() {
+        DateTimeFormatter f = ISODateTimeFormat.dateTimeParser().withOffsetParsed();
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 40, DateTimeZone.forOffsetHours(1)),
+            f.tryParseDateTime("2004-06-09T10:20:30.040+01:00"));
+        assertEquals(null, f.tryParseDateTime("2004-06-09T10:20:30.040+01:00x"));
+        assertEquals(null, f.tryParseDateTime("2004-06-39T10:20:30.040+01:00"));
+        assertEquals(null, f.tryParseDateTime(""));
+    }
+
+    public void testTryParseLocal() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm").withZone(PARIS);
+        assertEquals(new LocalDateTime(2007, 3, 25, 2, 30), f.tryParseLocalDateTime("2007-03-25 02:30"));
+        assertEquals(new LocalDate(2007, 3, 25), f.tryParseLocalDate("2007-03-25 02:30"));
+        assertEquals(new LocalTime(2, 30), f.tryParseLocalTime("2007-03-25 02:30"));
+        assertEquals(null, f.tryParseLocalDateTime("2007-03-25 24:30"));
+        assertEquals(null, f.tryParseLocalDate("2007-03-25"));
+        assertEquals(null, f.tryParseLocalTime("2007-03-25 02:30 "));
+    }
+
+    public void testTryParse_unsupported() {
+        DateTimeFormatter f = new DateTimeFormatter(new StringPrinter("x"), null);
+        try {
+            f.tryParseDateTime("x");
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /** A printer that does not print into char arrays directly. */
+    static class StringPrinter implements DateTimePrinter {
+        private final String iText;
+        StringPrinter(String text) {
+            iText = text;
+        }
+        public int estimatePrintedLength() {
+            return iText.length();
+        }
+        public void printTo(StringBuffer buf, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            buf.append(iText);
+        }
+        public void printTo(Writer out, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) throws IOException {
+            out.write(iText);
+        }
+        public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
+            buf.append(iText);
+        }
+        public void printTo(Writer out, ReadablePartial partial, Locale locale) throws IOException {
+            out.write(iText);
+        }
+    }
+
+    /** A printer that prints another formatter into a byte array and appends the date part. */
+    static class NestedPrinter implements DateTimePrinter {
+        private final DateTimeFormatter iFormatter;
+        NestedPrinter(DateTimeFormatter formatter) {
+            iFormatter = formatter;
+        }
+        public int estimatePrintedLength() {
+            return 2;
+        }
+        public void printTo(StringBuffer buf, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) {
+            byte[] bytes = new byte[100];
+            int end = iFormatter.printTo(bytes, 0, instant);
+            buf.append('[');
+            for (int i = 0; i < end && bytes[i] != 'T'; i++) {
+                buf.append((char) bytes[i]);
+            }
+            buf.append(']');
+        }
+        public void printTo(Writer out, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) throws IOException {
+            StringBuffer buf = new StringBuffer();
+            printTo(buf, instant, chrono, displayOffset, displayZone, locale);
+            out.write(buf.toString());
+        }
+        public void printTo(StringBuffer buf, ReadablePartial partial, Locale locale) {
+            throw new UnsupportedOperationException();
+        }
+        public void printTo(Writer out, ReadablePartial partial, Locale locale) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
 }
@@ -0,0 +1,165 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.util.Locale;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeFieldType;
+import org.joda.time.DateTimeZone;
+import org.joda.time.chrono.ISOChronology;
+
+/**
+ * This class is a Junit unit test for DateTimeParserBucket.
+ */
+public class TestDateTimeParserBucket extends TestCase {
+
+    private static final DateTimeZone PARIS = DateTimeZone.forID("Europe/Paris");
+    private static final Chronology ISO_PARIS = ISOChronology.getInstance(PARIS);
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestDateTimeParserBucket.class);
+    }
+
+    public TestDateTimeParserBucket(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void testComputeMillis_fieldsSetLargestFirst() {
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, ISO_PARIS, Locale.UK, null, 2000);
+        bucket.saveField(DateTimeFieldType.secondOfMinute(), 30);
+        bucket.saveField(DateTimeFieldType.dayOfMonth(), 9);
+        bucket.saveField(DateTimeFieldType.hourOfDay(), 10);
+        bucket.saveField(DateTimeFieldType.year(), 2004);
+        bucket.saveField(DateTimeFieldType.minuteOfHour(), 20);
+        bucket.saveField(DateTimeFieldType.monthOfYear(), 6);
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 0, PARIS).getMillis(), bucket.computeMillis(true));
+        // idempotent
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 0, PARIS).getMillis(), bucket.computeMillis(true));
+    }
+
+    public void testComputeMillis_dayFields() {
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, ISO_PARIS, Locale.UK, null, 2000);
+        bucket.saveField(DateTimeFieldType.year(), 2004);
+        bucket.saveField(DateTimeFieldType.dayOfWeek(), 1);
+        bucket.saveField(DateTimeFieldType.monthOfYear(), 6);
+        bucket.saveField(DateTimeFieldType.dayOfMonth(), 9);
+        bucket.saveField(DateTimeFieldType.dayOfYear(), 100);
+        // the day of month is overridden by the day of week, which is set last
+        assertEquals(new DateTime(2004, 4, 5, 0, 0, 0, 0, PARIS).getMillis(), bucket.computeMillis(true));
+    }
+
+    public void testComputeMillis_manyAndTextFields() {
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, ISO_PARIS, Locale.UK, null, 2000);
+        for (int i = 0; i < 20; i++) {
+            bucket.saveField(DateTimeFieldType.minuteOfHour(), i);
+        }
+        bucket.saveField(DateTimeFieldType.monthOfYear(), "June", Locale.UK);
+        bucket.saveField(DateTimeFieldType.year(), 2004);
+        bucket.saveField(DateTimeFieldType.dayOfWeek(), "Wed", Locale.UK);
+        assertEquals(new DateTime(2004, 6, 2, 0, 19, 0, 0, PARIS).getMillis(), bucket.computeMillis(true));
+    }
+
+    public void testComputeMillis_invalidValueMessage() {
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, ISO_PARIS, Locale.UK, null, 2000);
+        bucket.saveField(DateTimeFieldType.monthOfYear(), 13);
+        try {
+            bucket.computeMillis(true, "13");
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().startsWith("Cannot parse \"13\""));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void testSaveState_nested() {
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, ISO_PARIS, Locale.UK, null, 2000);
+        bucket.saveField(DateTimeFieldType.year(), 2004);
+        Object original = bucket.saveState();
+        assertSame(original, bucket.saveState());
+
+        // first branch, as DateTimeFormatterBuilder tries each parser in turn
+        bucket.saveField(DateTimeFieldType.monthOfYear(), 6);
+        bucket.saveField(DateTimeFieldType.dayOfMonth(), 9);
+        bucket.setOffset(Integer.valueOf(3600000));
+        Object best = bucket.saveState();
+
+        // second branch overwrites nothing saved by the first
+        assertEquals(true, bucket.restoreState(original));
+        assertEquals(null, bucket.getOffsetInteger());
+        bucket.saveField(DateTimeFieldType.monthOfYear(), 2);
+        bucket.saveField(DateTimeFieldType.dayOfMonth(), 3);
+        bucket.saveField(DateTimeFieldType.hourOfDay(), 4);
+        assertEquals(new DateTime(2004, 2, 3, 4, 0, 0, 0, PARIS).getMillis(), bucket.computeMillis(true));
+
+        assertEquals(true, bucket.restoreState(best));
+        assertEquals(Integer.valueOf(3600000), bucket.getOffsetInteger());
+        assertEquals(new DateTime(2004, 6, 9, 0, 0, 0, 0, DateTimeZone.forOffsetHours(1)).getMillis(), bucket.computeMillis(true));
+
+        assertEquals(true, bucket.restoreState(original));
+        assertEquals(new DateTime(2004, 1, 1, 0, 0, 0, 0, PARIS).getMillis(), bucket.computeMillis(true));
+    }
+
+    public void testRestoreState_invalid() {
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, ISO_PARIS, Locale.UK, null, 2000);
+        DateTimeParserBucket other = new DateTimeParserBucket(0L, ISO_PARIS, Locale.UK, null, 2000);
+        assertEquals(false, bucket.restoreState(null));
+        assertEquals(false, bucket.restoreState("state"));
+        assertEquals(false, bucket.restoreState(other.saveState()));
+    }
+
+    //-----------------------------------------------------------------------
+    public void testReset() {
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, ISO_PARIS, Locale.UK, Integer.valueOf(1950), 2000);
+        bucket.saveField(DateTimeFieldType.year(), 2004);
+        Object state = bucket.saveState();
+        bucket.saveField(DateTimeFieldType.monthOfYear(), "June", Locale.UK);
+        bucket.setZone(DateTimeZone.UTC);
+        bucket.setOffset(Integer.valueOf(3600000));
+        bucket.setPivotYear(Integer.valueOf(1990));
+
+        bucket.reset();
+        assertEquals(PARIS, bucket.getZone());
+        assertEquals(null, bucket.getOffsetInteger());
+        assertEquals(Integer.valueOf(1950), bucket.getPivotYear());
+        assertEquals(0L - PARIS.getOffset(0L), bucket.computeMillis());
+        assertEquals(false, bucket.restoreState(state));
+
+        bucket.saveField(DateTimeFieldType.dayOfMonth(), 9);
+        bucket.saveField(DateTimeFieldType.year(), 2005);
+        assertEquals(new DateTime(2005, 1, 9, 0, 0, 0, 0, PARIS).getMillis(), bucket.computeMillis(true));
+    }
+
+    public void testReset_newSettings() {
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, ISO_PARIS, Locale.UK, null, 2000);
+        bucket.saveField(DateTimeFieldType.year(), 2004);
+        bucket.reset(0L, ISOChronology.getInstanceUTC(), Locale.FRANCE, null, 2010);
+        assertEquals(DateTimeZone.UTC, bucket.getZone());
+        assertEquals(Locale.FRANCE, bucket.getLocale());
+        bucket.saveField(DateTimeFieldType.monthOfYear(), "juin", Locale.FRANCE);
+        assertEquals(new DateTime(2010, 6, 1, 0, 0, 0, 0, DateTimeZone.UTC).getMillis(), bucket.computeMillis(true));
+    }
+
+}
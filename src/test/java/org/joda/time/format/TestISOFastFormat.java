@@ -0,0 +1,352 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.io.CharArrayWriter;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+import org.joda.time.MutableDateTime;
+import org.joda.time.chrono.GJChronology;
+import org.joda.time.chrono.ISOChronology;
+
+/**
+ * This class is a Junit unit test for the fast ISO formatters, comparing
+ * them with the generic formatters they wrap.
+ */
+public class TestISOFastFormat extends TestCase {
+
+    private static final DateTimeZone[] ZONES = new DateTimeZone[] {
+        DateTimeZone.UTC,
+        DateTimeZone.forID("Europe/London"),
+        DateTimeZone.forID("Asia/Kolkata"),
+        DateTimeZone.forID("America/St_Johns"),
+        DateTimeZone.forOffsetMillis(-12345678),
+    };
+
+    private static final String[] TEXTS = new String[] {
+        "2004-06-09T10:20:30.040Z",
+        "2004-06-09T10:20:30.040+01:00",
+        "2004-06-09T10:20:30.040-05:30",
+        "2004-06-09T10:20:30.040-00:00",
+        "2004-06-09T10:20:30Z",
+        "2004-06-09T10:20:30+01:00",
+        "2004-06-09T10:20:30",
+        "2004-06-09T10:20:30.040",
+        "2004-06-09T10:20:30,040Z",
+        "2004-06-09T10:20:30.04Z",
+        "2004-06-09T10:20:30.0401Z",
+        "2004-06-09T10:20:30.040+01:00:30",
+        "2004-06-09T10:20:30.040+01",
+        "2004-06-09T10:20:30.040+0100",
+        "2004-06-09T10:20:30.040z",
+        "2004-06-09t10:20:30.040Z",
+        "2004-06-09T10:20:30.040Zjunk",
+        "2004-06-09T10:20:30.040Z1",
+        "2004-02-29T10:20:30.040Z",
+        "2005-02-29T10:20:30.040Z",
+        "2004-06-09T24:00:00.000Z",
+        "2004-06-09T10:60:30.040Z",
+        "2004-06-09T10:20:30.040+24:00",
+        "0000-01-01T00:00:00.000Z",
+        "9999-12-31T23:59:59.999Z",
+        "12004-06-09T10:20:30.040Z",
+        "-2004-06-09T10:20:30.040Z",
+        "2004-6-09T10:20:30.040Z",
+        "2004-06-09",
+        "2004-06-09T10:20",
+        "2004-W24-3T10:20:30Z",
+        "2004-161T10:20:30Z",
+        "T10:20:30Z",
+        "20040609T102030.040Z",
+        "20040609T102030.040+0100",
+        "20040609T102030.040-0530",
+        "20040609T102030.040+01:00",
+        "20040609T102030Z",
+        "20040609T102030+0530",
+        "20040609T102030",
+        "2004060T102030Z",
+        "x",
+        "",
+    };
+
+    private DateTimeZone originalDateTimeZone = null;
+    private TimeZone originalTimeZone = null;
+    private Locale originalLocale = null;
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestISOFastFormat.class);
+    }
+
+    public TestISOFastFormat(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        originalDateTimeZone = DateTimeZone.getDefault();
+        originalTimeZone = TimeZone.getDefault();
+        originalLocale = Locale.getDefault();
+        DateTimeZone.setDefault(DateTimeZone.forID("Europe/London"));
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"));
+        Locale.setDefault(Locale.UK);
+    }
+
+    protected void tearDown() throws Exception {
+        DateTimeZone.setDefault(originalDateTimeZone);
+        TimeZone.setDefault(originalTimeZone);
+        Locale.setDefault(originalLocale);
+        originalDateTimeZone = null;
+        originalTimeZone = null;
+        originalLocale = null;
+    }
+
+    //-----------------------------------------------------------------------
+    public void testFormattersAreFast() {
+        assertTrue(ISODateTimeFormat.dateTime().getPrinter() instanceof ISOFastFormat);
+        assertTrue(ISODateTimeFormat.dateTime().getParser() instanceof ISOFastFormat);
+        assertTrue(ISODateTimeFormat.dateTimeNoMillis().getPrinter() instanceof ISOFastFormat);
+        assertTrue(ISODateTimeFormat.basicDateTime().getPrinter() instanceof ISOFastFormat);
+        assertTrue(ISODateTimeFormat.basicDateTimeNoMillis().getPrinter() instanceof ISOFastFormat);
+        assertTrue(ISODateTimeFormat.dateTimeParser().getParser() instanceof ISOFastFormat);
+        assertEquals(null, ISODateTimeFormat.dateTimeParser().getPrinter());
+        assertTrue(ISODateTimeFormat.dateOptionalTimeParser().getParser() instanceof ISOFastFormat);
+        assertTrue(ISODateTimeFormat.localDateOptionalTimeParser().getParser() instanceof ISOFastFormat);
+        assertEquals(DateTimeZone.UTC, ISODateTimeFormat.localDateOptionalTimeParser().getZone());
+    }
+
+    //-----------------------------------------------------------------------
+    public void testPrint_dateTime() throws Exception {
+        assertPrint(ISODateTimeFormat.dateTime(), generic(ISODateTimeFormat.date(), ISODateTimeFormat.tTime()));
+    }
+
+    public void testPrint_dateTimeNoMillis() throws Exception {
+        assertPrint(ISODateTimeFormat.dateTimeNoMillis(),
+            generic(ISODateTimeFormat.date(), ISODateTimeFormat.tTimeNoMillis()));
+    }
+
+    public void testPrint_basicDateTime() throws Exception {
+        assertPrint(ISODateTimeFormat.basicDateTime(),
+            generic(ISODateTimeFormat.basicDate(), ISODateTimeFormat.basicTTime()));
+    }
+
+    public void testPrint_basicDateTimeNoMillis() throws Exception {
+        assertPrint(ISODateTimeFormat.basicDateTimeNoMillis(),
+            generic(ISODateTimeFormat.basicDate(), ISODateTimeFormat.basicTTimeNoMillis()));
+    }
+
+    public void testPrint_partialAndChronology() {
+        LocalDateTime ldt = new LocalDateTime(2004, 6, 9, 10, 20, 30, 40);
+        assertEquals("2004-06-09T10:20:30.040", ISODateTimeFormat.dateTime().print(ldt));
+        DateTime dt = new DateTime(1066, 10, 14, 9, 0, 0, 0, GJChronology.getInstance(DateTimeZone.UTC));
+        assertEquals("1066-10-14T09:00:00.000Z", ISODateTimeFormat.dateTime().print(dt));
+        assertEquals("1066-10-14T09:00:00.000Z",
+            ISODateTimeFormat.dateTime().withChronology(dt.getChronology()).print(dt.getMillis()));
+    }
+
+    //-----------------------------------------------------------------------
+    public void testParse_dateTime() {
+        assertParse(ISODateTimeFormat.dateTime(), generic(ISODateTimeFormat.date(), ISODateTimeFormat.tTime()));
+    }
+
+    public void testParse_dateTimeNoMillis() {
+        assertParse(ISODateTimeFormat.dateTimeNoMillis(),
+            generic(ISODateTimeFormat.date(), ISODateTimeFormat.tTimeNoMillis()));
+    }
+
+    public void testParse_basicDateTime() {
+        assertParse(ISODateTimeFormat.basicDateTime(),
+            generic(ISODateTimeFormat.basicDate(), ISODateTimeFormat.basicTTime()));
+    }
+
+    public void testParse_basicDateTimeNoMillis() {
+        assertParse(ISODateTimeFormat.basicDateTimeNoMillis(),
+            generic(ISODateTimeFormat.basicDate(), ISODateTimeFormat.basicTTimeNoMillis()));
+    }
+
+    public void testParse_dateOptionalTimeParser() {
+        assertParse(ISODateTimeFormat.dateOptionalTimeParser(), genericDateOptionalTimeParser());
+    }
+
+    public void testParse_dateTimeParser() {
+        DateTimeParser time = new DateTimeFormatterBuilder()
+            .appendLiteral('T')
+            .append(ISODateTimeFormat.timeElementParser())
+            .appendOptional(offsetParser())
+            .toParser();
+        DateTimeFormatter generic = new DateTimeFormatterBuilder()
+            .append(null, new DateTimeParser[] {time, genericDateOptionalTimeParser().getParser()})
+            .toFormatter();
+        assertParse(ISODateTimeFormat.dateTimeParser(), generic);
+    }
+
+    public void testParse_localDateOptionalTimeParser() {
+        DateTimeParser time = new DateTimeFormatterBuilder()
+            .appendLiteral('T')
+            .append(ISODateTimeFormat.timeElementParser())
+            .toParser();
+        DateTimeFormatter generic = new DateTimeFormatterBuilder()
+            .append(ISODateTimeFormat.dateElementParser())
+            .appendOptional(time)
+            .toFormatter().withZoneUTC();
+        DateTimeFormatter fast = ISODateTimeFormat.localDateOptionalTimeParser();
+        assertParse(fast, generic);
+        for (int i = 0; i < TEXTS.length; i++) {
+            assertEquals(TEXTS[i], parseLocal(generic, TEXTS[i]), parseLocal(fast, TEXTS[i]));
+        }
+    }
+
+    public void testParse_combinedWithOtherFields() {
+        DateTimeFormatter fast = new DateTimeFormatterBuilder()
+            .append(ISODateTimeFormat.dateTimeNoMillis())
+            .appendLiteral('#')
+            .appendMillisOfSecond(3)
+            .toFormatter().withOffsetParsed();
+        DateTimeFormatter generic = new DateTimeFormatterBuilder()
+            .append(generic(ISODateTimeFormat.date(), ISODateTimeFormat.tTimeNoMillis()))
+            .appendLiteral('#')
+            .appendMillisOfSecond(3)
+            .toFormatter().withOffsetParsed();
+        String text = "2004-06-09T10:20:30+01:00#040";
+        assertEquals(generic.parseDateTime(text), fast.parseDateTime(text));
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 40, DateTimeZone.forOffsetHours(1)), fast.parseDateTime(text));
+    }
+
+    public void testParse_optionalState() {
+        // the fast parser inside a choice of parsers, which saves and restores the bucket state
+        DateTimeFormatter fast = new DateTimeFormatterBuilder()
+            .append(null, new DateTimeParser[] {
+                ISODateTimeFormat.dateTime().getParser(),
+                ISODateTimeFormat.dateTimeNoMillis().getParser(),
+                ISODateTimeFormat.date().getParser(),
+            })
+            .toFormatter().withZoneUTC();
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 40, DateTimeZone.UTC),
+            fast.parseDateTime("2004-06-09T10:20:30.040Z"));
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 0, DateTimeZone.UTC),
+            fast.parseDateTime("2004-06-09T10:20:30Z"));
+        assertEquals(new DateTime(2004, 6, 9, 0, 0, 0, 0, DateTimeZone.UTC),
+            fast.parseDateTime("2004-06-09"));
+    }
+
+    //-----------------------------------------------------------------------
+    private static DateTimeFormatter generic(DateTimeFormatter date, DateTimeFormatter time) {
+        return new DateTimeFormatterBuilder().append(date).append(time).toFormatter();
+    }
+
+    private static DateTimeParser offsetParser() {
+        return new DateTimeFormatterBuilder().appendTimeZoneOffset("Z", true, 2, 4).toParser();
+    }
+
+    private static DateTimeFormatter genericDateOptionalTimeParser() {
+        DateTimeParser timeOrOffset = new DateTimeFormatterBuilder()
+            .appendLiteral('T')
+            .appendOptional(ISODateTimeFormat.timeElementParser().getParser())
+            .appendOptional(offsetParser())
+            .toParser();
+        return new DateTimeFormatterBuilder()
+            .append(ISODateTimeFormat.dateElementParser())
+            .appendOptional(timeOrOffset)
+            .toFormatter();
+    }
+
+    private static void assertPrint(DateTimeFormatter fast, DateTimeFormatter generic) throws Exception {
+        assertTrue(fast.getPrinter() instanceof ISOFastFormat);
+        char[] chars = new char[40];
+        for (int z = 0; z < ZONES.length; z++) {
+            DateTimeFormatter f = fast.withZone(ZONES[z]);
+            DateTimeFormatter g = generic.withZone(ZONES[z]);
+            for (long instant = -64000000000000L; instant < 260000000000000L; instant += 997654321987L) {
+                String expected = g.print(instant);
+                assertEquals(expected, f.print(instant));
+                assertEquals(expected, new String(chars, 0, f.printTo(chars, 0, instant)));
+                CharArrayWriter out = new CharArrayWriter();
+                f.printTo(out, instant);
+                assertEquals(expected, out.toString());
+            }
+            long[] instants = new long[] {
+                new DateTime(-1, 1, 1, 0, 0, 0, 0, DateTimeZone.UTC).getMillis(),
+                new DateTime(10000, 1, 1, 0, 0, 0, 0, DateTimeZone.UTC).getMillis(),
+                new DateTime(2004, 2, 29, 23, 59, 59, 999, DateTimeZone.UTC).getMillis(),
+            };
+            for (int i = 0; i < instants.length; i++) {
+                assertEquals(g.print(instants[i]), f.print(instants[i]));
+            }
+            DateTimeFormatter gj = f.withChronology(GJChronology.getInstance(ZONES[z]));
+            assertEquals(generic.withChronology(GJChronology.getInstance(ZONES[z])).print(instants[0]),
+                gj.print(instants[0]));
+        }
+    }
+
+    private static void assertParse(DateTimeFormatter fast, DateTimeFormatter generic) {
+        assertTrue(fast.getParser() instanceof ISOFastFormat);
+        for (int i = 0; i < TEXTS.length; i++) {
+            String text = TEXTS[i];
+            assertEquals(text, parseMillis(generic, text), parseMillis(fast, text));
+            assertEquals(text, parseOffset(generic, text), parseOffset(fast, text));
+            assertEquals(text, parseMillis(generic.withZone(ZONES[3]), text),
+                parseMillis(fast.withZone(ZONES[3]), text));
+            assertEquals(text, parseMillis(generic.withChronology(GJChronology.getInstanceUTC()), text),
+                parseMillis(fast.withChronology(GJChronology.getInstanceUTC()), text));
+            assertEquals(text, parseInto(generic, text), parseInto(fast, text));
+        }
+    }
+
+    private static String parseMillis(DateTimeFormatter f, String text) {
+        try {
+            return Long.toString(f.parseMillis(text));
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private static String parseOffset(DateTimeFormatter f, String text) {
+        try {
+            return f.withOffsetParsed().parseDateTime(text).toString();
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private static String parseLocal(DateTimeFormatter f, String text) {
+        try {
+            return f.parseLocalDateTime(text).toString();
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private static String parseInto(DateTimeFormatter f, String text) {
+        // the base has a millisecond of second, which is kept if it is not parsed
+        MutableDateTime base = new MutableDateTime(2001, 2, 3, 4, 5, 6, 789, ISOChronology.getInstanceUTC());
+        try {
+            int pos = f.parseInto(base, text, 0);
+            return pos + " " + base;
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+}
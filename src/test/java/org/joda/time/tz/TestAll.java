@@ -39,6 +39,9 @@ public class TestAll extends TestCase {
         suite.addTest(TestCompiler.suite());
         suite.addTest(TestCachedDateTimeZone.suite());
         suite.addTest(TestFixedDateTimeZone.suite());
+        suite.addTest(TestZoneInfoProvider.suite());
+        suite.addTest(TestZoneInfoBundleProvider.suite());
+        suite.addTest(TestZoneTransition.suite());
         return suite;
     }
 
@@ -17,7 +17,12 @@ package org.joda.time.tz;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
@@ -294,6 +299,64 @@ public class TestBuilder extends TestCase {
         return tz;
     }
 
+    public void testCompactSerialization() throws IOException {
+        DateTimeZoneBuilder builder = buildAmericaLosAngelesBuilder();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        builder.writeCompactTo("America/Los_Angeles", out);
+        byte[] compact = out.toByteArray();
+        out = new ByteArrayOutputStream();
+        builder.writeTo("America/Los_Angeles", out);
+        assertTrue(compact.length < out.size());
+
+        DateTimeZone tz = DateTimeZoneBuilder.readFrom(new ByteArrayInputStream(compact), "America/Los_Angeles");
+        assertEquals("America/Los_Angeles", tz.getID());
+        assertEquals(false, tz.isFixed());
+        assertEquals(buildAmericaLosAngeles(), tz);
+        assertEquals(testSerialization(builder, "America/Los_Angeles"), tz);
+        testForwardTransitions(tz, AMERICA_LOS_ANGELES_DATA);
+        testReverseTransitions(tz, AMERICA_LOS_ANGELES_DATA);
+    }
+
+    public void testCompactSerialization_fixed() throws IOException {
+        DateTimeZoneBuilder builder = new DateTimeZoneBuilder()
+            .setStandardOffset(3600000)
+            .setFixedSavings("LMT", 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        builder.writeCompactTo("Test", out);
+        DateTimeZone tz = DateTimeZoneBuilder.readFrom(new ByteArrayInputStream(out.toByteArray()), "Test");
+        assertEquals(builder.toDateTimeZone("Test", true), tz);
+    }
+
+    public void testCompactSerialization_badVersion() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buildAmericaLosAngelesBuilder().writeCompactTo("America/Los_Angeles", out);
+        byte[] bytes = out.toByteArray();
+        bytes[1] = (byte) (DateTimeZoneBuilder.COMPACT_VERSION + 1);
+        try {
+            DateTimeZoneBuilder.readFrom(new ByteArrayInputStream(bytes), "America/Los_Angeles");
+            fail();
+        } catch (IOException ex) {
+            // expected
+        }
+    }
+
+    public void testCompactMillis() throws IOException {
+        long[] values = {
+            0L, 1L, 999L, 1000L, 59999L, 60000L, 3600000L, 15778800000L,
+            1234567890123L, (1L << 60) - 1, 60000L << 40
+        };
+        for (int i = 0; i < values.length; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            DateTimeZoneBuilder.writeCompactMillis(new DataOutputStream(out), values[i]);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+            assertEquals(values[i], DateTimeZoneBuilder.readCompactMillis(in));
+            assertEquals(-1, in.read());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DateTimeZoneBuilder.writeCompactMillis(new DataOutputStream(out), 15778800000L);
+        assertEquals(3, out.size());
+    }
+
     public void testFixed() throws IOException {
         DateTimeZoneBuilder builder = new DateTimeZoneBuilder()
             .setStandardOffset(3600000)
@@ -311,4 +374,63 @@ public class TestBuilder extends TestCase {
             tz = testSerialization(builder, "Test");
         }
     }
+
+    public void testTailTransitions() throws Exception {
+        // a new provider, so that the zones have not materialised their tails
+        ZoneInfoProvider provider = new ZoneInfoProvider("org/joda/time/tz/data");
+        String[] ids = {
+            "Europe/London", "America/New_York", "America/Sao_Paulo", "Australia/Lord_Howe",
+            "Europe/Paris", "Pacific/Auckland", "America/Santiago"
+        };
+        long start = new DateTime(2000, 1, 1, 0, 0, 0, 0, DateTimeZone.UTC).getMillis();
+        long end = new DateTime(2150, 1, 1, 0, 0, 0, 0, DateTimeZone.UTC).getMillis();
+        long far = new DateTime(2090, 6, 1, 0, 0, 0, 0, DateTimeZone.UTC).getMillis();
+        for (int z = 0; z < ids.length; z++) {
+            DateTimeZone tz = provider.getZone(ids[z]);
+            if (tz instanceof CachedDateTimeZone) {
+                tz = ((CachedDateTimeZone) tz).getUncachedZone();
+            }
+            // extend straight to a distant year first
+            int farOffset = tz.getOffset(far);
+
+            // the transition iterator evaluates the tail rules directly
+            List<ZoneTransition> list = new ArrayList<ZoneTransition>();
+            Iterator<ZoneTransition> it = tz.transitionIterator(start, end);
+            while (it.hasNext()) {
+                list.add(it.next());
+            }
+            assertTrue(ids[z], list.size() > 100);
+            long[] instants = new long[list.size() * 2];
+            for (int i = 0; i < list.size(); i++) {
+                ZoneTransition transition = list.get(i);
+                long millis = transition.getMillis();
+                assertEquals(ids[z], transition.getOffsetBefore(), tz.getOffset(millis - 1));
+                assertEquals(ids[z], transition.getOffsetAfter(), tz.getOffset(millis));
+                assertEquals(ids[z], transition.getNameKey(), tz.getNameKey(millis));
+                assertEquals(ids[z], millis, tz.nextTransition(millis - 1));
+                assertEquals(ids[z], millis - 1, tz.previousTransition(millis));
+                if (i > 0) {
+                    long before = list.get(i - 1).getMillis();
+                    long mid = (before + millis) / 2;
+                    assertEquals(ids[z], transition.getOffsetBefore(), tz.getOffset(mid));
+                    assertEquals(ids[z], tz.getNameKey(before + 1), tz.getNameKey(mid));
+                    assertEquals(ids[z], millis, tz.nextTransition(before));
+                    assertEquals(ids[z], millis, tz.nextTransition(mid));
+                    assertEquals(ids[z], before - 1, tz.previousTransition(millis - 1));
+                    assertEquals(ids[z], before - 1, tz.previousTransition(mid));
+                    if (before <= far && far < millis) {
+                        assertEquals(ids[z], transition.getOffsetBefore(), farOffset);
+                    }
+                }
+                instants[i * 2] = millis - 1;
+                instants[i * 2 + 1] = millis;
+            }
+            int[] offsets = new int[instants.length];
+            tz.getOffsets(instants, offsets);
+            for (int i = 0; i < instants.length; i++) {
+                assertEquals(ids[z], tz.getOffset(instants[i]), offsets[i]);
+            }
+        }
+    }
+
 }
@@ -61,6 +61,93 @@ public class TestCachedDateTimeZone extends TestCase {
         assertSame(zone1, zone2);
     }
 
+    public void test_matchesUncached() throws Exception {
+        String[] ids = {"Europe/Paris", "America/New_York", "Europe/London", "Asia/Kolkata", "Asia/Tehran"};
+        for (int z = 0; z < ids.length; z++) {
+            DateTimeZone uncached = DateTimeZone.forID(ids[z]);
+            if (uncached instanceof CachedDateTimeZone) {
+                uncached = ((CachedDateTimeZone) uncached).getUncachedZone();
+            }
+            CachedDateTimeZone cached = CachedDateTimeZone.forZone(uncached);
+            // spans periods with zero, one and several transitions, and the end of the data
+            long step = 4L * 60 * 60 * 1000 + 12345;
+            for (long millis = -2500000000000L; millis < 5000000000000L; millis += step) {
+                assertEquals(uncached.getOffset(millis), cached.getOffset(millis));
+                assertEquals(uncached.getStandardOffset(millis), cached.getStandardOffset(millis));
+                assertEquals(uncached.getNameKey(millis), cached.getNameKey(millis));
+                assertEquals(uncached.nextTransition(millis), cached.nextTransition(millis));
+            }
+            long millis = -2500000000000L;
+            for (int i = 0; i < 1000; i++) {
+                long next = cached.nextTransition(millis);
+                assertEquals(uncached.nextTransition(millis), next);
+                assertEquals(uncached.getOffset(next), cached.getOffset(next));
+                assertEquals(uncached.getOffset(next - 1), cached.getOffset(next - 1));
+                if (next == millis) {
+                    break;
+                }
+                millis = next;
+            }
+        }
+    }
+
+    public void test_getOffsetFromLocal() throws Exception {
+        // either side of the start and end of each gap or overlap of up to an hour
+        long[] deltas = {-3600000, -1, 0, 1800000, 3599999, 3600000};
+        for (String id : DateTimeZone.getAvailableIDs()) {
+            DateTimeZone uncached = DateTimeZone.forID(id);
+            if (!id.equals(uncached.getID())) {
+                continue;  // alias
+            }
+            if (uncached instanceof CachedDateTimeZone) {
+                uncached = ((CachedDateTimeZone) uncached).getUncachedZone();
+            }
+            DateTimeZone[] zones = {uncached, CachedDateTimeZone.forZone(uncached)};
+            long millis = -4000000000000L;  // 1843
+            for (int i = 0; i < 500 && millis < 2500000000000L; i++) {
+                long next = uncached.nextTransition(millis);
+                long[] locals = {next + uncached.getOffset(next - 1), next + uncached.getOffset(next)};
+                for (long local : locals) {
+                    for (long delta : deltas) {
+                        long instantLocal = local + delta;
+                        int expected = expectedOffsetFromLocal(uncached, instantLocal);
+                        for (DateTimeZone zone : zones) {
+                            assertEquals(id + " " + instantLocal, expected, zone.getOffsetFromLocal(instantLocal));
+                        }
+                    }
+                }
+                if (next == millis) {
+                    break;
+                }
+                millis = next;
+            }
+        }
+    }
+
+    /**
+     * Resolves a local time by walking the nearby periods of the zone, taking
+     * the earliest instant with that local time, or the offset before a gap.
+     */
+    private static int expectedOffsetFromLocal(DateTimeZone zone, long instantLocal) {
+        long day = 24L * 60 * 60 * 1000;
+        long periodStart = instantLocal - 2 * day;
+        int gapOffset = zone.getOffset(periodStart);
+        while (periodStart < instantLocal + 2 * day) {
+            long next = zone.nextTransition(periodStart);
+            long periodEnd = (next <= periodStart ? Long.MAX_VALUE : next);
+            int offset = zone.getOffset(periodStart);
+            long instant = instantLocal - offset;
+            if (instant >= periodStart && instant < periodEnd) {
+                return offset;
+            }
+            if (instant >= periodEnd) {
+                gapOffset = offset;
+            }
+            periodStart = periodEnd;
+        }
+        return gapOffset;
+    }
+
     //-----------------------------------------------------------------------
     public void testSerialization() throws Exception {
         CachedDateTimeZone test = CachedDateTimeZone.forZone(DateTimeZone.forID("Europe/Paris"));
@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 import junit.framework.TestCase;
@@ -94,6 +95,116 @@ public class TestCompiler extends TestCase {
         TestBuilder.testReverseTransitions(tz, TestBuilder.AMERICA_LOS_ANGELES_DATA);
     }
 
+    public void testCompileBundle() throws Exception {
+        File tempDir = createDataFile(AMERICA_LOS_ANGELES_FILE);
+        File destDir = makeTempDir();
+        ZoneInfoCompiler.main(new String[] {
+            "-src", tempDir.getAbsolutePath(),
+            "-dst", destDir.getAbsolutePath(),
+            "-bundle",
+            "tzdata"
+        });
+        deleteOnExit(destDir);
+
+        Provider provider = new ZoneInfoBundleProvider(new File(destDir, "ZoneInfoBundle"));
+        assertEquals(new ZoneInfoProvider(destDir).getAvailableIDs(), provider.getAvailableIDs());
+        DateTimeZone tz = provider.getZone("America/Los_Angeles");
+
+        assertEquals("America/Los_Angeles", tz.getID());
+        assertEquals(false, tz.isFixed());
+        assertSame(tz, provider.getZone("America/Los_Angeles"));
+        TestBuilder.testForwardTransitions(tz, TestBuilder.AMERICA_LOS_ANGELES_DATA);
+        TestBuilder.testReverseTransitions(tz, TestBuilder.AMERICA_LOS_ANGELES_DATA);
+    }
+
+    public void testCompileCompact() throws Exception {
+        File tempDir = createDataFile(AMERICA_LOS_ANGELES_FILE);
+        File destDir = makeTempDir();
+        File compactDir = makeTempDir();
+        File[] sources = new File[] {new File(tempDir, "tzdata")};
+        new ZoneInfoCompiler().compile(destDir, sources);
+        ZoneInfoCompiler.main(new String[] {
+            "-src", tempDir.getAbsolutePath(),
+            "-dst", compactDir.getAbsolutePath(),
+            "-compact",
+            "tzdata"
+        });
+        deleteOnExit(destDir);
+        deleteOnExit(compactDir);
+
+        File file = new File(destDir, "America/Los_Angeles");
+        File compactFile = new File(compactDir, "America/Los_Angeles");
+        assertTrue(compactFile.length() < file.length());
+        DateTimeZone tz = new ZoneInfoProvider(compactDir).getZone("America/Los_Angeles");
+        assertEquals(new ZoneInfoProvider(destDir).getZone("America/Los_Angeles"), tz);
+        TestBuilder.testForwardTransitions(tz, TestBuilder.AMERICA_LOS_ANGELES_DATA);
+        TestBuilder.testReverseTransitions(tz, TestBuilder.AMERICA_LOS_ANGELES_DATA);
+    }
+
+    public void testCompileIncremental() throws Exception {
+        String fixed = "\nZone Etc/Test 1:00 - TST\n";
+        File tempDir = createDataFile(AMERICA_LOS_ANGELES_FILE + fixed);
+        File destDir = makeTempDir();
+        File[] sources = new File[] {new File(tempDir, "tzdata")};
+        Map<String, DateTimeZone> first = new ZoneInfoCompiler().compile(destDir, sources, true, 1);
+        deleteOnExit(destDir);
+        assertEquals(2, first.size());
+        assertEquals(true, new File(destDir, ZoneInfoCompiler.FINGERPRINT_FILE).isFile());
+
+        // unchanged zones are read back rather than rewritten
+        File laFile = new File(destDir, "America/Los_Angeles");
+        File testFile = new File(destDir, "Etc/Test");
+        laFile.setLastModified(946684800000L);
+        testFile.setLastModified(946684800000L);
+        Map<String, DateTimeZone> second = new ZoneInfoCompiler().compile(destDir, sources, true, 1);
+        assertEquals(first, second);
+        assertEquals(946684800000L, laFile.lastModified());
+        assertEquals(946684800000L, testFile.lastModified());
+
+        // a changed zone is rebuilt
+        createDataFile(tempDir, AMERICA_LOS_ANGELES_FILE + fixed.replace("1:00", "2:00"));
+        Map<String, DateTimeZone> third = new ZoneInfoCompiler().compile(destDir, sources, true, 1);
+        assertEquals(first.get("America/Los_Angeles"), third.get("America/Los_Angeles"));
+        assertEquals(7200000, third.get("Etc/Test").getOffset(0L));
+        assertEquals(946684800000L, laFile.lastModified());
+        assertEquals(false, testFile.lastModified() == 946684800000L);
+        assertEquals(7200000, new ZoneInfoProvider(destDir).getZone("Etc/Test").getOffset(0L));
+
+        // a changed rule rebuilds the zones using it
+        laFile.setLastModified(946684800000L);
+        createDataFile(tempDir, AMERICA_LOS_ANGELES_FILE.replace("1918    1919", "1918    1920") + fixed);
+        Map<String, DateTimeZone> fourth = new ZoneInfoCompiler().compile(destDir, sources, true, 1);
+        assertEquals(false, first.get("America/Los_Angeles").equals(fourth.get("America/Los_Angeles")));
+        assertEquals(false, laFile.lastModified() == 946684800000L);
+
+        // a full compile deletes the fingerprints, as its files no longer match them
+        createDataFile(tempDir, AMERICA_LOS_ANGELES_FILE + fixed);
+        new ZoneInfoCompiler().compile(destDir, sources);
+        assertEquals(false, new File(destDir, ZoneInfoCompiler.FINGERPRINT_FILE).exists());
+        createDataFile(tempDir, AMERICA_LOS_ANGELES_FILE.replace("1918    1919", "1918    1920") + fixed);
+        Map<String, DateTimeZone> fifth = new ZoneInfoCompiler().compile(destDir, sources, true, 1);
+        assertEquals(fourth, fifth);
+        assertEquals(fourth.get("America/Los_Angeles"), new ZoneInfoProvider(destDir).getZone("America/Los_Angeles"));
+        assertEquals(true, new File(destDir, ZoneInfoCompiler.FINGERPRINT_FILE).isFile());
+    }
+
+    public void testCompileThreads() throws Exception {
+        File tempDir = createDataFile(AMERICA_LOS_ANGELES_FILE);
+        File otherFile = new File(tempDir, "other");
+        otherFile.deleteOnExit();
+        createDataFile(tempDir, "other", "Zone Etc/Test 1:00 - TST\nLink America/Los_Angeles US/Test\n");
+        File[] sources = new File[] {new File(tempDir, "tzdata"), otherFile};
+        Map<String, DateTimeZone> expected = new ZoneInfoCompiler().compile(null, sources);
+        assertEquals(3, expected.size());
+        assertEquals(expected, new ZoneInfoCompiler().compile(null, sources, false, 4));
+        try {
+            new ZoneInfoCompiler().compile(null, sources, false, 0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
     private Provider compileAndLoad(String data) throws Exception {
         File tempDir = createDataFile(data);
         File destDir = makeTempDir();
@@ -112,8 +223,16 @@ public class TestCompiler extends TestCase {
 
     private File createDataFile(String data) throws IOException {
         File tempDir = makeTempDir();
+        createDataFile(tempDir, data);
+        return tempDir;
+    }
+
+    private void createDataFile(File tempDir, String data) throws IOException {
+        createDataFile(tempDir, "tzdata", data);
+    }
 
-        File tempFile = new File(tempDir, "tzdata");
+    private void createDataFile(File tempDir, String name, String data) throws IOException {
+        File tempFile = new File(tempDir, name);
         tempFile.deleteOnExit();
 
         InputStream in = new ByteArrayInputStream(data.getBytes("UTF-8"));
@@ -126,8 +245,6 @@ public class TestCompiler extends TestCase {
         }
         out.close();
         in.close();
-
-        return tempDir;
     }
 
     private File makeTempDir() {
@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.tz;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * This class is a JUnit test for ZoneInfoBundleProvider.
+ */
+public class TestZoneInfoBundleProvider extends TestCase {
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestZoneInfoBundleProvider.class);
+    }
+
+    public TestZoneInfoBundleProvider(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void testGetAvailableIDs() throws Exception {
+        Provider p = new ZoneInfoBundleProvider();
+        Set<String> ids = p.getAvailableIDs();
+        assertEquals(new ZoneInfoProvider("org/joda/time/tz/data").getAvailableIDs(), ids);
+        assertEquals(true, ids.contains("UTC"));
+        assertEquals(true, ids.contains("Europe/London"));
+        assertEquals(true, ids.contains("GB"));
+    }
+
+    //-----------------------------------------------------------------------
+    public void testGetZone_String() throws Exception {
+        Provider p = new ZoneInfoBundleProvider();
+        assertSame(DateTimeZone.UTC, p.getZone("UTC"));
+        assertEquals(null, p.getZone(null));
+        assertEquals(null, p.getZone("Blah"));
+        DateTimeZone london = p.getZone("Europe/London");
+        assertEquals("Europe/London", london.getID());
+        assertSame(london, p.getZone("Europe/London"));
+        assertSame(london, p.getZone("GB"));
+    }
+
+    public void testGetZone_matchesZoneInfoProvider() throws Exception {
+        Provider p = new ZoneInfoBundleProvider();
+        Provider expected = new ZoneInfoProvider("org/joda/time/tz/data");
+        for (String id : expected.getAvailableIDs()) {
+            assertEquals(id, expected.getZone(id), p.getZone(id));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void testConstructor_badBuffer() throws Exception {
+        try {
+            new ZoneInfoBundleProvider(ByteBuffer.wrap(new byte[] {0, 0, 0, 99}));
+            fail();
+        } catch (IOException ex) {
+            // expected
+        }
+        try {
+            new ZoneInfoBundleProvider(ByteBuffer.wrap(new byte[] {0, 0, 0, 1, 0, 0}));
+            fail();
+        } catch (IOException ex) {
+            // expected
+        }
+        try {
+            new ZoneInfoBundleProvider((ByteBuffer) null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @SuppressWarnings("deprecation")
+    public void testByteBufferDataInput_readLine() throws Exception {
+        byte[] bytes = "one\ntwo\r\nthree\rfour\u00e9\n\nfive".getBytes("ISO-8859-1");
+        ZoneInfoBundleProvider.ByteBufferDataInput in =
+            new ZoneInfoBundleProvider.ByteBufferDataInput(ByteBuffer.wrap(bytes));
+        DataInputStream expected = new DataInputStream(new ByteArrayInputStream(bytes));
+        for (int i = 0; i < 7; i++) {
+            assertEquals(expected.readLine(), in.readLine());
+        }
+        assertEquals(null, in.readLine());
+        assertEquals(bytes.length, in.position());
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.tz;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * This class is a JUnit test for ZoneInfoProvider.
+ */
+public class TestZoneInfoProvider extends TestCase {
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestZoneInfoProvider.class);
+    }
+
+    public TestZoneInfoProvider(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void testPreload_ids() throws Exception {
+        ZoneInfoProvider p = new ZoneInfoProvider("org/joda/time/tz/data");
+        Map<String, Long> timings = p.preload(Arrays.asList("Europe/London", "GB", "America/New_York", "Blah"), 2);
+        assertEquals(3, timings.size());
+        assertEquals(true, timings.get("Europe/London").longValue() >= 0);
+        assertEquals(true, timings.containsKey("GB"));
+        assertEquals(false, timings.containsKey("Blah"));
+        DateTimeZone london = p.getZone("Europe/London");
+        assertEquals("Europe/London", london.getID());
+        assertSame(london, p.getZone("Europe/London"));
+        assertSame(london, p.getZone("GB"));
+    }
+
+    public void testPreload_all() throws Exception {
+        ZoneInfoProvider p = new ZoneInfoProvider("org/joda/time/tz/data");
+        Map<String, Long> timings = p.preload(null, 4);
+        assertEquals(p.getAvailableIDs(), timings.keySet());
+        Provider expected = new ZoneInfoProvider("org/joda/time/tz/data");
+        for (String id : p.getAvailableIDs()) {
+            assertEquals(id, expected.getZone(id), p.getZone(id));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void testCachePolicy_default() throws Exception {
+        ZoneInfoProvider p = new ZoneInfoProvider("org/joda/time/tz/data");
+        assertSame(ZoneCachePolicy.soft(), p.getCachePolicy());
+        assertEquals(0, p.getLoadCount());
+        assertEquals(0, p.getLoadNanos());
+        DateTimeZone london = p.getZone("Europe/London");
+        assertEquals(1, p.getLoadCount());
+        assertEquals(true, p.getLoadNanos() > 0);
+        assertSame(london, p.getZone("GB"));
+        assertEquals(1, p.getLoadCount());
+        assertEquals(0, p.getEvictionCount());
+    }
+
+    public void testCachePolicy_pinned() throws Exception {
+        ZoneInfoProvider p = new ZoneInfoProvider("org/joda/time/tz/data", null, ZoneCachePolicy.weak(2));
+        assertEquals(ZoneCachePolicy.weak(2), p.getCachePolicy());
+        DateTimeZone london = p.getZone("Europe/London");
+        DateTimeZone paris = p.getZone("Europe/Paris");
+        assertEquals(Arrays.asList("Europe/London", "Europe/Paris"), p.getPinnedIds());
+        // using London, even by an alias, makes Paris the least recently used
+        assertSame(london, p.getZone("GB"));
+        assertEquals(Arrays.asList("Europe/Paris", "Europe/London"), p.getPinnedIds());
+        // displaces Paris from the pinned zones
+        DateTimeZone newYork = p.getZone("America/New_York");
+        assertEquals(Arrays.asList("Europe/London", "America/New_York"), p.getPinnedIds());
+        assertEquals(3, p.getLoadCount());
+        // Paris is still referenced here, so is pinned again without reloading
+        assertSame(paris, p.getZone("Europe/Paris"));
+        assertEquals(Arrays.asList("America/New_York", "Europe/Paris"), p.getPinnedIds());
+        assertSame(newYork, p.getZone("America/New_York"));
+        assertEquals(Arrays.asList("Europe/Paris", "America/New_York"), p.getPinnedIds());
+        assertEquals(3, p.getLoadCount());
+        assertEquals(0, p.getEvictionCount());
+        // preloaded zones are held apart from the policy
+        p.preload(Arrays.asList("Asia/Tokyo", "Europe/Paris"), 1);
+        assertEquals(Arrays.asList("America/New_York"), p.getPinnedIds());
+        p.getZone("Asia/Tokyo");
+        assertEquals(Arrays.asList("America/New_York"), p.getPinnedIds());
+    }
+
+    public void testCachePolicy_strong() throws Exception {
+        ZoneInfoProvider p = new ZoneInfoProvider(
+            new File(getClass().getClassLoader().getResource("org/joda/time/tz/data/ZoneInfoMap").toURI()).getParentFile(),
+            ZoneCachePolicy.strong());
+        int londonHash = System.identityHashCode(p.getZone("Europe/London"));
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        assertEquals(londonHash, System.identityHashCode(p.getZone("Europe/London")));
+        assertEquals(1, p.getLoadCount());
+        assertEquals(0, p.getEvictionCount());
+    }
+
+    public void testCachePolicy_factories() throws Exception {
+        assertSame(ZoneCachePolicy.soft(), ZoneCachePolicy.soft(0));
+        assertEquals(0, ZoneCachePolicy.soft().getPinnedCount());
+        assertEquals(false, ZoneCachePolicy.soft().isWeak());
+        assertEquals(20, ZoneCachePolicy.soft(20).getPinnedCount());
+        assertEquals(true, ZoneCachePolicy.weak(20).isWeak());
+        assertEquals(Integer.MAX_VALUE, ZoneCachePolicy.strong().getPinnedCount());
+        assertEquals(ZoneCachePolicy.weak(3), ZoneCachePolicy.weak(3));
+        assertEquals(ZoneCachePolicy.weak(3).hashCode(), ZoneCachePolicy.weak(3).hashCode());
+        assertEquals(false, ZoneCachePolicy.weak(3).equals(ZoneCachePolicy.soft(3)));
+        assertEquals("ZoneCachePolicy[pinned=20,soft]", ZoneCachePolicy.soft(20).toString());
+        try {
+            ZoneCachePolicy.soft(-1);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            new ZoneInfoProvider("org/joda/time/tz/data", null, null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public void testPreload_badThreads() throws Exception {
+        ZoneInfoProvider p = new ZoneInfoProvider("org/joda/time/tz/data");
+        try {
+            p.preload(null, 0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,225 @@
+/*
+ *  Copyright 2001-2012 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.tz;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * Test cases for ZoneTransition and DateTimeZone.transitionIterator.
+ */
+public class TestZoneTransition extends TestCase {
+
+    private static final long HOUR = 60L * 60 * 1000;
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestZoneTransition.class);
+    }
+
+    public TestZoneTransition(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_constructor() {
+        ZoneTransition test = new ZoneTransition(1000L, 1 * (int) HOUR, 2 * (int) HOUR, "CEST");
+        assertEquals(1000L, test.getMillis());
+        assertEquals(HOUR, test.getOffsetBefore());
+        assertEquals(2 * HOUR, test.getOffsetAfter());
+        assertEquals("CEST", test.getNameKey());
+        assertEquals(true, test.isGap());
+        assertEquals(false, test.isOverlap());
+    }
+
+    public void test_overlap() {
+        ZoneTransition test = new ZoneTransition(1000L, 2 * (int) HOUR, 1 * (int) HOUR, "CET");
+        assertEquals(false, test.isGap());
+        assertEquals(true, test.isOverlap());
+        test = new ZoneTransition(1000L, (int) HOUR, (int) HOUR, null);
+        assertEquals(false, test.isGap());
+        assertEquals(false, test.isOverlap());
+        assertEquals(null, test.getNameKey());
+    }
+
+    public void test_equalsHashCode() {
+        ZoneTransition a = new ZoneTransition(1000L, 0, (int) HOUR, "BST");
+        ZoneTransition b = new ZoneTransition(1000L, 0, (int) HOUR, "BST");
+        ZoneTransition c = new ZoneTransition(1000L, 0, (int) HOUR, null);
+        ZoneTransition d = new ZoneTransition(1001L, 0, (int) HOUR, "BST");
+        assertEquals(true, a.equals(a));
+        assertEquals(true, a.equals(b));
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(false, a.equals(c));
+        assertEquals(false, c.equals(a));
+        assertEquals(false, a.equals(d));
+        assertEquals(false, a.equals(null));
+        assertEquals(false, a.equals("BST"));
+        assertEquals(c, new ZoneTransition(1000L, 0, (int) HOUR, null));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_iterator_london() {
+        DateTimeZone zone = DateTimeZone.forID("Europe/London");
+        long start = 1293840000000L;  // 2011-01-01T00:00Z
+        long end = 1325376000000L;  // 2012-01-01T00:00Z
+        Iterator<ZoneTransition> it = zone.transitionIterator(start, end);
+        assertEquals(true, it.hasNext());
+        assertEquals(new ZoneTransition(1301187600000L, 0, (int) HOUR, "BST"), it.next());
+        assertEquals(true, it.hasNext());
+        assertEquals(new ZoneTransition(1319936400000L, (int) HOUR, 0, "GMT"), it.next());
+        assertEquals(false, it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (NoSuchElementException ex) {
+            // expected
+        }
+    }
+
+    public void test_iterator_startInclusiveEndExclusive() {
+        DateTimeZone zone = DateTimeZone.forID("Europe/London");
+        long transition = 1301187600000L;
+        assertEquals(true, zone.transitionIterator(transition, transition + 1).hasNext());
+        assertEquals(false, zone.transitionIterator(transition + 1, transition + 2).hasNext());
+        assertEquals(false, zone.transitionIterator(transition - 1, transition).hasNext());
+        assertEquals(false, zone.transitionIterator(transition, transition).hasNext());
+        assertEquals(false, zone.transitionIterator(transition + 1, transition - 1).hasNext());
+    }
+
+    public void test_iterator_fixed() {
+        assertEquals(false, DateTimeZone.UTC.transitionIterator(Long.MIN_VALUE, Long.MAX_VALUE).hasNext());
+        DateTimeZone zone = DateTimeZone.forOffsetHours(2);
+        assertEquals(false, zone.transitionIterator(Long.MIN_VALUE, Long.MAX_VALUE).hasNext());
+    }
+
+    public void test_iterator_remove() {
+        Iterator<ZoneTransition> it = DateTimeZone.forID("Europe/London").transitionIterator(0L, 1000000000000L);
+        it.next();
+        try {
+            it.remove();
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    public void test_iterator_matchesNextTransition() {
+        String[] ids = {
+            "Europe/London", "Europe/Paris", "America/New_York", "America/Sao_Paulo",
+            "Australia/Lord_Howe", "Asia/Tehran", "Asia/Kolkata", "Africa/Abidjan",
+            "Africa/Ceuta", "Pacific/Apia", "Antarctica/Troll"
+        };
+        long[][] ranges = {
+            {Long.MIN_VALUE, Long.MAX_VALUE},
+            {-3000000000000L, 4000000000000L},
+            {1000000000000L, 1100000000000L},
+            {3000000000000L, 3500000000000L},
+        };
+        for (int z = 0; z < ids.length; z++) {
+            if (!DateTimeZone.getAvailableIDs().contains(ids[z])) {
+                continue;
+            }
+            DateTimeZone cached = DateTimeZone.forID(ids[z]);
+            DateTimeZone uncached = cached;
+            if (cached instanceof CachedDateTimeZone) {
+                uncached = ((CachedDateTimeZone) cached).getUncachedZone();
+            }
+            DateTimeZone generic = new DelegatingZone(uncached);
+            for (int r = 0; r < ranges.length; r++) {
+                long start = ranges[r][0];
+                long end = Math.min(ranges[r][1], 5000000000000L);
+                assertMatches(ids[z], cached, start, end);
+                assertMatches(ids[z], uncached, start, end);
+                assertMatches(ids[z], generic, start, end);
+            }
+        }
+    }
+
+    public void test_iterator_recurringOnly() {
+        DateTimeZone zone = new DateTimeZoneBuilder()
+            .addCutover(Integer.MIN_VALUE, 'w', 1, 1, 0, false, 0)
+            .setStandardOffset((int) HOUR)
+            .addRecurringSavings("S", (int) HOUR, 1900, Integer.MAX_VALUE, 'u', 3, -1, 7, false, (int) HOUR)
+            .addRecurringSavings("W", 0, 1900, Integer.MAX_VALUE, 'u', 10, -1, 7, false, (int) HOUR)
+            .toDateTimeZone("Test", false);
+        assertMatches("Test", zone, Long.MIN_VALUE, 5000000000000L);
+        assertMatches("Test", zone, 1000000000000L, 2000000000000L);
+        assertMatches("Test", new DelegatingZone(zone), 1000000000000L, 2000000000000L);
+    }
+
+    private void assertMatches(String id, DateTimeZone zone, long start, long end) {
+        Iterator<ZoneTransition> it = zone.transitionIterator(start, end);
+        long instant = (start == Long.MIN_VALUE ? start : start - 1);
+        while (true) {
+            long next = zone.nextTransition(instant);
+            if (next <= instant || next >= end) {
+                break;
+            }
+            assertEquals(id, true, it.hasNext());
+            ZoneTransition transition = it.next();
+            assertEquals(id, next, transition.getMillis());
+            assertEquals(id, zone.getOffset(next - 1), transition.getOffsetBefore());
+            assertEquals(id, zone.getOffset(next), transition.getOffsetAfter());
+            assertEquals(id, zone.getNameKey(next), transition.getNameKey());
+            instant = next;
+        }
+        assertEquals(id, false, it.hasNext());
+    }
+
+    /**
+     * Uses the default transition iterator.
+     */
+    static class DelegatingZone extends DateTimeZone {
+        private static final long serialVersionUID = 1L;
+        private final DateTimeZone iZone;
+
+        DelegatingZone(DateTimeZone zone) {
+            super(zone.getID());
+            iZone = zone;
+        }
+        public String getNameKey(long instant) {
+            return iZone.getNameKey(instant);
+        }
+        public int getOffset(long instant) {
+            return iZone.getOffset(instant);
+        }
+        public int getStandardOffset(long instant) {
+            return iZone.getStandardOffset(instant);
+        }
+        public boolean isFixed() {
+            return iZone.isFixed();
+        }
+        public long nextTransition(long instant) {
+            return iZone.nextTransition(instant);
+        }
+        public long previousTransition(long instant) {
+            return iZone.previousTransition(instant);
+        }
+        public boolean equals(Object obj) {
+            return obj == this;
+        }
+    }
+
+}